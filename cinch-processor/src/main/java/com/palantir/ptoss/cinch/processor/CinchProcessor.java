@@ -0,0 +1,262 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.FilerException;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * <p>Compile-time support for Cinch views.
+ *
+ * <p>For every class that uses the Cinch binding annotations this processor checks, at build
+ * time, that each <code>to</code>, <code>call</code>, <code>lost</code>, <code>gained</code>
+ * and <code>model</code> target resolves the same way <code>BindingContext</code> resolves it
+ * at runtime, and reports a compile error instead of failing on first bind.
+ *
+ * <p>For each bindable model class compiled alongside those views it also generates a
+ * <code>GeneratedInvokers</code> implementation that calls the model's public getters,
+ * setters and action methods directly, which the runtime prefers over reflection.
+ *
+ * <p>It doesn't generate the wiring of views: <code>Bindings</code> still builds a
+ * <code>BindingContext</code> for each bound class, scanning its fields, methods and models
+ * reflectively the first time the class is bound, and the wiring harnesses wire the
+ * components from it.  Only the calls into the models skip reflection.
+ */
+@SupportedAnnotationTypes({
+    CinchProcessor.SWING + "Action",
+    CinchProcessor.SWING + "Bound",
+    CinchProcessor.SWING + "BoundExtent",
+    CinchProcessor.SWING + "BoundLocation",
+    CinchProcessor.SWING + "BoundSelection",
+    CinchProcessor.SWING + "EnabledIf",
+    CinchProcessor.SWING + "OnChange",
+    CinchProcessor.SWING + "OnClick",
+    CinchProcessor.SWING + "OnFocusChange",
+    CinchProcessor.SWING + "VisibleIf",
+    CinchProcessor.CORE + "CallOnUpdate",
+})
+public final class CinchProcessor extends AbstractProcessor {
+    static final String CORE = "com.palantir.ptoss.cinch.core.";
+    static final String SWING = "com.palantir.ptoss.cinch.swing.";
+    static final String GENERATED_SUFFIX = "_CinchInvokers";
+
+    private final Set<String> generated = new HashSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+        TypeElement bindableModel = elements.getTypeElement(CORE + "BindableModel");
+        if (bindableModel == null) {
+            return false;
+        }
+
+        Set<TypeElement> views = new LinkedHashSet<TypeElement>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                Element enclosing = element.getEnclosingElement();
+                if (enclosing instanceof TypeElement) {
+                    views.add((TypeElement) enclosing);
+                }
+            }
+        }
+
+        Set<String> compiledTypes = new HashSet<String>();
+        for (Element root : roundEnv.getRootElements()) {
+            collectTypes(root, compiledTypes);
+        }
+
+        for (TypeElement view : views) {
+            ViewIndex index = new ViewIndex(processingEnv, bindableModel, view);
+            if (!index.isResolved()) {
+                // the compiler will already be reporting the unresolved types.
+                continue;
+            }
+            index.validate();
+            for (VariableElement modelField : index.getModelFields()) {
+                Element modelElement = types.asElement(types.erasure(modelField.asType()));
+                TypeElement modelType = modelElement instanceof TypeElement ? (TypeElement) modelElement : null;
+                while (modelType != null && compiledTypes.contains(modelType.getQualifiedName().toString())) {
+                    generateInvokers(modelType);
+                    TypeMirror superclass = modelType.getSuperclass();
+                    modelType = superclass.getKind() == TypeKind.DECLARED
+                            ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void collectTypes(Element element, Set<String> into) {
+        if (element instanceof TypeElement) {
+            into.add(((TypeElement) element).getQualifiedName().toString());
+            for (Element enclosed : element.getEnclosedElements()) {
+                collectTypes(enclosed, into);
+            }
+        }
+    }
+
+    private void generateInvokers(TypeElement modelType) {
+        String qualifiedName = modelType.getQualifiedName().toString();
+        if (!generated.add(qualifiedName) || !isAccessibleFromPackage(modelType)) {
+            return;
+        }
+        Elements elements = processingEnv.getElementUtils();
+        PackageElement pkg = elements.getPackageOf(modelType);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        // the binary name, so that a nested A.B (A$B) and a top-level A_B can't collide.
+        String binaryName = elements.getBinaryName(modelType).toString();
+        String flatName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + GENERATED_SUFFIX;
+        Types types = processingEnv.getTypeUtils();
+        String modelName = types.erasure(modelType.asType()).toString();
+
+        Filer filer = processingEnv.getFiler();
+        try {
+            JavaFileObject file = filer.createSourceFile(
+                    packageName.isEmpty() ? flatName : packageName + "." + flatName, modelType);
+            PrintWriter out = new PrintWriter(file.openWriter());
+            try {
+                if (!packageName.isEmpty()) {
+                    out.println("package " + packageName + ";");
+                    out.println();
+                }
+                out.println("import java.lang.reflect.Method;");
+                out.println();
+                out.println("import com.palantir.ptoss.util.GeneratedInvokers;");
+                out.println("import com.palantir.ptoss.util.Invoker;");
+                out.println();
+                out.println("/**");
+                out.println(" * Direct invokers for {@link " + modelName + "}, generated by the Cinch annotation processor.");
+                out.println(" */");
+                out.println("@SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+                out.println("public final class " + flatName + " implements GeneratedInvokers {");
+                out.println("    public Invoker invoker(String signature, Method method) {");
+                out.println("        switch (signature) {");
+                for (ExecutableElement method : ElementFilter.methodsIn(modelType.getEnclosedElements())) {
+                    writeCase(out, modelName, method);
+                }
+                out.println("        default:");
+                out.println("            return null;");
+                out.println("        }");
+                out.println("    }");
+                out.println("}");
+            } finally {
+                out.close();
+            }
+        } catch (FilerException e) {
+            // already generated by an earlier compilation of the same model.
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "could not generate invokers for " + qualifiedName + ": " + e.getMessage(), modelType);
+        }
+    }
+
+    private void writeCase(PrintWriter out, String modelName, ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+                || !method.getTypeParameters().isEmpty()) {
+            return;
+        }
+        Types types = processingEnv.getTypeUtils();
+        List<? extends VariableElement> parameters = method.getParameters();
+        boolean returnsVoid = method.getReturnType().getKind() == TypeKind.VOID;
+        String name = method.getSimpleName().toString();
+        String call = "((" + modelName + ") target)." + name;
+        if (parameters.isEmpty()) {
+            out.println("        case \"" + name + "()\":");
+            out.println("            return new GeneratedInvokers.Getter(method) {");
+            out.println("                protected Object get(Object target) {");
+            if (returnsVoid) {
+                out.println("                    " + call + "();");
+                out.println("                    return null;");
+            } else {
+                out.println("                    return " + call + "();");
+            }
+        } else if (parameters.size() == 1) {
+            TypeMirror parameterType = types.erasure(parameters.get(0).asType());
+            out.println("        case \"" + name + "(" + parameterType + ")\":");
+            out.println("            return new GeneratedInvokers.Setter(method) {");
+            out.println("                protected Object set(Object target, Object value) {");
+            String argument = "(" + boxedName(parameterType) + ") value";
+            if (returnsVoid) {
+                out.println("                    " + call + "(" + argument + ");");
+                out.println("                    return null;");
+            } else {
+                out.println("                    return " + call + "(" + argument + ");");
+            }
+        } else {
+            return;
+        }
+        out.println("                }");
+        out.println("            };");
+    }
+
+    private String boxedName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type)
+                    .getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    /**
+     * Generated classes live in the model's package, so the model and every class enclosing
+     * it must be visible from there.
+     */
+    private static boolean isAccessibleFromPackage(TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            NestingKind nesting = ((TypeElement) element).getNestingKind();
+            if (element.getModifiers().contains(Modifier.PRIVATE)
+                    || nesting == NestingKind.LOCAL || nesting == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+}
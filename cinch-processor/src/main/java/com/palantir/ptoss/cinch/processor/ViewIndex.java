@@ -0,0 +1,341 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.processor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * The compile-time equivalent of the runtime <code>BindingContext</code> indexes for a single
+ * view class: its bindable models, the bean properties on those models and its bindable
+ * methods, keyed the same way so that annotation targets can be checked against them.
+ */
+final class ViewIndex {
+    private final Elements elements;
+    private final Types types;
+    private final Messager messager;
+    private final TypeMirror bindableModel;
+    private final TypeElement view;
+
+    private final List<TypeElement> hierarchy = new ArrayList<TypeElement>();
+    private final List<VariableElement> modelFields = new ArrayList<VariableElement>();
+    private final Map<String, VariableElement> models;
+    private final Map<String, ExecutableElement> getters;
+    private final Map<String, ExecutableElement> setters;
+    private final Map<String, ExecutableElement> methods;
+    private boolean resolved = true;
+
+    ViewIndex(ProcessingEnvironment env, TypeElement bindableModel, TypeElement view) {
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+        this.messager = env.getMessager();
+        this.bindableModel = types.erasure(bindableModel.asType());
+        this.view = view;
+
+        TypeElement klass = view;
+        while (klass != null) {
+            hierarchy.add(klass);
+            TypeMirror superclass = klass.getSuperclass();
+            if (superclass.getKind() == TypeKind.ERROR) {
+                resolved = false;
+            }
+            klass = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        DotIndex<VariableElement> modelIndex = new DotIndex<VariableElement>();
+        for (TypeElement type : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (field.asType().getKind() == TypeKind.ERROR) {
+                    resolved = false;
+                    continue;
+                }
+                if (types.isAssignable(types.erasure(field.asType()), this.bindableModel)
+                        && !hasAnnotation(field, CinchProcessor.CORE + "NotBindable")) {
+                    modelFields.add(field);
+                    modelIndex.put(type.getSimpleName().toString(), field.getSimpleName().toString(), field);
+                }
+            }
+        }
+        models = modelIndex.build();
+
+        DotIndex<ExecutableElement> getterIndex = new DotIndex<ExecutableElement>();
+        DotIndex<ExecutableElement> setterIndex = new DotIndex<ExecutableElement>();
+        for (VariableElement field : new LinkedHashSet<VariableElement>(modelFields)) {
+            indexProperties(field, getterIndex, setterIndex);
+        }
+        getters = getterIndex.build();
+        setters = setterIndex.build();
+        methods = indexBindableMethods();
+    }
+
+    boolean isResolved() {
+        return resolved;
+    }
+
+    List<VariableElement> getModelFields() {
+        return modelFields;
+    }
+
+    /**
+     * Reports a compile error for every binding annotation in the view whose target would not
+     * resolve at runtime.
+     */
+    void validate() {
+        for (VariableElement field : modelFields) {
+            if (!field.getModifiers().contains(Modifier.FINAL)) {
+                messager.printMessage(Diagnostic.Kind.ERROR,
+                        "BindableModels have to be final or marked with @NotBindable", field);
+            }
+        }
+        // superclasses are validated when they are compiled themselves.
+        for (VariableElement field : ElementFilter.fieldsIn(view.getEnclosedElements())) {
+            validateField(field);
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(view.getEnclosedElements())) {
+            AnnotationMirror callOnUpdate = findAnnotation(method, CinchProcessor.CORE + "CallOnUpdate");
+            if (callOnUpdate != null) {
+                validateModel(method, callOnUpdate);
+            }
+        }
+    }
+
+    private void validateField(VariableElement field) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (name.equals(CinchProcessor.SWING + "Bound") || name.equals(CinchProcessor.SWING + "BoundSelection")) {
+                String to = stringValue(mirror, "to");
+                if (!getters.containsKey(to) && !setters.containsKey(to)) {
+                    error(field, mirror, "could not find either getter/setter for " + to);
+                }
+            } else if (name.equals(CinchProcessor.SWING + "BoundExtent") || name.equals(CinchProcessor.SWING + "BoundLocation")) {
+                String to = stringValue(mirror, "to");
+                if (!getters.containsKey(to) || !setters.containsKey(to)) {
+                    error(field, mirror, "could not find setter/getter for " + to);
+                }
+            } else if (name.equals(CinchProcessor.SWING + "EnabledIf") || name.equals(CinchProcessor.SWING + "VisibleIf")) {
+                String to = stringValue(mirror, "to");
+                ExecutableElement getter = getters.get(to);
+                if (getter == null) {
+                    error(field, mirror, "could not find bindable property: " + to);
+                } else if (getter.getReturnType().getKind() != TypeKind.BOOLEAN) {
+                    error(field, mirror, "binding must return boolean: " + to);
+                }
+            } else if (name.equals(CinchProcessor.SWING + "Action") || name.equals(CinchProcessor.SWING + "OnClick")
+                    || name.equals(CinchProcessor.SWING + "OnChange")) {
+                validateCall(field, mirror, stringValue(mirror, "call"));
+            } else if (name.equals(CinchProcessor.SWING + "OnFocusChange")) {
+                String lost = stringValue(mirror, "lost").trim();
+                String gained = stringValue(mirror, "gained").trim();
+                if (lost.isEmpty() && gained.isEmpty()) {
+                    error(field, mirror, "either lost or gained must be specified on @OnFocusChange");
+                }
+                if (!lost.isEmpty()) {
+                    validateCall(field, mirror, lost);
+                }
+                if (!gained.isEmpty()) {
+                    validateCall(field, mirror, gained);
+                }
+            }
+        }
+    }
+
+    private void validateCall(Element element, AnnotationMirror mirror, String call) {
+        if (!methods.containsKey(call)) {
+            error(element, mirror, "could not find bindable method: " + call);
+        }
+    }
+
+    private void validateModel(ExecutableElement method, AnnotationMirror mirror) {
+        String model = stringValue(mirror, "model");
+        if (model.isEmpty()) {
+            if (modelFields.isEmpty()) {
+                error(method, mirror, "no bindable model for empty 'model'");
+            }
+        } else if (!models.containsKey(model)) {
+            error(method, mirror, "can't find model to bind to: " + model);
+        }
+    }
+
+    private void error(Element element, AnnotationMirror mirror, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element, mirror);
+    }
+
+    private String stringValue(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return String.valueOf(entry.getValue().getValue());
+            }
+        }
+        return "";
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String qualifiedName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(qualifiedName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasAnnotation(Element element, String qualifiedName) {
+        return findAnnotation(element, qualifiedName) != null;
+    }
+
+    /**
+     * Mirrors the read and write methods that {@link java.beans.Introspector} finds.
+     */
+    private void indexProperties(VariableElement field, DotIndex<ExecutableElement> getterIndex,
+            DotIndex<ExecutableElement> setterIndex) {
+        Element element = types.asElement(types.erasure(field.asType()));
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+        String fieldName = field.getSimpleName().toString();
+        Set<String> seenGetters = new HashSet<String>();
+        Set<String> seenSetters = new HashSet<String>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers((TypeElement) element))) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            int parameters = method.getParameters().size();
+            TypeKind returnKind = method.getReturnType().getKind();
+            if (parameters == 0 && name.startsWith("get") && name.length() > 3 && returnKind != TypeKind.VOID) {
+                addProperty(getterIndex, seenGetters, fieldName, decapitalize(name.substring(3)), method);
+            } else if (parameters == 0 && name.startsWith("is") && name.length() > 2 && returnKind == TypeKind.BOOLEAN) {
+                addProperty(getterIndex, seenGetters, fieldName, decapitalize(name.substring(2)), method);
+            } else if (parameters == 1 && name.startsWith("set") && name.length() > 3 && returnKind == TypeKind.VOID) {
+                addProperty(setterIndex, seenSetters, fieldName, decapitalize(name.substring(3)), method);
+            }
+        }
+    }
+
+    private static void addProperty(DotIndex<ExecutableElement> index, Set<String> seen, String fieldName,
+            String property, ExecutableElement method) {
+        // one descriptor per property name, however many overloads the model has.
+        if (seen.add(property)) {
+            index.put(fieldName, property, method);
+        }
+    }
+
+    private Map<String, ExecutableElement> indexBindableMethods() {
+        DotIndex<ExecutableElement> index = new DotIndex<ExecutableElement>(true);
+        List<VariableElement> bindables = new ArrayList<VariableElement>();
+        boolean bindableClass = false;
+        for (TypeElement type : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                if (hasAnnotation(field, CinchProcessor.CORE + "Bindable")) {
+                    bindables.add(field);
+                }
+            }
+            bindableClass |= hasAnnotation(type, CinchProcessor.CORE + "Bindable");
+        }
+        bindables.addAll(modelFields);
+        for (VariableElement field : bindables) {
+            Element element = types.asElement(types.erasure(field.asType()));
+            if (!(element instanceof TypeElement)) {
+                continue;
+            }
+            for (ExecutableElement method : ElementFilter.methodsIn(element.getEnclosedElements())) {
+                if (method.getParameters().isEmpty() && method.getModifiers().contains(Modifier.PUBLIC)) {
+                    index.put(field.getSimpleName().toString(), method.getSimpleName().toString(), method);
+                }
+            }
+        }
+        if (bindableClass) {
+            for (TypeElement type : hierarchy) {
+                for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                    if (method.getParameters().isEmpty()) {
+                        index.put("this", method.getSimpleName().toString(), method);
+                    }
+                }
+            }
+        }
+        return index.build();
+    }
+
+    /**
+     * Same rules as {@link java.beans.Introspector#decapitalize(String)}.
+     */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Builds a map with both "qualifier.name" keys and, where they are unambiguous, plain
+     * "name" keys, like the runtime's dot indexing.
+     */
+    private static final class DotIndex<T> {
+        private final boolean keepFirstQualified;
+        private final Map<String, T> results = new HashMap<String, T>();
+        private final Set<String> ambiguous = new HashSet<String>();
+
+        DotIndex() {
+            this(false);
+        }
+
+        DotIndex(boolean keepFirstQualified) {
+            this.keepFirstQualified = keepFirstQualified;
+        }
+
+        void put(String qualifier, String name, T item) {
+            if (!ambiguous.contains(name)) {
+                if (results.containsKey(name)) {
+                    results.remove(name);
+                    ambiguous.add(name);
+                } else {
+                    results.put(name, item);
+                }
+            }
+            String qualified = qualifier + "." + name;
+            if (!keepFirstQualified || !results.containsKey(qualified)) {
+                results.put(qualified, item);
+            }
+        }
+
+        Map<String, T> build() {
+            return results;
+        }
+    }
+}
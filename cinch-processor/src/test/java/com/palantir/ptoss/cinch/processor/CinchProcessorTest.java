@@ -0,0 +1,224 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.processor;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import com.palantir.ptoss.util.Invoker;
+import com.palantir.ptoss.util.Invokers;
+
+import junit.framework.TestCase;
+
+public class CinchProcessorTest extends TestCase {
+
+    private static final String MODEL =
+        "package test;\n" +
+        "import com.palantir.ptoss.cinch.core.DefaultBindableModel;\n" +
+        "public class Model extends DefaultBindableModel {\n" +
+        "    private String name;\n" +
+        "    private boolean ready;\n" +
+        "    public String getName() { return name; }\n" +
+        "    public void setName(String name) { this.name = name; update(); }\n" +
+        "    public boolean isReady() { return ready; }\n" +
+        "    public void setReady(boolean ready) { this.ready = ready; update(); }\n" +
+        "    public void reset() { setName(null); }\n" +
+        "}\n";
+
+    private File output;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @Override
+    protected void setUp() throws Exception {
+        output = File.createTempFile("cinch-processor", "");
+        assertTrue(output.delete());
+        assertTrue(output.mkdir());
+        diagnostics = new DiagnosticCollector<JavaFileObject>();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        delete(output);
+    }
+
+    private static String view(String... fields) {
+        StringBuilder source = new StringBuilder(
+            "package test;\n" +
+            "import javax.swing.JButton;\n" +
+            "import javax.swing.JTextField;\n" +
+            "import com.palantir.ptoss.cinch.core.*;\n" +
+            "import com.palantir.ptoss.cinch.swing.*;\n" +
+            "public class View {\n" +
+            "    final Model model = new Model();\n");
+        for (String field : fields) {
+            source.append("    ").append(field).append('\n');
+        }
+        return source.append("}\n").toString();
+    }
+
+    private boolean compile(String view, Source... others) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null);
+        try {
+            List<String> options = Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", output.getPath(), "-s", output.getPath(), "-Xlint:none");
+            List<JavaFileObject> sources = new ArrayList<JavaFileObject>(Arrays.asList(others));
+            sources.add(new Source("test/Model", MODEL));
+            sources.add(new Source("test/View", view));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics, options, null, sources);
+            task.setProcessors(Arrays.asList(new CinchProcessor()));
+            return task.call();
+        } finally {
+            files.close();
+        }
+    }
+
+    private void assertError(String message) {
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR && diagnostic.getMessage(null).contains(message)) {
+                return;
+            }
+        }
+        fail("expected error '" + message + "' in " + diagnostics.getDiagnostics());
+    }
+
+    public void testValidViewGeneratesInvokers() throws Exception {
+        boolean compiled = compile(view(
+                "@Bound(to = \"name\") final JTextField name = new JTextField();",
+                "@EnabledIf(to = \"ready\") @Action(call = \"reset\") final JButton reset = new JButton();"));
+        assertTrue(diagnostics.getDiagnostics().toString(), compiled);
+        assertTrue(new File(output, "test/Model_CinchInvokers.class").isFile());
+
+        URLClassLoader loader = new URLClassLoader(new URL[] { output.toURI().toURL() }, getClass().getClassLoader());
+        try {
+            Class<?> model = loader.loadClass("test.Model");
+            Object instance = model.newInstance();
+            Invoker setter = Invokers.forMethod(model.getMethod("setName", String.class));
+            Invoker getter = Invokers.forMethod(model.getMethod("getName"));
+            assertTrue(setter.getClass().getName().startsWith("test.Model_CinchInvokers"));
+            setter.invoke(instance, "cinch");
+            assertEquals("cinch", getter.invoke(instance));
+
+            Method setReady = model.getMethod("setReady", boolean.class);
+            Invokers.forMethod(setReady).invoke(instance, true);
+            assertEquals(Boolean.TRUE, Invokers.forMethod(model.getMethod("isReady")).invoke(instance));
+            try {
+                Invokers.forMethod(setReady).invoke(instance, null);
+                fail();
+            } catch (IllegalArgumentException e) {
+                // expected, as from Method.invoke
+            }
+        } finally {
+            loader.close();
+        }
+    }
+
+    public void testNestedAndFlatModelsDontCollide() throws Exception {
+        String nested =
+            "package test;\n" +
+            "import com.palantir.ptoss.cinch.core.DefaultBindableModel;\n" +
+            "public class Outer {\n" +
+            "    public static class Inner extends DefaultBindableModel {\n" +
+            "        public String getText() { return \"nested\"; }\n" +
+            "    }\n" +
+            "}\n";
+        String flat =
+            "package test;\n" +
+            "import com.palantir.ptoss.cinch.core.DefaultBindableModel;\n" +
+            "public class Outer_Inner extends DefaultBindableModel {\n" +
+            "    public String getText() { return \"flat\"; }\n" +
+            "}\n";
+        boolean compiled = compile(view(
+                "final Outer.Inner nested = new Outer.Inner();",
+                "final Outer_Inner flat = new Outer_Inner();",
+                "@Bound(to = \"nested.text\") final JTextField nestedText = new JTextField();",
+                "@Bound(to = \"flat.text\") final JTextField flatText = new JTextField();"),
+                new Source("test/Outer", nested), new Source("test/Outer_Inner", flat));
+        assertTrue(diagnostics.getDiagnostics().toString(), compiled);
+        assertTrue(new File(output, "test/Outer$Inner_CinchInvokers.class").isFile());
+        assertTrue(new File(output, "test/Outer_Inner_CinchInvokers.class").isFile());
+
+        URLClassLoader loader = new URLClassLoader(new URL[] { output.toURI().toURL() }, getClass().getClassLoader());
+        try {
+            for (String name : new String[] { "test.Outer$Inner", "test.Outer_Inner" }) {
+                Class<?> model = loader.loadClass(name);
+                Invoker getter = Invokers.forMethod(model.getMethod("getText"));
+                assertTrue(getter.getClass().getName().startsWith(name + "_CinchInvokers"));
+                assertEquals(name.contains("$") ? "nested" : "flat", getter.invoke(model.newInstance()));
+            }
+        } finally {
+            loader.close();
+        }
+    }
+
+    public void testUnknownProperty() throws Exception {
+        assertFalse(compile(view("@Bound(to = \"nmae\") final JTextField name = new JTextField();")));
+        assertError("could not find either getter/setter for nmae");
+    }
+
+    public void testUnknownMethod() throws Exception {
+        assertFalse(compile(view("@Action(call = \"rest\") final JButton reset = new JButton();")));
+        assertError("could not find bindable method: rest");
+    }
+
+    public void testEnabledIfNeedsBoolean() throws Exception {
+        assertFalse(compile(view("@EnabledIf(to = \"name\") final JButton reset = new JButton();")));
+        assertError("binding must return boolean: name");
+    }
+
+    public void testNonFinalModel() throws Exception {
+        assertFalse(compile(view("Model other = new Model();",
+                "@Bound(to = \"model.name\") final JTextField name = new JTextField();")));
+        assertError("BindableModels have to be final");
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static final class Source extends SimpleJavaFileObject {
+        private final String content;
+
+        Source(String name, String content) {
+            super(URI.create("string:///" + name + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+}
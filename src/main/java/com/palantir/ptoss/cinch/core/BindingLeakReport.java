@@ -0,0 +1,161 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * A snapshot of the bindings held for views bound while
+ * {@link Bindings#setReleasingUnreachable(boolean) releasing unreachable views}: how many are
+ * live per model class, and which views have held on to theirs the longest.  A view that
+ * should be gone but keeps turning up among the oldest is being kept reachable by something
+ * other than its bindings.  A view among the orphaned ones is still reachable but lost its
+ * bindings, because nothing held on to the {@link Bindings} that bound it.
+ */
+public final class BindingLeakReport {
+
+    /**
+     * A view that is still reachable and still has bindings.
+     */
+    public static final class View {
+        private final String viewClass;
+        private final long boundAt;
+        private final int liveBindings;
+
+        View(String viewClass, long boundAt, int liveBindings) {
+            this.viewClass = viewClass;
+            this.boundAt = boundAt;
+            this.liveBindings = liveBindings;
+        }
+
+        /**
+         * Returns the name of the view's class.
+         */
+        public String getViewClass() {
+            return viewClass;
+        }
+
+        /**
+         * Returns when the view was bound, in milliseconds since the epoch.
+         */
+        public long getBoundAt() {
+            return boundAt;
+        }
+
+        /**
+         * Returns how many of the view's bindings are still bound to a model.
+         */
+        public int getLiveBindings() {
+            return liveBindings;
+        }
+
+        @Override
+        public String toString() {
+            return viewClass + " bound at " + boundAt + ", " + liveBindings + " live bindings";
+        }
+    }
+
+    private final ImmutableMap<Class<?>, Integer> liveBindings;
+    private final ImmutableList<View> oldestViews;
+    private final ImmutableList<View> orphanedViews;
+
+    private BindingLeakReport(Map<Class<?>, Integer> liveBindings, List<View> oldestViews,
+            List<View> orphanedViews) {
+        this.liveBindings = ImmutableMap.copyOf(liveBindings);
+        this.oldestViews = ImmutableList.copyOf(oldestViews);
+        this.orphanedViews = ImmutableList.copyOf(orphanedViews);
+    }
+
+    /**
+     * Takes a snapshot of the views that haven't been collected yet.
+     * @param oldest how many of the oldest views with live bindings to list
+     */
+    public static BindingLeakReport create(int oldest) {
+        Map<Class<?>, Integer> counts = Maps.newHashMap();
+        List<View> views = Lists.newArrayList();
+        List<View> orphaned = Lists.newArrayList();
+        for (ViewReaper.ViewReference reference : ViewReaper.live()) {
+            int live = 0;
+            for (int i = 0; i < reference.standIns.size(); i++) {
+                DefaultBindableModel model = reference.models.get(i);
+                if (model.isBound(reference.standIns.get(i))) {
+                    Integer count = counts.get(model.getClass());
+                    counts.put(model.getClass(), count == null ? 1 : count + 1);
+                    live++;
+                }
+            }
+            if (live > 0) {
+                views.add(new View(reference.viewClass, reference.boundAt, live));
+            }
+            if (reference.orphaned) {
+                orphaned.add(new View(reference.viewClass, reference.boundAt, live));
+            }
+        }
+        Collections.sort(views, new Comparator<View>() {
+            public int compare(View a, View b) {
+                return Long.compare(a.boundAt, b.boundAt);
+            }
+        });
+        return new BindingLeakReport(counts, views.subList(0, Math.min(oldest, views.size())), orphaned);
+    }
+
+    /**
+     * Returns the number of live bindings held by models of each class.
+     */
+    public ImmutableMap<Class<?>, Integer> getLiveBindings() {
+        return liveBindings;
+    }
+
+    /**
+     * Returns the views with live bindings that were bound the longest ago, oldest first.
+     */
+    public ImmutableList<View> getOldestViews() {
+        return oldestViews;
+    }
+
+    /**
+     * Returns the views that are still reachable but whose bindings were collected, since
+     * nothing held on to them.  Each is also logged as a warning when noticed.
+     */
+    public ImmutableList<View> getOrphanedViews() {
+        return orphanedViews;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("live bindings by model class:\n");
+        for (Map.Entry<Class<?>, Integer> entry : liveBindings.entrySet()) {
+            report.append("  ").append(entry.getKey().getName()).append(": ").append(entry.getValue()).append('\n');
+        }
+        report.append("oldest views:\n");
+        for (View view : oldestViews) {
+            report.append("  ").append(view).append('\n');
+        }
+        if (!orphanedViews.isEmpty()) {
+            report.append("orphaned views:\n");
+            for (View view : orphanedViews) {
+                report.append("  ").append(view).append('\n');
+            }
+        }
+        return report.toString();
+    }
+}
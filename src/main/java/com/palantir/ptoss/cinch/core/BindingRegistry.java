@@ -0,0 +1,178 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.google.common.collect.Maps;
+
+/**
+ * <p>
+ * The bindings of a model, in registration order.  Adding and removing are amortized O(1) and
+ * compare by identity: removal only clears the slot, and the slots are compacted into a new
+ * array once at least half of them are clear.
+ * </p>
+ * <p>
+ * Iteration doesn't copy: an iterator walks the array as it was when the iterator was created,
+ * skipping cleared slots, so bindings added while it is in use (say by a binding that binds
+ * another during dispatch) aren't visited, and bindings removed meanwhile may or may not be.
+ * </p>
+ */
+final class BindingRegistry<E> implements Iterable<E> {
+    private static final int MIN_CAPACITY = 8;
+
+    private final Map<Object, Integer> positions = Maps.newIdentityHashMap();
+    private Object[] slots = new Object[MIN_CAPACITY];
+    // slots in use, including cleared ones.
+    private int length;
+
+    /**
+     * Adds the element unless it is already present.
+     * @return whether it was added
+     */
+    synchronized boolean add(E element) {
+        if (positions.containsKey(element)) {
+            return false;
+        }
+        if (length == slots.length) {
+            reallocate(positions.size() * 2);
+        }
+        positions.put(element, length);
+        slots[length++] = element;
+        return true;
+    }
+
+    /**
+     * Removes the element if present.
+     * @return whether it was removed
+     */
+    synchronized boolean remove(Object element) {
+        Integer position = positions.remove(element);
+        if (position == null) {
+            return false;
+        }
+        slots[position] = null;
+        if (length > MIN_CAPACITY && positions.size() <= length / 2) {
+            reallocate(positions.size() * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Puts the replacement in the element's slot, keeping its place in registration order.
+     * @return whether the element was present
+     */
+    synchronized boolean replace(Object element, E replacement) {
+        Integer position = positions.remove(element);
+        if (position == null) {
+            return false;
+        }
+        positions.put(replacement, position);
+        slots[position] = replacement;
+        return true;
+    }
+
+    synchronized boolean contains(Object element) {
+        return positions.containsKey(element);
+    }
+
+    synchronized int size() {
+        return positions.size();
+    }
+
+    synchronized void clear() {
+        positions.clear();
+        slots = new Object[MIN_CAPACITY];
+        length = 0;
+    }
+
+    /**
+     * Copies the live elements into a new, compact array, leaving the old one untouched for
+     * the iterators still walking it.
+     */
+    private void reallocate(int capacity) {
+        Object[] compacted = new Object[Math.max(capacity, MIN_CAPACITY)];
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            Object element = slots[i];
+            if (element != null) {
+                positions.put(element, count);
+                compacted[count++] = element;
+            }
+        }
+        slots = compacted;
+        length = count;
+    }
+
+    /**
+     * Returns the elements in registration order.
+     */
+    synchronized E[] toArray(E[] array) {
+        E[] result = Arrays.copyOf(array, positions.size());
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            @SuppressWarnings("unchecked")
+            E element = (E) slots[i];
+            if (element != null) {
+                result[count++] = element;
+            }
+        }
+        return result;
+    }
+
+    public Iterator<E> iterator() {
+        final Object[] array;
+        final int end;
+        synchronized (this) {
+            array = slots;
+            end = length;
+        }
+        return new Iterator<E>() {
+            private int position;
+            private Object next = fetch();
+
+            // reads ahead, since a slot may be cleared between hasNext and next.
+            private Object fetch() {
+                while (position < end) {
+                    Object element = array[position++];
+                    if (element != null) {
+                        return element;
+                    }
+                }
+                return null;
+            }
+
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                E element = (E) next;
+                next = fetch();
+                return element;
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
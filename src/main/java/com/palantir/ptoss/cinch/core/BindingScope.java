@@ -0,0 +1,132 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The {@link Binding}s created by one call to {@link Bindings#bindScoped(Object)} or
+ * {@link Bindings#bindAll(java.util.Collection)}.  Syncing a scope only touches its own
+ * bindings, however many other objects the {@link Bindings} has bound.
+ */
+public final class BindingScope {
+    private final Bindings owner;
+    // the scopes of each object bound by bindAll, empty for the scope of a single object.
+    private final ImmutableList<BindingScope> parts;
+    private final ImmutableList<Binding> bindings;
+    private final ImmutableSet<BindableModel> models;
+
+    // the views of this scope watched by the ViewReaper, stopped when the scope is disposed.
+    private volatile ImmutableList<ViewReaper.ViewReference> watched = ImmutableList.of();
+
+    BindingScope(Bindings owner, List<Binding> bindings, Set<BindableModel> models) {
+        this.owner = owner;
+        this.parts = ImmutableList.of();
+        this.bindings = ImmutableList.copyOf(bindings);
+        this.models = ImmutableSet.copyOf(models);
+    }
+
+    BindingScope(Bindings owner, List<BindingScope> parts) {
+        ImmutableList.Builder<Binding> allBindings = ImmutableList.builder();
+        ImmutableSet.Builder<BindableModel> allModels = ImmutableSet.builder();
+        ImmutableList.Builder<ViewReaper.ViewReference> allWatched = ImmutableList.builder();
+        for (BindingScope part : parts) {
+            allBindings.addAll(part.getBindings());
+            allModels.addAll(part.getModels());
+            allWatched.addAll(part.getWatched());
+        }
+        this.owner = owner;
+        this.parts = ImmutableList.copyOf(parts);
+        this.bindings = allBindings.build();
+        this.models = allModels.build();
+        this.watched = allWatched.build();
+    }
+
+    /**
+     * Returns the bindings in this scope.
+     */
+    public ImmutableList<Binding> getBindings() {
+        return bindings;
+    }
+
+    /**
+     * Returns the models of the objects bound in this scope.
+     */
+    public ImmutableSet<BindableModel> getModels() {
+        return models;
+    }
+
+    ImmutableList<ViewReaper.ViewReference> getWatched() {
+        return watched;
+    }
+
+    void setWatched(List<ViewReaper.ViewReference> watched) {
+        this.watched = ImmutableList.copyOf(watched);
+    }
+
+    /**
+     * Updates every binding in this scope with {@link ModelUpdates#ALL}, recording what they read
+     * if any of the models tracks dependencies.
+     */
+    public void updateAll() {
+        boolean tracked = DependencyTracker.tracks(models);
+        for (Binding binding : bindings) {
+            UpdateCoalescer.update(binding, ModelUpdates.ALL_ONLY, tracked);
+        }
+    }
+
+    /**
+     * Removes this scope's bindings from the passed model.
+     */
+    public void release(BindableModel model) {
+        for (Binding binding : bindings) {
+            model.unbind(binding);
+        }
+    }
+
+    /**
+     * Tears down this scope's bindings in both directions.  {@link DisposableBinding}s unbind
+     * themselves and remove the listeners they installed on their components; any other
+     * binding, such as one from a custom {@link BindingWiring}, is unbound from the models of
+     * the bound objects.  Views released when unreachable are no longer watched, and the
+     * {@link Bindings} that made the scope forgets it, so it no longer updates or releases it.
+     */
+    public void dispose() {
+        if (!parts.isEmpty()) {
+            for (BindingScope part : parts) {
+                part.dispose();
+            }
+            watched = ImmutableList.of();
+            return;
+        }
+        for (Binding binding : bindings) {
+            if (binding instanceof DisposableBinding) {
+                ((DisposableBinding) binding).dispose();
+            } else {
+                for (BindableModel model : models) {
+                    model.unbind(binding);
+                }
+            }
+        }
+        for (ViewReaper.ViewReference reference : watched) {
+            ViewReaper.unregister(reference);
+        }
+        watched = ImmutableList.of();
+        owner.forget(this);
+    }
+}
@@ -0,0 +1,394 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.palantir.ptoss.util.Invoker;
+import com.palantir.ptoss.util.Invokers;
+import com.palantir.ptoss.util.Reflections;
+
+/**
+ * <p>The instance-independent part of a {@link BindingContext}: every field, method and
+ * property descriptor that the reflective indexing finds for a class. Computing this is the
+ * expensive part of binding, and it only depends on the class of the bound object, so it is
+ * done once per class and cached.
+ *
+ * <p>A {@link BindingContext} is built by attaching a bound object to its class's shape.
+ *
+ * @see #forClass(Class)
+ */
+final class BindingShape {
+
+    /*
+     * The value of a ClassValue is held by its class, and a shape refers to its class, fields and
+     * methods, so holding the shape strongly would pin the class, and its loader, for as long as
+     * Cinch is loaded.  The holder only refers to the shape softly, and it's indexed again once
+     * cleared.
+     */
+    private static final ClassValue<Holder> SHAPES = new ClassValue<Holder>() {
+        @Override
+        protected Holder computeValue(Class<?> type) {
+            return new Holder();
+        }
+    };
+
+    private static final class Holder {
+        private volatile SoftReference<BindingShape> shape = new SoftReference<BindingShape>(null);
+    }
+
+    /**
+     * Returns the cached shape for the passed class, indexing it on first use. Throws a
+     * {@link BindingException} if the class cannot be bound; failures are not cached.
+     */
+    static BindingShape forClass(Class<?> type) {
+        Holder holder = SHAPES.get(type);
+        BindingShape shape = holder.shape.get();
+        if (shape == null) {
+            shape = index(type);
+            holder.shape = new SoftReference<BindingShape>(shape);
+        }
+        return shape;
+    }
+
+    private static BindingShape index(Class<?> type) {
+        try {
+            return new BindingShape(type);
+        } catch (BindingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BindingException("could not index " + type.getName(), e);
+        }
+    }
+
+    /**
+     * A method found while indexing, together with the field whose value it should be
+     * called on.  A null field means the method is called on the bound object itself.
+     */
+    static final class FieldMethod {
+        private final Field field;
+        private final Method method;
+        private volatile Invoker invoker;
+
+        FieldMethod(Field field, Method method) {
+            this.field = field;
+            this.method = method;
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        Method getMethod() {
+            return method;
+        }
+
+        /**
+         * The invoker for {@link #getMethod()}, created on first use and then shared by every
+         * context of the class.
+         */
+        Invoker getInvoker() {
+            Invoker result = invoker;
+            if (result == null) {
+                result = Invokers.forMethod(method);
+                invoker = result;
+            }
+            return result;
+        }
+    }
+
+    private final Class<?> type;
+    private final Map<String, Field> bindableModels;
+    private final Map<String, FieldMethod> bindableMethods;
+    private final Map<String, FieldMethod> bindableModelMethods;
+    private final Map<String, Object> bindableConstants;
+    private final Map<String, FieldMethod> bindableGetters;
+    private final Map<String, FieldMethod> bindableSetters;
+
+    private final ConcurrentMap<Class<? extends Annotation>, ImmutableList<Field>> annotatedFields =
+            Maps.newConcurrentMap();
+    private final ConcurrentMap<Class<? extends Annotation>, ImmutableList<FieldMethod>> annotatedMethods =
+            Maps.newConcurrentMap();
+
+    private BindingShape(Class<?> type) throws IllegalAccessException, IntrospectionException {
+        this.type = type;
+        List<Field> modelFields = indexBindableModelFields();
+        bindableModels = ImmutableMap.copyOf(dotIndex(modelFields,
+                Reflections.FIELD_TO_CONTAINING_CLASS_NAME,
+                Reflections.FIELD_TO_NAME));
+        bindableMethods = ImmutableMap.copyOf(indexBindableMethods(modelFields));
+        bindableModelMethods = ImmutableMap.copyOf(indexMethods(getParameterlessMethodsOnFieldTypes(modelFields)));
+        bindableConstants = indexBindableConstants();
+        bindableGetters = ImmutableMap.copyOf(indexBindableProperties(modelFields, true));
+        bindableSetters = ImmutableMap.copyOf(indexBindableProperties(modelFields, false));
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    Map<String, Field> getBindableModels() {
+        return bindableModels;
+    }
+
+    Map<String, FieldMethod> getBindableMethods() {
+        return bindableMethods;
+    }
+
+    Map<String, FieldMethod> getBindableModelMethods() {
+        return bindableModelMethods;
+    }
+
+    Map<String, Object> getBindableConstants() {
+        return bindableConstants;
+    }
+
+    Map<String, FieldMethod> getBindableGetters() {
+        return bindableGetters;
+    }
+
+    Map<String, FieldMethod> getBindableSetters() {
+        return bindableSetters;
+    }
+
+    /**
+     * Returns the fields in the class hierarchy annotated with the passed annotation.
+     */
+    ImmutableList<Field> getAnnotatedFields(Class<? extends Annotation> annotation) {
+        ImmutableList<Field> fields = annotatedFields.get(annotation);
+        if (fields == null) {
+            fields = ImmutableList.copyOf(Reflections.getAnnotatedFieldsForClassHierarchy(type, annotation));
+            makeAccessible(fields);
+            ImmutableList<Field> existing = annotatedFields.putIfAbsent(annotation, fields);
+            if (existing != null) {
+                fields = existing;
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the parameterless methods in the class hierarchy annotated with the passed
+     * annotation.
+     */
+    ImmutableList<FieldMethod> getAnnotatedParameterlessMethods(Class<? extends Annotation> annotation) {
+        ImmutableList<FieldMethod> methods = annotatedMethods.get(annotation);
+        if (methods == null) {
+            List<Method> found = Lists.newArrayList();
+            for (Class<?> klass = type; klass != null; klass = klass.getSuperclass()) {
+                for (Method method : klass.getDeclaredMethods()) {
+                    if (method.getParameterTypes().length == 0 && method.isAnnotationPresent(annotation)) {
+                        found.add(method);
+                    }
+                }
+            }
+            makeAccessible(found);
+            ImmutableList.Builder<FieldMethod> builder = ImmutableList.builder();
+            for (Method method : found) {
+                builder.add(new FieldMethod(null, method));
+            }
+            methods = builder.build();
+            ImmutableList<FieldMethod> existing = annotatedMethods.putIfAbsent(annotation, methods);
+            if (existing != null) {
+                methods = existing;
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * The cached {@link Field}s and {@link Method}s are shared by every context of this class,
+     * so make them accessible once up front rather than having callers flip the flag back and
+     * forth concurrently.
+     */
+    private static void makeAccessible(Iterable<? extends AccessibleObject> objects) {
+        for (AccessibleObject object : objects) {
+            try {
+                object.setAccessible(true);
+            } catch (RuntimeException e) {
+                // leave it to the caller to deal with inaccessible members.
+            }
+        }
+    }
+
+    private List<Field> indexBindableModelFields() {
+        List<Field> allModelFields = Reflections.getFieldsOfTypeForClassHierarchy(type, BindableModel.class);
+        List<Field> notBindableFields = Reflections.getAnnotatedFieldsForClassHierarchy(type, NotBindable.class);
+        allModelFields = ImmutableList.copyOf(Iterables.filter(allModelFields, Predicates.not(Predicates.in(notBindableFields))));
+        List<Field> nonFinalModelFields = ImmutableList.copyOf(Iterables.filter(allModelFields, Predicates.not(Reflections.IS_FIELD_FINAL)));
+        if (!nonFinalModelFields.isEmpty()) {
+            throw new BindingException("All BindableModels have to be final or marked with @NotBindable, but "+
+                Iterables.transform(nonFinalModelFields, Reflections.FIELD_TO_NAME)+" are not.");
+        }
+        makeAccessible(allModelFields);
+        return allModelFields;
+    }
+
+    /**
+     * Look through all of the declared, static, final fields of the class, grab the value,
+     * and insert a mapping from the field's name to the object.
+     *
+     * Note that this will index non-public fields.
+     */
+    private Map<String, Object> indexBindableConstants() throws IllegalAccessException {
+        Map<String, Object> map = Maps.newHashMap();
+        for (Field field : type.getDeclaredFields()) {
+            if (Reflections.isFieldFinal(field) && Reflections.isFieldStatic(field)) {
+                boolean accessible = field.isAccessible();
+                field.setAccessible(true);
+                map.put(field.getName(), field.get(null));
+                field.setAccessible(accessible);
+            }
+        }
+        // values may be null, so ImmutableMap is not an option.
+        return Collections.unmodifiableMap(map);
+    }
+
+    /*
+     * TODO Current behavior is if ANY class in a class hierarchy is Bindable then all methods in that
+     * hierarchy are bindable.  Really this should be for each class in the hierarchy, if it's
+     * marked Bindable then its methods are bindable.
+     */
+    private Map<String, FieldMethod> indexBindableMethods(List<Field> modelFields) {
+        // Get all fields marked @Bindable
+        List<Field> bindables = Lists.newArrayList(getAnnotatedFields(Bindable.class));
+        if (Iterables.any(bindables, Predicates.not(Reflections.IS_FIELD_FINAL))) {
+            throw new BindingException("all @Bindables have to be final");
+        }
+        // Add all BindableModels
+        bindables.addAll(modelFields);
+
+        // Index those methods.
+        List<FieldMethod> methods = getParameterlessMethodsOnFieldTypes(bindables);
+
+        // Add methods for classes marked @Bindable
+        if (isClassAnnotatedForClassHierarchy(Bindable.class)) {
+            for (Class<?> klass = type; klass != null; klass = klass.getSuperclass()) {
+                for (Method method : klass.getDeclaredMethods()) {
+                    if (method.getParameterTypes().length == 0) {
+                        methods.add(new FieldMethod(null, method));
+                    }
+                }
+            }
+        }
+
+        return indexMethods(methods);
+    }
+
+    private boolean isClassAnnotatedForClassHierarchy(Class<? extends Annotation> annotation) {
+        for (Class<?> klass = type; klass != null; klass = klass.getSuperclass()) {
+            if (klass.isAnnotationPresent(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<FieldMethod> getParameterlessMethodsOnFieldTypes(List<Field> fields) {
+        List<FieldMethod> methods = Lists.newArrayList();
+        for (Field field : fields) {
+            for (Method method : field.getType().getDeclaredMethods()) {
+                if (method.getParameterTypes().length == 0 && Reflections.isMethodPublic(method)) {
+                    methods.add(new FieldMethod(field, method));
+                }
+            }
+        }
+        return methods;
+    }
+
+    private static Map<String, FieldMethod> indexMethods(List<FieldMethod> methods) {
+        Map<String, FieldMethod> map = Maps.newHashMap();
+        Set<String> ambiguousNames = Sets.newHashSet();
+        for (FieldMethod fm : methods) {
+            String blindKey = fm.getMethod().getName();
+            if (!ambiguousNames.contains(blindKey)) {
+                if (map.containsKey(blindKey)) {
+                    map.remove(blindKey);
+                    ambiguousNames.add(blindKey);
+                } else {
+                    map.put(blindKey, fm);
+                }
+            }
+            String fieldName = fm.getField() == null ? "this" : fm.getField().getName();
+            String qualifiedKey = fieldName + "." + blindKey;
+            map.put(qualifiedKey, fm);
+        }
+        return map;
+    }
+
+    private static Map<String, FieldMethod> indexBindableProperties(List<Field> modelFields, boolean readMethods)
+            throws IntrospectionException {
+        final Map<FieldMethod, String> propertyNames = Maps.newHashMap();
+        for (Field field : Sets.newHashSet(modelFields)) {
+            BeanInfo beanInfo = Introspector.getBeanInfo(field.getType());
+            for (PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors()) {
+                Method method = readMethods ? descriptor.getReadMethod() : descriptor.getWriteMethod();
+                if (method == null) {
+                    continue;
+                }
+                propertyNames.put(new FieldMethod(field, method), descriptor.getName());
+            }
+        }
+        return dotIndex(propertyNames.keySet(), new Function<FieldMethod, String>() {
+            public String apply(FieldMethod from) {
+                return from.getField().getName();
+            }
+        }, new Function<FieldMethod, String>() {
+            public String apply(FieldMethod from) {
+                return propertyNames.get(from);
+            }
+        });
+    }
+
+    private static <T> Map<String, T> dotIndex(Collection<T> items, Function<T, String> qualifierFn, Function<T, String> blindFn) {
+        Set<String> ambiguousNames = Sets.newHashSet();
+        Map<String, T> results = Maps.newHashMap();
+        for (T item : items) {
+            String blindKey = blindFn.apply(item);
+            if (!ambiguousNames.contains(blindKey)) {
+                if (results.containsKey(blindKey)) {
+                    results.remove(blindKey);
+                    ambiguousNames.add(blindKey);
+                } else {
+                    results.put(blindKey, item);
+                }
+            }
+            String qualifiedKey = qualifierFn.apply(item) + "." + blindKey;
+            results.put(qualifiedKey, item);
+        }
+        return results;
+    }
+}
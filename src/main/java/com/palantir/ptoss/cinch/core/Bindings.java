@@ -15,9 +15,11 @@ package com.palantir.ptoss.cinch.core;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.palantir.ptoss.cinch.swing.Action;
 import com.palantir.ptoss.cinch.swing.Bound;
 import com.palantir.ptoss.cinch.swing.BoundExtent;
@@ -41,10 +43,12 @@ import com.palantir.ptoss.cinch.swing.VisibleIf;
  */
 public class Bindings {
 
-    private final List<Binding> bindings = Lists.newArrayList();
+    private final Set<BindingScope> scopes = Sets.newLinkedHashSet();
 
     private final ImmutableList<BindingWiring> wirings;
 
+    private volatile boolean releasingUnreachable;
+
     /**
      * The list of {@link BindingWiring} classes that are standard to this framework.
      */
@@ -74,22 +78,109 @@ public class Bindings {
         this.wirings = ImmutableList.copyOf(wirings);
     }
 
+    /**
+     * Turns on or off releasing the bindings of objects that become unreachable without being
+     * {@link #dispose() disposed}.  While on, each object bound has its
+     * {@link DefaultBindableModel}s hold its bindings weakly, so that they no longer keep the
+     * object reachable, and the bindings are unbound from the models once it is collected.
+     * <p>
+     * Since only this instance holds the bindings strongly, it must be owned by the objects it
+     * binds, usually as a field of the view, as is the custom.  If it's dropped while a view is
+     * still reachable, the view's bindings are collected and it stops updating; that is logged
+     * as a warning and listed by {@link BindingLeakReport#getOrphanedViews()}.  Only affects
+     * objects bound afterwards.
+     * @see BindingLeakReport
+     */
+    public void setReleasingUnreachable(boolean release) {
+        releasingUnreachable = release;
+    }
+
+    /**
+     * Returns whether the bindings of unreachable objects are released.
+     * @see #setReleasingUnreachable(boolean)
+     */
+    public boolean isReleasingUnreachable() {
+        return releasingUnreachable;
+    }
+
+    /**
+     * Binds the object and syncs its bindings with their models.  Only the new bindings are
+     * synced, not those of objects bound earlier.
+     */
     public void bind(Object object) {
-        bindWithoutUpdate(object);
-        updateAll();
+        bindScoped(object);
     }
 
+    /**
+     * Binds the object without syncing its bindings.
+     */
     public void bindWithoutUpdate(Object object) {
+        bindScopedWithoutUpdate(object);
+    }
+
+    /**
+     * Binds the object and syncs its bindings, as {@link #bind(Object)} does.
+     * @return the new bindings
+     */
+    public BindingScope bindScoped(Object object) {
+        BindingScope scope = bindScopedWithoutUpdate(object);
+        scope.updateAll();
+        return scope;
+    }
+
+    /**
+     * Binds the object without syncing its bindings, as {@link #bindWithoutUpdate(Object)} does.
+     * @return the new bindings
+     */
+    public BindingScope bindScopedWithoutUpdate(Object object) {
         BindingContext context = new BindingContext(object);
-        bindings.addAll(createBindings(context));
+        BindingScope scope = new BindingScope(this, createBindings(context), context.getBindableModels());
+        scopes.add(scope);
+        if (releasingUnreachable) {
+            scope.setWatched(ImmutableList.of(ViewReaper.register(object, scope)));
+        }
+        return scope;
+    }
+
+    /**
+     * Binds all the objects and then syncs their bindings in one pass.
+     * @return the bindings of all the objects
+     */
+    public BindingScope bindAll(Collection<?> objects) {
+        List<BindingScope> parts = Lists.newArrayList();
+        for (Object object : objects) {
+            parts.add(bindScopedWithoutUpdate(object));
+        }
+        BindingScope scope = new BindingScope(this, parts);
+        scope.updateAll();
+        return scope;
     }
 
     public void release(BindableModel model) {
-        for (Binding binding : bindings) {
-            model.unbind(binding);
+        for (BindingScope scope : scopes) {
+            scope.release(model);
         }
     }
 
+    /**
+     * Tears down every binding made so far, removing them from their models and the listeners
+     * they installed from their components, and forgets them.
+     * @see BindingScope#dispose()
+     */
+    public void dispose() {
+        for (BindingScope scope : ImmutableList.copyOf(scopes)) {
+            scope.dispose();
+        }
+        scopes.clear();
+    }
+
+    /**
+     * Stops updating and releasing a scope once it's disposed.
+     */
+    void forget(BindingScope scope) {
+        scopes.remove(scope);
+    }
+
     protected List<Binding> createBindings(BindingContext context) {
         final List<Binding> bindingList = Lists.newArrayList();
         for (BindingWiring wiring : wirings) {
@@ -99,8 +190,8 @@ public class Bindings {
     }
 
     public void updateAll() {
-        for (Binding binding : bindings) {
-            binding.update(ModelUpdates.ALL);
+        for (BindingScope scope : scopes) {
+            scope.updateAll();
         }
     }
 }
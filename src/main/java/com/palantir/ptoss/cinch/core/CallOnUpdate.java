@@ -18,7 +18,6 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -81,27 +80,34 @@ public @interface CallOnUpdate {
             }
             final String[] ons = callOnUpdate.on();
             List<Object> onObjects = BindingContext.getOnObjects(ons, model);
-            Binding binding = makeBinding(method, onObjects);
+            Binding binding = makeBinding(model, method, ModelUpdateFilter.of(onObjects));
             model.bind(binding);
             return ImmutableList.of(binding);
         }
 
-        private static Binding makeBinding(final ObjectFieldMethod method, final List<Object> onObjects) {
-            final Method actualMethod = method.getMethod();
-            actualMethod.setAccessible(true);
-            final Binding binding = new Binding() {
+        private static Binding makeBinding(final BindableModel model, final ObjectFieldMethod method,
+                final ModelUpdateFilter filter) {
+            final Binding binding = new DisposableBinding() {
+                public ModelUpdateFilter getFilter() {
+                    return filter;
+                }
+
                 public <T extends Enum<?> & ModelUpdate> void update(final T... changed) {
-                    if (!BindingContext.isOn(onObjects, changed)) {
+                    if (!filter.matches(changed)) {
                         return;
                     }
                     try {
-                        actualMethod.invoke(method.getObject());
+                        method.invoke();
                     } catch (final InvocationTargetException itex) {
                         logger.error("exception during CallOnUpdate firing", itex.getCause()); //$NON-NLS-1$
                     } catch (final Exception e) {
                         logger.error("exception in method binding", e); //$NON-NLS-1$
                     }
                 }
+
+                public void dispose() {
+                    model.unbind(this);
+                }
             };
             return binding;
         }
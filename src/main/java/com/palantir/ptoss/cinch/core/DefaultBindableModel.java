@@ -15,8 +15,11 @@ package com.palantir.ptoss.cinch.core;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.MapMaker;
 
 /**
  * Default implementation of {@link BindableModel} - should be subclassed by implementations.
@@ -25,18 +28,43 @@ public class DefaultBindableModel implements BindableModel {
 
     // must be transient because Bindings aren't serializable, and
     // subclasses might be serialized.
-    private transient List<Binding> bindings;
+    private transient BindingRegistry<Binding> bindings;
+
+    // the weak stand-ins of bindings held weakly, so #unbind can find them; see #bindWeakly.
+    private transient volatile ConcurrentMap<Binding, Binding> standIns;
+
+    // built on the first update, then kept up to date as bindings come and go.
+    private transient volatile SubscriberIndex<Binding> index;
+
+    private transient volatile UpdateCoalescer coalescer;
+
+    private volatile boolean trackingDependencies;
+
+    private static final SubscriberIndex.Visitor<Binding> UPDATE = new SubscriberIndex.Visitor<Binding>() {
+        public void visit(Binding binding, Object[] changed) {
+            UpdateCoalescer.update(binding, changed);
+        }
+    };
+
+    private static final SubscriberIndex.Visitor<Binding> UPDATE_TRACKED = new SubscriberIndex.Visitor<Binding>() {
+        public void visit(Binding binding, Object[] changed) {
+            UpdateCoalescer.update(binding, changed, true);
+        }
+    };
 
     public DefaultBindableModel() {
-        bindings = new CopyOnWriteArrayList<Binding>();
+        bindings = new BindingRegistry<Binding>();
     }
 
     /**
      * {@inheritDoc}
      */
     public void bind(Binding toBind) {
-        if (!bindings.contains(toBind)) {
-            bindings.add(toBind);
+        synchronized (this) {
+            SubscriberIndex<Binding> current = index;
+            if (bindings.add(toBind) && current != null) {
+                current.add(toBind, SubscriberIndex.filterOf(toBind));
+            }
         }
     }
 
@@ -44,35 +72,295 @@ public class DefaultBindableModel implements BindableModel {
      * {@inheritDoc}
      */
     public void unbind(Binding toUnbind) {
-        bindings.remove(toUnbind);
+        ConcurrentMap<Binding, Binding> weak = standIns;
+        Binding standIn = weak == null ? null : weak.remove(toUnbind);
+        Binding bound = standIn == null ? toUnbind : standIn;
+        synchronized (this) {
+            SubscriberIndex<Binding> current = index;
+            if (bindings.remove(bound) && current != null) {
+                current.remove(bound);
+            }
+        }
     }
 
     /**
      * Removes all bindings from this model.
      */
-    public void unbindAll() {
+    public synchronized void unbindAll() {
         bindings.clear();
+        standIns = null;
+        index = null;
     }
+
+    /**
+     * Swaps the binding, if bound, for a stand-in that only refers to it weakly, so that the
+     * model no longer keeps the binding, or the view it updates, reachable.  The binding can
+     * still be unbound as usual.
+     * @return the stand-in, or null if the binding wasn't bound
+     * @see Bindings#setReleasingUnreachable(boolean)
+     */
+    Binding bindWeakly(Binding binding) {
+        Binding standIn = new WeakBinding(binding);
+        synchronized (this) {
+            if (!bindings.replace(binding, standIn)) {
+                return null;
+            }
+            if (standIns == null) {
+                standIns = new MapMaker().weakKeys().makeMap();
+            }
+            standIns.put(binding, standIn);
+            SubscriberIndex<Binding> current = index;
+            if (current != null) {
+                current.replace(binding, standIn);
+            }
+        }
+        return standIn;
+    }
+
+    /**
+     * Returns the number of bindings held, counting stand-ins.
+     */
+    int size() {
+        return bindings.size();
+    }
+
+    /**
+     * Returns the elements the subscriber index has copied keeping up with the bindings, or 0 if
+     * it hasn't been built.
+     */
+    long indexCopies() {
+        SubscriberIndex<Binding> current = index;
+        return current == null ? 0 : current.copied();
+    }
+
+    /**
+     * Returns whether the binding, or a stand-in from {@link #bindWeakly(Binding)}, is bound.
+     */
+    boolean isBound(Binding binding) {
+        return bindings.contains(binding);
+    }
+
+    /**
+     * Returns the bindings indexed by the updates they react to; see {@link FilteredBinding}.
+     */
+    private SubscriberIndex<Binding> index() {
+        SubscriberIndex<Binding> current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    Binding[] snapshot = bindings.toArray(new Binding[0]);
+                    ModelUpdateFilter[] filters = new ModelUpdateFilter[snapshot.length];
+                    for (int i = 0; i < snapshot.length; i++) {
+                        filters[i] = SubscriberIndex.filterOf(snapshot[i]);
+                    }
+                    current = new SubscriberIndex<Binding>(snapshot, filters);
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
     /**
      * {@inheritDoc}
+     * <p>
+     * When {@link #setCoalescingUpdates(boolean) coalescing} is on the update is delivered
+     * later, merged with any others raised before the next turn of the event loop.  Inside a
+     * {@link ModelTransactions transaction} it is delivered when the transaction closes.
+     * <p>
+     * Only the bindings interested in the changed types are updated: those that don't say
+     * which types they react to, and {@link FilteredBinding}s whose filter matches.
      */
     public <T extends Enum<T> & ModelUpdate> void modelUpdated(T... changed) {
-        for (Binding binding : bindings) {
-            binding.update(changed);
+        UpdateCoalescer pending = coalescer;
+        if (pending != null && !ModelTransactions.isActive()) {
+            pending.add(changed);
+            return;
+        }
+        index().dispatch(changed, visitor());
+    }
+
+    /**
+     * Returns the visitor that delivers updates now, or defers them to the open transaction,
+     * recording the bindings' reads if dependencies are tracked.
+     */
+    private SubscriberIndex.Visitor<Binding> visitor() {
+        if (trackingDependencies) {
+            return ModelTransactions.isActive() ? ModelTransactions.DEFER_TRACKED : UPDATE_TRACKED;
+        }
+        return ModelTransactions.isActive() ? ModelTransactions.DEFER : UPDATE;
+    }
+
+    /**
+     * <p>
+     * Performs a model update of type {@link ModelUpdates#UNSPECIFIED} that only reaches the
+     * bindings of the named property, plus those that don't say which property they show such
+     * as {@link CallOnUpdate} methods.  The property of a binding is the last part of its
+     * <code>to</code> target, so <code>updateProperty("subject")</code> updates controls bound
+     * to <code>"model.subject"</code> and skips those bound to other properties, without a
+     * {@link ModelUpdate} type per property.
+     * </p>
+     * <p>
+     * Bindings with an <code>on</code> parameter are only reached if it includes
+     * {@link ModelUpdates#UNSPECIFIED}, as with {@link #update()}.
+     * </p>
+     */
+    public void updateProperty(String property) {
+        updateProperties(property);
+    }
+
+    /**
+     * Performs a model update for several properties at once; each interested binding is
+     * updated once.
+     * @see #updateProperty(String)
+     */
+    public void updateProperties(String... properties) {
+        if (ModelTransactions.isActive()) {
+            fireProperties(properties);
+            return;
+        }
+        UpdateCoalescer pending = coalescer;
+        if (pending != null) {
+            pending.addProperties(properties);
+            return;
+        }
+        fireProperties(properties);
+    }
+
+    private void fireProperties(String[] properties) {
+        Predicate<Binding> filter = trackingDependencies ? dependents(properties) : null;
+        index().dispatchProperties(properties, filter, visitor());
+    }
+
+    /**
+     * Updates the bindings of the types and of the properties, each once; either may be null.
+     */
+    private void fire(Object[] changed, String[] properties) {
+        if (properties == null) {
+            index().dispatch(changed, visitor());
+        } else if (changed == null) {
+            fireProperties(properties);
+        } else {
+            Predicate<Binding> filter = trackingDependencies ? dependents(properties) : null;
+            index().dispatch(changed, properties, filter, visitor());
         }
     }
 
+    private Predicate<Binding> dependents(final String[] properties) {
+        return new Predicate<Binding>() {
+            public boolean apply(Binding binding) {
+                return DependencyTracker.dependsOn(binding, DefaultBindableModel.this, properties);
+            }
+        };
+    }
+
+    /**
+     * <p>
+     * Turns dependency tracking on or off.  While on, the model records what each binding reads
+     * when it updates it, and {@link #updateProperty(String)} reaches the bindings that read one
+     * of the updated properties the last time, whichever property they show, besides those
+     * bound to it by name.  Other bindings, such as {@link CallOnUpdate} methods that read other
+     * properties, are skipped.  Every getter of the model must then report its reads with
+     * {@link #read(String)}.
+     * </p>
+     * @see DependencyTracker
+     */
+    public void setTrackingDependencies(boolean track) {
+        trackingDependencies = track;
+    }
+
+    /**
+     * Returns whether dependencies are tracked.
+     * @see #setTrackingDependencies(boolean)
+     */
+    public boolean isTrackingDependencies() {
+        return trackingDependencies;
+    }
+
+    /**
+     * Reports that the property was read, for {@link #setTrackingDependencies(boolean)
+     * dependency tracking}.  Call this from the property's getter.
+     */
+    protected final void read(String property) {
+        if (trackingDependencies) {
+            DependencyTracker.read(this, property);
+        }
+    }
+
+    /**
+     * <p>
+     * Turns coalescing of updates on or off.  While on, {@link #modelUpdated} and {@link #update()}
+     * don't notify bindings straight away: the types raised are collected and the bindings are
+     * updated once, with their union, in a later turn of the Swing event loop.  A setter-heavy
+     * code path then repaints each bound control once instead of once per setter.
+     * </p>
+     * <p>
+     * Turning coalescing off delivers any pending updates immediately.
+     * </p>
+     */
+    public void setCoalescingUpdates(boolean coalesce) {
+        UpdateCoalescer previous;
+        synchronized (this) {
+            previous = coalescer;
+            if (coalesce == (previous != null)) {
+                return;
+            }
+            coalescer = coalesce ? new UpdateCoalescer() {
+                @Override
+                protected void dispatch(Object[] changed, String[] properties) {
+                    fire(changed, properties);
+                }
+            } : null;
+        }
+        if (previous != null) {
+            previous.flush();
+        }
+    }
+
+    /**
+     * Returns whether updates are being coalesced.
+     * @see #setCoalescingUpdates(boolean)
+     */
+    public boolean isCoalescingUpdates() {
+        return coalescer != null;
+    }
+
     /**
      * Performs a model update of type {@link ModelUpdates#UNSPECIFIED} - convenience method
      * for most models.
      */
     public void update() {
-        this.modelUpdated(ModelUpdates.UNSPECIFIED);
+        this.modelUpdated(ModelUpdates.UNSPECIFIED_ONLY);
+    }
+
+    /**
+     * Stands in for a binding held weakly, passing updates on while it is reachable.
+     */
+    private static final class WeakBinding implements FilteredBinding {
+        private final WeakReference<Binding> binding;
+        private final ModelUpdateFilter filter;
+
+        WeakBinding(Binding binding) {
+            this.binding = new WeakReference<Binding>(binding);
+            this.filter = SubscriberIndex.filterOf(binding);
+        }
+
+        public ModelUpdateFilter getFilter() {
+            return filter;
+        }
+
+        public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+            Binding target = binding.get();
+            if (target != null) {
+                target.update(changed);
+            }
+        }
     }
 
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
-        bindings = new CopyOnWriteArrayList<Binding>();
+        bindings = new BindingRegistry<Binding>();
     }
 
 }
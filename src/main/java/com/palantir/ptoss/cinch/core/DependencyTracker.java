@@ -0,0 +1,218 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * <p>
+ * Records which model properties each {@link Binding} reads while it is updated, whether through
+ * a bound getter, an {@link com.palantir.ptoss.cinch.swing.EnabledIf} or
+ * {@link com.palantir.ptoss.cinch.swing.VisibleIf} condition or a {@link CallOnUpdate} method,
+ * so that {@link DefaultBindableModel#updateProperty(String)} reaches exactly the bindings whose
+ * last update read the property, besides those bound to it by name.  A control bound to
+ * <code>"fullName"</code> whose getter reads <code>first</code> is then updated by
+ * <code>updateProperty("first")</code>.
+ * </p>
+ * <p>
+ * Only models with {@link DefaultBindableModel#setTrackingDependencies(boolean) tracking} turned
+ * on use the records, and such a model's getters must report each read:
+ * </p>
+ * <pre>
+ * public String getSubject() {
+ *     read("subject");
+ *     return subject;
+ * }
+ * </pre>
+ * <p>
+ * A binding that a tracking model hasn't updated yet has no record and is always updated.
+ * Each update replaces the record, so bindings whose reads depend on the model's state follow
+ * it.  A model none of whose reads were ever reported most likely has getters that don't call
+ * <code>read</code>; its bindings are all updated, and a warning is logged once.
+ * </p>
+ */
+public final class DependencyTracker {
+    private DependencyTracker() { /* Static utility methods only. */ }
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyTracker.class);
+
+    private static final ThreadLocal<Recorder> RECORDER = new ThreadLocal<Recorder>() {
+        @Override
+        protected Recorder initialValue() {
+            return new Recorder();
+        }
+    };
+
+    private static final ConcurrentMap<Binding, Set<Dependency>> RECORDS =
+            new MapMaker().weakKeys().makeMap();
+
+    // one dependency per model and property, so recording and checking reads doesn't allocate.
+    private static final ConcurrentMap<Object, ConcurrentMap<String, Dependency>> INTERNED =
+            new MapMaker().weakKeys().makeMap();
+
+    private static final Set<Object> WARNED =
+            Collections.newSetFromMap(new MapMaker().weakKeys().<Object, Boolean>makeMap());
+
+    /**
+     * A property of a particular model.  Dependencies are interned per model, so they are
+     * compared by identity, and don't refer to their model so as not to keep it reachable.
+     */
+    private static final class Dependency {
+        private final String property;
+
+        Dependency(String property) {
+            this.property = property;
+        }
+
+        @Override
+        public String toString() {
+            return property;
+        }
+    }
+
+    /**
+     * Returns the dependency for the property of the model, creating it if asked to.
+     */
+    private static Dependency dependency(Object model, String property, boolean create) {
+        ConcurrentMap<String, Dependency> properties = INTERNED.get(model);
+        if (properties == null) {
+            if (!create) {
+                return null;
+            }
+            ConcurrentMap<String, Dependency> fresh = Maps.newConcurrentMap();
+            properties = INTERNED.putIfAbsent(model, fresh);
+            if (properties == null) {
+                properties = fresh;
+            }
+        }
+        Dependency dependency = properties.get(property);
+        if (dependency == null && create) {
+            Dependency fresh = new Dependency(property);
+            dependency = properties.putIfAbsent(property, fresh);
+            if (dependency == null) {
+                dependency = fresh;
+            }
+        }
+        return dependency;
+    }
+
+    /**
+     * The reads of the bindings being updated on a thread, one frame per binding since bindings
+     * updated from inside another binding's update nest.  Frames are reused, so updates that
+     * read the same properties as last time don't allocate.
+     */
+    private static final class Recorder {
+        private final List<Set<Dependency>> frames = Lists.newArrayList();
+        private int depth;
+
+        Set<Dependency> push() {
+            if (depth == frames.size()) {
+                frames.add(Sets.<Dependency>newHashSet());
+            }
+            return frames.get(depth++);
+        }
+
+        void pop() {
+            frames.get(--depth).clear();
+        }
+
+        Set<Dependency> current() {
+            return depth == 0 ? null : frames.get(depth - 1);
+        }
+    }
+
+    /**
+     * Returns whether any of the models tracks dependencies, so that syncing bindings on them
+     * should record what they read.
+     */
+    static boolean tracks(Iterable<BindableModel> models) {
+        for (BindableModel model : models) {
+            if (model instanceof DefaultBindableModel && ((DefaultBindableModel) model).isTrackingDependencies()) {
+                return true;
+            }
+            if (model instanceof WeakBindableModelSupport
+                    && ((WeakBindableModelSupport) model).isTrackingDependencies()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records that the property of the model was read by the binding being updated on this
+     * thread, if any.
+     * @see DefaultBindableModel#read(String)
+     */
+    public static void read(Object model, String property) {
+        Set<Dependency> reads = RECORDER.get().current();
+        if (reads != null) {
+            reads.add(dependency(model, property, true));
+        }
+    }
+
+    /**
+     * Updates the binding, recording what it reads.  Models only update their bindings through
+     * here while they track dependencies, so other models don't pay for recording.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Enum<?> & ModelUpdate> void update(Binding binding, Object[] changed) {
+        Recorder recorder = RECORDER.get();
+        Set<Dependency> reads = recorder.push();
+        try {
+            binding.update((T[]) changed);
+            if (!reads.equals(RECORDS.get(binding))) {
+                RECORDS.put(binding, ImmutableSet.copyOf(reads));
+            }
+        } finally {
+            recorder.pop();
+        }
+    }
+
+    /**
+     * Returns whether the binding read any of the properties of the model in its last update,
+     * or hasn't been updated yet, or the model never reported a read.
+     */
+    static boolean dependsOn(Binding binding, Object model, String[] properties) {
+        Set<Dependency> reads = RECORDS.get(binding);
+        if (reads == null) {
+            return true;
+        }
+        if (!INTERNED.containsKey(model)) {
+            if (WARNED.add(model)) {
+                logger.warn("{} tracks dependencies but none of its getters called read(), "
+                        + "so its property updates reach every binding", model);
+            }
+            return true;
+        }
+        for (String property : properties) {
+            Dependency dependency = dependency(model, property, false);
+            if (dependency != null && reads.contains(dependency)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
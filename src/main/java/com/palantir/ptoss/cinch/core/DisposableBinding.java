@@ -0,0 +1,27 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+/**
+ * A {@link Binding} that can tear itself down: unbind from its model and remove any listeners it
+ * installed on the bound component.  The standard wirings all return these, so
+ * {@link Bindings#dispose()} can release a view in both directions.
+ */
+public interface DisposableBinding extends FilteredBinding {
+    /**
+     * Unbinds from the model and removes the binding's listeners.  Calling it again does
+     * nothing.
+     */
+    void dispose();
+}
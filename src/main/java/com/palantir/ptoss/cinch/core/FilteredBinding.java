@@ -0,0 +1,27 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+/**
+ * A {@link Binding} that only reacts to some {@link ModelUpdate} types and says which.  Models
+ * such as {@link DefaultBindableModel} use the filter to skip the binding entirely for updates
+ * it would ignore; the binding should still check the filter itself, since not every model
+ * does.
+ */
+public interface FilteredBinding extends Binding {
+    /**
+     * Returns the updates this binding reacts to.  Must not change once the binding is bound.
+     */
+    ModelUpdateFilter getFilter();
+}
@@ -0,0 +1,126 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DisposableBinding} for wirings that only install listeners on a component, such as
+ * {@link com.palantir.ptoss.cinch.swing.OnClick}, and aren't bound to any model.  Its only job
+ * is to remove the listeners in {@link #dispose()}.
+ */
+public abstract class ListenerRegistration implements DisposableBinding {
+    private static final Logger logger = LoggerFactory.getLogger(ListenerRegistration.class);
+
+    private volatile boolean disposed;
+
+    /**
+     * Returns {@link ModelUpdateFilter#ANY}.  Registrations aren't bound to a model, so the
+     * filter is never consulted.
+     */
+    public ModelUpdateFilter getFilter() {
+        return ModelUpdateFilter.ANY;
+    }
+
+    /**
+     * Does nothing; listener registrations aren't bound to a model.
+     */
+    public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+        // nothing to update.
+    }
+
+    /**
+     * Marks this registration disposed and removes its listeners.
+     */
+    public final void dispose() {
+        disposed = true;
+        removeListeners();
+    }
+
+    /**
+     * Removes the listeners this registration installed.
+     */
+    protected abstract void removeListeners();
+
+    /**
+     * Returns whether this registration has been disposed.  Listeners that their component may
+     * not be able to remove check this, and do nothing once it's set.
+     */
+    public final boolean isDisposed() {
+        return disposed;
+    }
+
+    /**
+     * Returns a registration that installs a listener with {@link Removing#add(Method, Object)}
+     * and removes it by calling the component's <code>remove<i>Listener</i></code> method, the
+     * counterpart of the <code>add<i>Listener</i></code> method.  A component without such a
+     * method keeps the listener once disposed, so the listener must check {@link #isDisposed()}.
+     * @param componentType the type to look the method up on, as the add method was
+     * @param listenerType the listener interface, such as <code>ActionListener</code>
+     */
+    public static Removing removing(Class<?> componentType, Object component, Class<?> listenerType) {
+        Method remove;
+        try {
+            remove = componentType.getMethod("remove" + listenerType.getSimpleName(), listenerType);
+        } catch (NoSuchMethodException e) {
+            logger.debug("no remove{} method on {}; its listener will be left in place, inert, when disposed",
+                    listenerType.getSimpleName(), componentType.getName());
+            remove = null;
+        }
+        return new Removing(component, listenerType, remove);
+    }
+
+    /**
+     * A registration of one listener on a component.
+     * @see ListenerRegistration#removing(Class, Object, Class)
+     */
+    public static final class Removing extends ListenerRegistration {
+        private final Object component;
+        private final Class<?> listenerType;
+        private final Method remove;
+        private volatile Object listener;
+
+        Removing(Object component, Class<?> listenerType, Method remove) {
+            this.component = component;
+            this.listenerType = listenerType;
+            this.remove = remove;
+        }
+
+        /**
+         * Installs the listener on the component with its <code>add<i>Listener</i></code> method.
+         */
+        public void add(Method add, Object toAdd) throws IllegalAccessException, InvocationTargetException {
+            add.invoke(component, toAdd);
+            listener = toAdd;
+        }
+
+        @Override
+        protected void removeListeners() {
+            Object installed = listener;
+            if (installed == null || remove == null) {
+                return;
+            }
+            listener = null;
+            try {
+                remove.invoke(component, installed);
+            } catch (Exception e) {
+                throw new BindingException("could not remove " + listenerType.getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Sets;
+
+/**
+ * <p>
+ * Groups model updates across any number of {@link DefaultBindableModel}s and
+ * {@link WeakBindableModel}s so that they are delivered together.
+ * </p>
+ * <p>
+ * While a transaction is open on the current thread, {@link BindableModel#modelUpdated} calls on
+ * those models don't notify their bindings.  When the outermost transaction closes, every binding
+ * that would have been notified is updated exactly once, with the union of the types raised for
+ * it, in the order the bindings were first affected.  Views therefore never render the
+ * intermediate state of a change that touches several linked models:
+ * </p>
+ * <pre>
+ * ModelTransactions.run(new Runnable() {
+ *     public void run() {
+ *         order.setQuantity(100);
+ *         account.setBuyingPower(...);
+ *     }
+ * });
+ * </pre>
+ * or, with try-with-resources:
+ * <pre>
+ * try (ModelTransactions.Transaction tx = ModelTransactions.begin()) {
+ *     ...
+ * }
+ * </pre>
+ * <p>
+ * Transactions nest; only the outermost one delivers.  Updates are delivered even if the body
+ * throws, since the models have already changed by then.
+ * </p>
+ */
+public final class ModelTransactions {
+    private ModelTransactions() { /* Static utility methods only. */ }
+
+    private static final ThreadLocal<Transaction> CURRENT = new ThreadLocal<Transaction>();
+
+    /**
+     * Runs the passed body inside a transaction.
+     */
+    public static void run(Runnable body) {
+        Transaction transaction = begin();
+        try {
+            body.run();
+        } finally {
+            transaction.close();
+        }
+    }
+
+    /**
+     * Opens a transaction on the current thread, or joins the one already open.  The returned
+     * transaction must be closed on the same thread.
+     */
+    public static Transaction begin() {
+        Transaction transaction = CURRENT.get();
+        if (transaction == null) {
+            transaction = new Transaction(Thread.currentThread());
+            CURRENT.set(transaction);
+        }
+        transaction.depth++;
+        return transaction;
+    }
+
+    /**
+     * Returns whether a transaction is open on the current thread.
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Records an update of the binding for delivery when the current transaction closes.
+     * @throws IllegalStateException if there is no transaction open
+     */
+    static void defer(Binding binding, Object[] changed, boolean tracked) {
+        Transaction transaction = CURRENT.get();
+        Preconditions.checkState(transaction != null, "no transaction open");
+        transaction.record(binding, changed, tracked);
+    }
+
+    /**
+     * Defers the updates it visits; models dispatch through it while a transaction is open, so
+     * only the bindings interested in an update are recorded.
+     */
+    static final SubscriberIndex.Visitor<Binding> DEFER = new SubscriberIndex.Visitor<Binding>() {
+        public void visit(Binding binding, Object[] changed) {
+            defer(binding, changed, false);
+        }
+    };
+
+    /**
+     * As {@link #DEFER}, for models that track dependencies; the deferred updates record the
+     * bindings' reads.
+     */
+    static final SubscriberIndex.Visitor<Binding> DEFER_TRACKED = new SubscriberIndex.Visitor<Binding>() {
+        public void visit(Binding binding, Object[] changed) {
+            defer(binding, changed, true);
+        }
+    };
+
+    /**
+     * An open transaction.  See {@link ModelTransactions}.
+     */
+    public static final class Transaction implements AutoCloseable {
+        private final Thread owner;
+        private final Map<Binding, Set<Object>> pending = new LinkedHashMap<Binding, Set<Object>>();
+        // the pending bindings updated by a model that tracks dependencies.
+        private final Set<Binding> tracked = Sets.newHashSet();
+        private int depth;
+
+        private Transaction(Thread owner) {
+            this.owner = owner;
+        }
+
+        private void record(Binding binding, Object[] changed, boolean track) {
+            if (track) {
+                tracked.add(binding);
+            }
+            Set<Object> types = pending.get(binding);
+            if (types == null) {
+                types = new LinkedHashSet<Object>();
+                pending.put(binding, types);
+            }
+            Collections.addAll(types, changed);
+        }
+
+        /**
+         * Closes this level of the transaction; closing the outermost level delivers the
+         * collected updates.
+         */
+        public void close() {
+            Preconditions.checkState(Thread.currentThread() == owner,
+                    "transaction must be closed on the thread that opened it");
+            Preconditions.checkState(depth > 0, "transaction already closed");
+            if (--depth > 0) {
+                return;
+            }
+            CURRENT.remove();
+            // updates raised by the bindings below are delivered immediately.
+            for (Map.Entry<Binding, Set<Object>> entry : pending.entrySet()) {
+                UpdateCoalescer.update(entry.getKey(), UpdateCoalescer.toUpdates(entry.getValue()),
+                        tracked.contains(entry.getKey()));
+            }
+            pending.clear();
+            tracked.clear();
+        }
+    }
+}
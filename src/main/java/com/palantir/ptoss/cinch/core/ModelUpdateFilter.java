@@ -0,0 +1,189 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * <p>
+ * The resolved <code>on</code> parameter of a binding: the set of {@link ModelUpdate} types the
+ * binding reacts to, stored as one ordinal bitmask per {@link ModelUpdate} enum.  Built once when
+ * the binding is wired; {@link #matches} then neither allocates nor hashes.
+ * </p>
+ * <p>
+ * As with {@link BindingContext#isOn(Collection, Enum...)}, an empty filter matches every update
+ * and {@link ModelUpdates#ALL} matches every filter.
+ * </p>
+ * <p>
+ * A filter can also name the model property the binding shows, in which case
+ * {@link DefaultBindableModel#updateProperty(String)} and friends update the binding only when
+ * that property is named.
+ * </p>
+ */
+public final class ModelUpdateFilter {
+    /**
+     * The filter for bindings with no <code>on</code> parameter.
+     */
+    public static final ModelUpdateFilter ANY = new ModelUpdateFilter(new Class<?>[0], new long[0][],
+            ImmutableSet.of(), null);
+
+    private final Class<?>[] types;
+    private final long[][] masks;
+    private final ImmutableSet<Object> updates;
+    private final String property;
+
+    private ModelUpdateFilter(Class<?>[] types, long[][] masks, ImmutableSet<Object> updates, String property) {
+        this.types = types;
+        this.masks = masks;
+        this.updates = updates;
+        this.property = property;
+    }
+
+    /**
+     * Creates a filter matching the passed {@link ModelUpdate} types, as returned by
+     * {@link BindingContext#getOnObjects(String[], BindableModel)}.  Null or empty means
+     * {@link #ANY}.
+     */
+    public static ModelUpdateFilter of(Collection<?> ons) {
+        if (ons == null || ons.isEmpty()) {
+            return ANY;
+        }
+        Class<?>[] types = new Class<?>[0];
+        long[][] masks = new long[0][];
+        for (Object on : ons) {
+            Enum<?> update = (Enum<?>) on;
+            Class<?> type = update.getDeclaringClass();
+            int index = Arrays.asList(types).indexOf(type);
+            if (index < 0) {
+                index = types.length;
+                types = Arrays.copyOf(types, index + 1);
+                masks = Arrays.copyOf(masks, index + 1);
+                types[index] = type;
+                masks[index] = new long[(type.getEnumConstants().length + 63) / 64];
+            }
+            int ordinal = update.ordinal();
+            masks[index][ordinal >>> 6] |= 1L << ordinal;
+        }
+        return new ModelUpdateFilter(types, masks, ImmutableSet.copyOf(ons), null);
+    }
+
+    /**
+     * Creates a filter from varargs {@link ModelUpdate} types.
+     */
+    @SafeVarargs
+    public static <T extends Enum<?> & ModelUpdate> ModelUpdateFilter of(T... ons) {
+        ImmutableList.Builder<Object> types = ImmutableList.builder();
+        for (T on : ons) {
+            types.add(on);
+        }
+        return of(types.build());
+    }
+
+    /**
+     * Returns a copy of this filter naming the property the binding shows, as resolved by
+     * {@link BindingContext#getPropertyName(String)}.  Null means the binding may read
+     * anything and is updated for every property.
+     */
+    public ModelUpdateFilter withProperty(String property) {
+        if (Objects.equal(property, this.property)) {
+            return this;
+        }
+        return new ModelUpdateFilter(types, masks, updates, property);
+    }
+
+    /**
+     * Returns the property the binding shows, or null if it doesn't say.
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Returns whether this filter matches no particular types, i.e. matches everything.
+     */
+    public boolean isAny() {
+        return types.length == 0;
+    }
+
+    /**
+     * Returns the {@link ModelUpdate} types this filter matches, empty for {@link #ANY}.
+     */
+    public ImmutableSet<Object> getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Returns whether a binding with this filter should react to an update of the passed types.
+     */
+    public boolean matches(Object[] changed) {
+        if (types.length == 0) {
+            return true;
+        }
+        for (Object update : changed) {
+            if (contains(update)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the passed type is one this filter matches: either one of its types or
+     * {@link ModelUpdates#ALL}.
+     */
+    public boolean contains(Object update) {
+        if (update == ModelUpdates.ALL) {
+            return true;
+        }
+        if (!(update instanceof Enum)) {
+            return false;
+        }
+        Class<?> type = ((Enum<?>) update).getDeclaringClass();
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] == type) {
+                int ordinal = ((Enum<?>) update).ordinal();
+                return (masks[i][ordinal >>> 6] & (1L << ordinal)) != 0;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("ModelUpdateFilter[");
+        String separator = "";
+        if (property != null) {
+            builder.append("property=").append(property);
+            separator = ", ";
+        }
+        if (types.length == 0) {
+            return builder.append(separator).append("any]").toString();
+        }
+        for (int i = 0; i < types.length; i++) {
+            for (Object constant : types[i].getEnumConstants()) {
+                int ordinal = ((Enum<?>) constant).ordinal();
+                if ((masks[i][ordinal >>> 6] & (1L << ordinal)) != 0) {
+                    builder.append(separator).append(constant);
+                    separator = ", ";
+                }
+            }
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -43,4 +43,29 @@ public enum ModelUpdates implements ModelUpdate {
      * react to these model updates.
      */
     ALL;
+
+    /**
+     * Shared argument array for {@link DefaultBindableModel#update()} and friends, so plain
+     * updates don't allocate a varargs array.  Bindings must not modify the arrays they are
+     * passed.
+     */
+    static final ModelUpdates[] UNSPECIFIED_ONLY = { UNSPECIFIED };
+
+    /**
+     * Shared argument array for full syncs such as {@link Bindings#updateAll()}.
+     */
+    static final ModelUpdates[] ALL_ONLY = { ALL };
+
+    /**
+     * Returns whether the passed updates include {@link #ALL}, in which case bindings should
+     * push their values even if they believe them already shown.
+     */
+    public static boolean containsAll(Object[] updates) {
+        for (Object update : updates) {
+            if (update == ALL) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -14,9 +14,12 @@
 package com.palantir.ptoss.cinch.core;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import com.google.common.base.Function;
+import com.palantir.ptoss.util.Invoker;
+import com.palantir.ptoss.util.Invokers;
 
 /**
  * A simple tuple of an object, a field on that object's class, and a method of that object's class.
@@ -35,6 +38,7 @@ public class ObjectFieldMethod {
     private final Object object;
     private final Field field;
     private final Method method;
+    private volatile Invoker invoker;
 
     /**
      * Constructs a tuple of an object, a field on that object, and a method on that object.
@@ -43,9 +47,21 @@ public class ObjectFieldMethod {
      * @param method
      */
     public ObjectFieldMethod(Object object, Field field, Method method) {
+        this(object, field, method, null);
+    }
+
+    /**
+     * Constructs a tuple with an already created {@link Invoker} for the method.
+     * @param object
+     * @param field
+     * @param method
+     * @param invoker invoker for <code>method</code>, or null to create one on first use
+     */
+    public ObjectFieldMethod(Object object, Field field, Method method, Invoker invoker) {
         this.object = object;
         this.field = field;
         this.method = method;
+        this.invoker = invoker;
     }
 
     public Object getObject() {
@@ -60,6 +76,26 @@ public class ObjectFieldMethod {
         return method;
     }
 
+    /**
+     * Returns the {@link Invoker} used to call the method, creating it if needed.
+     * @see Invokers#forMethod(Method)
+     */
+    public Invoker getInvoker() {
+        Invoker result = invoker;
+        if (result == null) {
+            result = Invokers.forMethod(method);
+            invoker = result;
+        }
+        return result;
+    }
+
+    /**
+     * Calls the parameterless method on the tuple's object.
+     */
+    public Object invoke() throws IllegalAccessException, InvocationTargetException {
+        return getInvoker().invoke(object);
+    }
+
     @Override
     public String toString() {
         StringBuilder out = new StringBuilder("(");
@@ -0,0 +1,82 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.io.Serializable;
+
+/**
+ * A counter that a {@link VersionedModel} bumps each time one of its properties changes.
+ * Bindings keep a {@link Tracker} and skip reading the property, and comparing what it
+ * returns, when the version hasn't moved since they last showed it.
+ */
+public final class PropertyVersion implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private volatile long version;
+
+    /**
+     * Returns the current version.
+     */
+    public long get() {
+        return version;
+    }
+
+    synchronized void bump() {
+        version++;
+    }
+
+    /**
+     * Returns a tracker for a binding that shows this property.
+     */
+    public Tracker tracker() {
+        return new Tracker(this);
+    }
+
+    /**
+     * Remembers which version of a property a binding last showed.  A binding asks
+     * {@link #changed(Object[])} before reading the property and calls {@link #shown()} once
+     * it has shown it, so that a failed update is retried by the next one.
+     */
+    public static final class Tracker {
+        private final PropertyVersion version;
+        private long shown = -1;
+        private long checked = -1;
+
+        /**
+         * @param version the version to follow, or null for a property that isn't versioned
+         */
+        public Tracker(PropertyVersion version) {
+            this.version = version;
+        }
+
+        /**
+         * Returns whether the property may have changed since it was last shown.  Always true
+         * for a property that isn't versioned and for a full sync with {@link ModelUpdates#ALL}.
+         */
+        public boolean changed(Object[] updates) {
+            if (version == null) {
+                return true;
+            }
+            checked = version.get();
+            return checked != shown || ModelUpdates.containsAll(updates);
+        }
+
+        /**
+         * Records the version seen by the last {@link #changed(Object[])} as shown.
+         */
+        public void shown() {
+            shown = checked;
+        }
+    }
+}
@@ -20,17 +20,19 @@ import com.google.common.collect.ImmutableSet;
  * of that interface. Instead, implementors can override the {@link #onUpdate()} function for
  * their listener's behavior. Any "on" parameters can be passed in at creation time.
  */
-public abstract class SimpleBinding implements Binding {
+public abstract class SimpleBinding implements FilteredBinding {
 
-    private final ImmutableSet<Object> on;
+    private final ModelUpdateFilter on;
 
-    private ImmutableSet<Object> changed = ImmutableSet.of();
+    // the array passed to the last firing update; only copied if someone asks for it.
+    private Object[] changed = new Object[0];
+    private ImmutableSet<Object> lastChanged = ImmutableSet.of();
 
     /**
      * Default constructor that will fire on any model update.
      */
     public <T extends Enum<?> & ModelUpdate> SimpleBinding() {
-        this.on = ImmutableSet.of();
+        this.on = ModelUpdateFilter.ANY;
     }
 
     /**
@@ -40,26 +42,23 @@ public abstract class SimpleBinding implements Binding {
      * @param on
      */
     public <T extends Enum<?> & ModelUpdate> SimpleBinding(T... on) {
-        this.on = ImmutableSet.<Object>copyOf(on);
+        this.on = ModelUpdateFilter.of(on);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public ModelUpdateFilter getFilter() {
+        return on;
     }
 
     /**
      * {@inheritDoc}
      */
     public <T extends Enum<?> & ModelUpdate> void update(T... changes) {
-        boolean fire = false;
-        if (on.isEmpty()) {
-            fire = true;
-        } else {
-            for (T t : changes) {
-                if (t == ModelUpdates.ALL || on.contains(t)) {
-                    fire = true;
-                    break;
-                }
-            }
-        }
-        if (fire) {
-            this.changed = ImmutableSet.<Object>copyOf(changes);
+        if (on.matches(changes)) {
+            this.changed = changes;
+            this.lastChanged = null;
             onUpdate();
         }
     }
@@ -68,7 +67,10 @@ public abstract class SimpleBinding implements Binding {
      * Gets the set of {@link ModelUpdate}s that occurred on the last update.
      */
     public ImmutableSet<Object> getLastChanged() {
-        return changed;
+        if (lastChanged == null) {
+            lastChanged = ImmutableSet.copyOf(changed);
+        }
+        return lastChanged;
     }
 
     /**
@@ -0,0 +1,429 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Maps;
+
+/**
+ * <p>
+ * A model's subscribers, indexed by the {@link ModelUpdate} types they react to.
+ * {@link #dispatch} visits only the subscribers interested in an update, plus those that react
+ * to everything, in registration order and each at most once.
+ * </p>
+ * <p>
+ * Models keep the index up to date as subscribers come and go, the way {@link BindingRegistry}
+ * keeps their bindings: adding appends to the slots and to the buckets of the subscriber's
+ * types, growing them geometrically; removing only clears the slot, leaving a hole in the
+ * buckets that dispatch skips; and once at least half of the slots are clear the index is
+ * rebuilt from the live ones.  Adding and removing are therefore amortized O(1).
+ * </p>
+ * <p>
+ * Dispatch reads the arrays as they were when it started and doesn't hold the lock while it
+ * visits, so subscribers added meanwhile aren't visited, and those removed may or may not be.
+ * Arrays are only ever appended past what a dispatch has read, or replaced.
+ * </p>
+ * <p>
+ * The subscribers that react to {@link ModelUpdates#UNSPECIFIED} are also indexed by the
+ * property their filter names, for {@link #dispatchProperties}, and kept together for property
+ * updates narrowed by the {@link DependencyTracker}.
+ * </p>
+ */
+final class SubscriberIndex<E> {
+    private static final int MIN_CAPACITY = 8;
+    private static final int[] NONE = new int[0];
+
+    /**
+     * Called for every interested subscriber.
+     */
+    interface Visitor<E> {
+        void visit(E subscriber, Object[] changed);
+    }
+
+    /**
+     * The slots of some subscribers, in ascending order.
+     */
+    private static final class Bucket {
+        private int[] slots = new int[4];
+        private int size;
+
+        /**
+         * @return the number of slots copied to make room
+         */
+        int add(int slot) {
+            int moved = 0;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                moved = size;
+            }
+            slots[size++] = slot;
+            return moved;
+        }
+    }
+
+    private final Map<Object, Integer> positions = Maps.newIdentityHashMap();
+    private Object[] subscribers;
+    private ModelUpdateFilter[] filters;
+    // slots in use, including cleared ones.
+    private int length;
+    private Bucket wildcard;
+    private Map<Object, Bucket> byUpdate;
+    private Bucket unnamed;
+    private Map<String, Bucket> byProperty;
+    // every subscriber that reacts to UNSPECIFIED, named or not, for tracked property updates.
+    private Bucket unspecified;
+    // elements copied into new arrays, by growing or rebuilding; see #copied().
+    private long copied;
+
+    /**
+     * @param subscribers in registration order
+     * @param filters the filter of each subscriber
+     */
+    SubscriberIndex(E[] subscribers, ModelUpdateFilter[] filters) {
+        rebuild(subscribers, filters, subscribers.length);
+    }
+
+    private void rebuild(Object[] live, ModelUpdateFilter[] liveFilters, int count) {
+        int capacity = Math.max(count * 2, MIN_CAPACITY);
+        subscribers = new Object[capacity];
+        filters = new ModelUpdateFilter[capacity];
+        length = 0;
+        positions.clear();
+        wildcard = new Bucket();
+        byUpdate = Maps.newHashMap();
+        unnamed = new Bucket();
+        byProperty = Maps.newHashMap();
+        unspecified = new Bucket();
+        for (int i = 0; i < count; i++) {
+            append(live[i], liveFilters[i]);
+        }
+        copied += count;
+    }
+
+    private void append(Object subscriber, ModelUpdateFilter filter) {
+        if (length == subscribers.length) {
+            subscribers = Arrays.copyOf(subscribers, length * 2);
+            filters = Arrays.copyOf(filters, length * 2);
+            copied += length;
+        }
+        int slot = length++;
+        positions.put(subscriber, slot);
+        subscribers[slot] = subscriber;
+        filters[slot] = filter;
+        if (filter.matches(ModelUpdates.UNSPECIFIED_ONLY)) {
+            copied += unspecified.add(slot);
+            String property = filter.getProperty();
+            if (property == null) {
+                copied += unnamed.add(slot);
+            } else {
+                copied += bucket(byProperty, property).add(slot);
+            }
+        }
+        if (filter.isAny()) {
+            copied += wildcard.add(slot);
+        } else {
+            for (Object update : filter.getUpdates()) {
+                copied += bucket(byUpdate, update).add(slot);
+            }
+        }
+    }
+
+    private static <K> Bucket bucket(Map<K, Bucket> buckets, K key) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new Bucket();
+            buckets.put(key, bucket);
+        }
+        return bucket;
+    }
+
+    /**
+     * Adds the subscriber last, unless it is already present.
+     */
+    synchronized void add(E subscriber, ModelUpdateFilter filter) {
+        if (!positions.containsKey(subscriber)) {
+            append(subscriber, filter);
+        }
+    }
+
+    /**
+     * Removes the subscriber, compared by identity, if present.
+     */
+    synchronized void remove(Object subscriber) {
+        Integer position = positions.remove(subscriber);
+        if (position == null) {
+            return;
+        }
+        subscribers[position] = null;
+        if (length > MIN_CAPACITY && positions.size() <= length / 2) {
+            Object[] live = new Object[positions.size()];
+            ModelUpdateFilter[] liveFilters = new ModelUpdateFilter[live.length];
+            int count = 0;
+            for (int i = 0; i < length; i++) {
+                if (subscribers[i] != null) {
+                    liveFilters[count] = filters[i];
+                    live[count++] = subscribers[i];
+                }
+            }
+            rebuild(live, liveFilters, count);
+        }
+    }
+
+    /**
+     * Puts the replacement in the subscriber's place.  The replacement must react to the same
+     * updates.
+     */
+    synchronized void replace(Object subscriber, E replacement) {
+        Integer position = positions.remove(subscriber);
+        if (position != null) {
+            positions.put(replacement, position);
+            subscribers[position] = replacement;
+        }
+    }
+
+    /**
+     * Returns the number of elements copied into new arrays so far, growing or rebuilding the
+     * index.  Amortized O(1) upkeep keeps this proportional to the number of subscribers ever
+     * added.
+     */
+    synchronized long copied() {
+        return copied;
+    }
+
+    /**
+     * Returns the binding's filter, or {@link ModelUpdateFilter#ANY} if it doesn't say.
+     */
+    static ModelUpdateFilter filterOf(Binding binding) {
+        if (binding instanceof FilteredBinding) {
+            ModelUpdateFilter filter = ((FilteredBinding) binding).getFilter();
+            if (filter != null) {
+                return filter;
+            }
+        }
+        return ModelUpdateFilter.ANY;
+    }
+
+    void dispatch(Object[] changed, Visitor<? super E> visitor) {
+        for (Object update : changed) {
+            if (update == ModelUpdates.ALL) {
+                Object[] all;
+                int end;
+                synchronized (this) {
+                    all = subscribers;
+                    end = length;
+                }
+                for (int i = 0; i < end; i++) {
+                    visit(all[i], changed, visitor);
+                }
+                return;
+            }
+        }
+        if (changed.length == 1) {
+            Object[] all;
+            int[] first;
+            int firstEnd;
+            int[] second;
+            int secondEnd;
+            synchronized (this) {
+                all = subscribers;
+                first = wildcard.slots;
+                firstEnd = wildcard.size;
+                Bucket bucket = byUpdate.get(changed[0]);
+                second = bucket == null ? NONE : bucket.slots;
+                secondEnd = bucket == null ? 0 : bucket.size;
+            }
+            merge(all, first, firstEnd, second, secondEnd, changed, visitor);
+            return;
+        }
+        Bucket[] buckets = new Bucket[changed.length + 1];
+        Object[] all;
+        int[][] lists = new int[buckets.length][];
+        int[] ends = new int[buckets.length];
+        synchronized (this) {
+            all = subscribers;
+            buckets[0] = wildcard;
+            for (int i = 0; i < changed.length; i++) {
+                buckets[i + 1] = byUpdate.get(changed[i]);
+            }
+            read(buckets, lists, ends);
+        }
+        merge(all, lists, ends, lists.length, changed, visitor);
+    }
+
+    /**
+     * Visits the subscribers that react to {@link ModelUpdates#UNSPECIFIED} and either show one
+     * of the properties or don't name a property, passing them a plain unspecified update.
+     * @param dependents if not null, selects the subscribers to visit besides those that show
+     * one of the properties, from all that react to {@link ModelUpdates#UNSPECIFIED} rather
+     * than only those that don't name a property
+     */
+    void dispatchProperties(String[] properties, Predicate<? super E> dependents, Visitor<? super E> visitor) {
+        if (properties.length == 1 && dependents == null) {
+            Object[] all;
+            int[] first;
+            int firstEnd;
+            int[] second;
+            int secondEnd;
+            synchronized (this) {
+                all = subscribers;
+                first = unnamed.slots;
+                firstEnd = unnamed.size;
+                Bucket bucket = byProperty.get(properties[0]);
+                second = bucket == null ? NONE : bucket.slots;
+                secondEnd = bucket == null ? 0 : bucket.size;
+            }
+            merge(all, first, firstEnd, second, secondEnd, ModelUpdates.UNSPECIFIED_ONLY, visitor);
+            return;
+        }
+        Bucket[] buckets = new Bucket[properties.length + 1];
+        Object[] all;
+        int[][] lists = new int[buckets.length][];
+        int[] ends = new int[buckets.length];
+        synchronized (this) {
+            all = subscribers;
+            buckets[0] = dependents == null ? unnamed : unspecified;
+            for (int i = 0; i < properties.length; i++) {
+                buckets[i + 1] = byProperty.get(properties[i]);
+            }
+            read(buckets, lists, ends);
+        }
+        if (dependents != null) {
+            select(all, lists, ends, 0, dependents);
+        }
+        merge(all, lists, ends, lists.length, ModelUpdates.UNSPECIFIED_ONLY, visitor);
+    }
+
+    /**
+     * Visits, each once, the subscribers that {@link #dispatch} would visit for the types and
+     * {@link #dispatchProperties} for the properties.  Those reached through one of the types are
+     * passed the types, the others a plain unspecified update.
+     */
+    void dispatch(Object[] changed, String[] properties, Predicate<? super E> dependents,
+            Visitor<? super E> visitor) {
+        for (Object update : changed) {
+            if (update == ModelUpdates.ALL) {
+                dispatch(changed, visitor);
+                return;
+            }
+        }
+        int typed = changed.length + 1;
+        Bucket[] buckets = new Bucket[typed + properties.length + 1];
+        Object[] all;
+        int[][] lists = new int[buckets.length][];
+        int[] ends = new int[buckets.length];
+        synchronized (this) {
+            all = subscribers;
+            buckets[0] = wildcard;
+            for (int i = 0; i < changed.length; i++) {
+                buckets[i + 1] = byUpdate.get(changed[i]);
+            }
+            buckets[typed] = dependents == null ? unnamed : unspecified;
+            for (int i = 0; i < properties.length; i++) {
+                buckets[typed + i + 1] = byProperty.get(properties[i]);
+            }
+            read(buckets, lists, ends);
+        }
+        if (dependents != null) {
+            select(all, lists, ends, typed, dependents);
+        }
+        merge(all, lists, ends, typed, changed, visitor);
+    }
+
+    /**
+     * Reads the slots and sizes of the buckets, any of which may be null; called with the lock
+     * held.
+     */
+    private static void read(Bucket[] buckets, int[][] lists, int[] ends) {
+        for (int i = 0; i < buckets.length; i++) {
+            lists[i] = buckets[i] == null ? NONE : buckets[i].slots;
+            ends[i] = buckets[i] == null ? 0 : buckets[i].size;
+        }
+    }
+
+    /**
+     * Replaces the list at <code>which</code> with the slots of the subscribers the filter
+     * accepts.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> void select(Object[] all, int[][] lists, int[] ends, int which,
+            Predicate<? super E> filter) {
+        int[] selected = new int[ends[which]];
+        int count = 0;
+        for (int i = 0; i < ends[which]; i++) {
+            int slot = lists[which][i];
+            if (all[slot] != null && filter.apply((E) all[slot])) {
+                selected[count++] = slot;
+            }
+        }
+        lists[which] = selected;
+        ends[which] = count;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> void visit(Object subscriber, Object[] changed, Visitor<? super E> visitor) {
+        if (subscriber != null) {
+            visitor.visit((E) subscriber, changed);
+        }
+    }
+
+    /**
+     * Visits the subscribers in any of the sorted lists, in order and each once.  Subscribers
+     * found only in the lists from <code>typed</code> on are passed a plain unspecified update
+     * instead of the changed types.
+     */
+    private static <E> void merge(Object[] all, int[][] lists, int[] ends, int typed, Object[] changed,
+            Visitor<? super E> visitor) {
+        int[] positions = new int[lists.length];
+        while (true) {
+            int next = Integer.MAX_VALUE;
+            for (int i = 0; i < lists.length; i++) {
+                if (positions[i] < ends[i] && lists[i][positions[i]] < next) {
+                    next = lists[i][positions[i]];
+                }
+            }
+            if (next == Integer.MAX_VALUE) {
+                return;
+            }
+            boolean reachedByType = false;
+            for (int i = 0; i < lists.length; i++) {
+                if (positions[i] < ends[i] && lists[i][positions[i]] == next) {
+                    positions[i]++;
+                    reachedByType |= i < typed;
+                }
+            }
+            SubscriberIndex.<E>visit(all[next], reachedByType ? changed : ModelUpdates.UNSPECIFIED_ONLY, visitor);
+        }
+    }
+
+    /**
+     * The single-type or single-property case: a two-way merge that doesn't allocate.
+     */
+    private static <E> void merge(Object[] all, int[] first, int firstEnd, int[] second, int secondEnd,
+            Object[] changed, Visitor<? super E> visitor) {
+        int i = 0;
+        int j = 0;
+        while (i < firstEnd || j < secondEnd) {
+            int next;
+            if (j == secondEnd || (i < firstEnd && first[i] < second[j])) {
+                next = first[i++];
+            } else {
+                next = second[j++];
+            }
+            SubscriberIndex.<E>visit(all[next], changed, visitor);
+        }
+    }
+}
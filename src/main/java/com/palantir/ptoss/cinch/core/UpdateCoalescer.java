@@ -0,0 +1,120 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Collects the {@link ModelUpdate} types raised on a model and delivers their union once, in a
+ * later turn of the Swing event loop.  Used by the coalescing mode of {@link DefaultBindableModel}
+ * and {@link WeakBindableModelSupport}.
+ */
+abstract class UpdateCoalescer {
+    private final Set<Object> pending = new LinkedHashSet<Object>();
+    private final Set<String> pendingProperties = new LinkedHashSet<String>();
+    private boolean scheduled;
+
+    private final Runnable flush = new Runnable() {
+        public void run() {
+            flush();
+        }
+    };
+
+    /**
+     * Delivers the union of the pending types, and a plain update for the pending properties,
+     * to the model's bindings, updating each interested binding once; see
+     * {@link SubscriberIndex#dispatch(Object[], String[], com.google.common.base.Predicate,
+     * SubscriberIndex.Visitor)}.
+     * @param changed the pending types, or null if there are none
+     * @param properties the pending properties, or null if there are none
+     */
+    protected abstract void dispatch(Object[] changed, String[] properties);
+
+    /**
+     * Adds the types to the pending set, scheduling a flush if one isn't already scheduled.
+     */
+    synchronized void add(Object[] changed) {
+        Collections.addAll(pending, changed);
+        schedule();
+    }
+
+    /**
+     * Adds the properties to the pending set, scheduling a flush if one isn't already scheduled.
+     */
+    synchronized void addProperties(String[] properties) {
+        Collections.addAll(pendingProperties, properties);
+        schedule();
+    }
+
+    private void schedule() {
+        if (!scheduled) {
+            scheduled = true;
+            SwingUtilities.invokeLater(flush);
+        }
+    }
+
+    /**
+     * Delivers anything pending now rather than waiting for the scheduled flush.
+     */
+    void flush() {
+        final Object[] changed;
+        final String[] properties;
+        synchronized (this) {
+            scheduled = false;
+            // a plain update already reaches every binding a property update would.
+            if (pending.contains(ModelUpdates.UNSPECIFIED) || pending.contains(ModelUpdates.ALL)) {
+                pendingProperties.clear();
+            }
+            changed = pending.isEmpty() ? null : toUpdates(pending);
+            properties = pendingProperties.isEmpty() ? null : pendingProperties.toArray(new String[0]);
+            pending.clear();
+            pendingProperties.clear();
+        }
+        if (changed != null || properties != null) {
+            dispatch(changed, properties);
+        }
+    }
+
+    /**
+     * Copies the types into an array that can be passed to {@link Binding#update}.
+     */
+    static Object[] toUpdates(Set<Object> changed) {
+        return changed.toArray(new Enum<?>[changed.size()]);
+    }
+
+    /**
+     * Calls {@link Binding#update} with an array built by {@link #toUpdates(Set)}, whose types
+     * may come from more than one {@link ModelUpdate} enum.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Enum<?> & ModelUpdate> void update(Binding binding, Object[] changed) {
+        binding.update((T[]) changed);
+    }
+
+    /**
+     * As {@link #update(Binding, Object[])}, recording the binding's reads for the
+     * {@link DependencyTracker} if the model being updated tracks dependencies.
+     */
+    static void update(Binding binding, Object[] changed, boolean tracked) {
+        if (tracked) {
+            DependencyTracker.update(binding, changed);
+        } else {
+            update(binding, changed);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+/**
+ * <p>
+ * A {@link DefaultBindableModel} whose subclasses can version some of their properties.  A
+ * versioned property is declared once with {@link #versioned(String...)}, and every change to it
+ * must call {@link #changed(String...)} before the update is fired, for example:
+ * <pre>
+ * public void setItems(List&lt;Item&gt; items) {
+ *     this.items = items;
+ *     changed("items");
+ *     update();
+ * }
+ * </pre>
+ * <p>
+ * Bindings to a versioned property skip it entirely on updates that didn't change it, which
+ * saves re-reading and comparing large values such as lists.  Notification itself works just
+ * as in {@link DefaultBindableModel}; properties that aren't declared are read on every update.
+ */
+public class VersionedBindableModel extends DefaultBindableModel implements VersionedModel {
+    private final Map<String, PropertyVersion> versions = Maps.newConcurrentMap();
+
+    /**
+     * Declares properties as versioned.  Call this from the constructor, before the model is
+     * bound.
+     */
+    protected final void versioned(String... properties) {
+        for (String property : properties) {
+            if (!versions.containsKey(property)) {
+                versions.put(property, new PropertyVersion());
+            }
+        }
+    }
+
+    /**
+     * Records that the properties changed.  They must have been declared
+     * {@link #versioned(String...) versioned}.
+     */
+    protected final void changed(String... properties) {
+        for (String property : properties) {
+            PropertyVersion version = versions.get(property);
+            if (version == null) {
+                throw new IllegalArgumentException("property is not versioned: " + property);
+            }
+            version.bump();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public PropertyVersion getPropertyVersion(String property) {
+        return versions.get(property);
+    }
+}
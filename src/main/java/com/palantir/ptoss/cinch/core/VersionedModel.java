@@ -0,0 +1,26 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+/**
+ * A {@link BindableModel} that keeps a {@link PropertyVersion} for some of its properties, so
+ * that bindings can tell whether a property changed without reading it.
+ * @see VersionedBindableModel
+ */
+public interface VersionedModel extends BindableModel {
+    /**
+     * Returns the version counter of the property, or null if it isn't versioned.
+     */
+    PropertyVersion getPropertyVersion(String property);
+}
@@ -0,0 +1,192 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Releases the bindings of views that become unreachable without being disposed; see
+ * {@link Bindings#setReleasingUnreachable(boolean)}.  A daemon thread waits on a
+ * {@link ReferenceQueue} for the views to be collected, the way a
+ * <code>java.lang.ref.Cleaner</code> would, and unbinds their stand-ins from the models.
+ * <p>
+ * Nothing here can hold the bindings for exactly as long as the view: they refer to the view,
+ * so anything that held them strongly would keep the view reachable too.  Instead it watches
+ * the scope of each view, and warns when the scope is collected while the view is still
+ * reachable, leaving the view with no bindings.
+ */
+final class ViewReaper {
+    private static final Logger logger = LoggerFactory.getLogger(ViewReaper.class);
+
+    private static final ReferenceQueue<Object> COLLECTED = new ReferenceQueue<Object>();
+
+    // the phantom references must stay reachable until they're enqueued.
+    private static final Set<ViewReference> LIVE =
+            Collections.newSetFromMap(new ConcurrentHashMap<ViewReference, Boolean>());
+
+    private static Thread reaper;
+
+    private ViewReaper() {
+        // static only
+    }
+
+    /**
+     * A bound view, and what has to be unbound once it's collected.  Doesn't refer to the view
+     * or its bindings, only to the models and the weak stand-ins they hold.
+     */
+    static final class ViewReference extends PhantomReference<Object> {
+        final String viewClass;
+        final long boundAt;
+        final ImmutableList<DefaultBindableModel> models;
+        final ImmutableList<Binding> standIns;
+        final ScopeReference scope;
+
+        // set once the scope was collected before the view.
+        volatile boolean orphaned;
+
+        ViewReference(Object view, BindingScope scope, List<DefaultBindableModel> models, List<Binding> standIns) {
+            super(view, COLLECTED);
+            this.viewClass = view.getClass().getName();
+            this.boundAt = System.currentTimeMillis();
+            this.models = ImmutableList.copyOf(models);
+            this.standIns = ImmutableList.copyOf(standIns);
+            this.scope = new ScopeReference(scope, view, this);
+        }
+
+        void release() {
+            for (int i = 0; i < standIns.size(); i++) {
+                models.get(i).unbind(standIns.get(i));
+            }
+        }
+    }
+
+    /**
+     * The scope of a view, which holds its bindings.  Enqueued when nothing holds the
+     * {@link Bindings} or the scope any more.
+     */
+    static final class ScopeReference extends WeakReference<Object> {
+        private final WeakReference<Object> view;
+        private final ViewReference reference;
+
+        ScopeReference(BindingScope scope, Object view, ViewReference reference) {
+            super(scope, COLLECTED);
+            this.view = new WeakReference<Object>(view);
+            this.reference = reference;
+        }
+
+        /**
+         * Called once the scope is collected.  The view would have been cleared along with it if
+         * it had become unreachable too, so if it's still here its bindings went first, and the
+         * stand-ins left on the models are released now rather than when the view goes.
+         */
+        void collected() {
+            if (view.get() != null && LIVE.contains(reference)) {
+                reference.release();
+                reference.orphaned = true;
+                logger.warn("the bindings of a {} were collected while it is still reachable; "
+                        + "hold its Bindings in a field of the view", reference.viewClass);
+            }
+        }
+    }
+
+    /**
+     * Has the models of the scope hold its bindings weakly, and unbinds them once the view is
+     * collected.  Only {@link DefaultBindableModel}s hold their bindings strongly to begin with;
+     * bindings on other models are left as they are.
+     * @return the reference to {@link #unregister(ViewReference)} once the scope is disposed
+     */
+    static ViewReference register(Object view, BindingScope scope) {
+        List<DefaultBindableModel> models = Lists.newArrayList();
+        List<Binding> standIns = Lists.newArrayList();
+        for (BindableModel model : scope.getModels()) {
+            if (!(model instanceof DefaultBindableModel)) {
+                continue;
+            }
+            DefaultBindableModel defaultModel = (DefaultBindableModel) model;
+            for (Binding binding : scope.getBindings()) {
+                Binding standIn = defaultModel.bindWeakly(binding);
+                if (standIn != null) {
+                    models.add(defaultModel);
+                    standIns.add(standIn);
+                }
+            }
+        }
+        ViewReference reference = new ViewReference(view, scope, models, standIns);
+        LIVE.add(reference);
+        start();
+        return reference;
+    }
+
+    /**
+     * Stops watching a view whose scope was disposed.  Its bindings are already unbound, stand-ins
+     * included, so there's nothing left to release.
+     */
+    static void unregister(ViewReference reference) {
+        if (LIVE.remove(reference)) {
+            reference.clear();
+            reference.scope.clear();
+        }
+    }
+
+    /**
+     * Returns the views registered that haven't been collected yet.
+     */
+    static List<ViewReference> live() {
+        return ImmutableList.copyOf(LIVE);
+    }
+
+    private static synchronized void start() {
+        if (reaper != null) {
+            return;
+        }
+        reaper = new Thread("Cinch binding reaper") {
+            @Override
+            public void run() {
+                while (true) {
+                    try {
+                        Reference<?> next = COLLECTED.remove();
+                        if (next instanceof ScopeReference) {
+                            ((ScopeReference) next).collected();
+                            continue;
+                        }
+                        ViewReference collected = (ViewReference) next;
+                        LIVE.remove(collected);
+                        collected.clear();
+                        collected.scope.clear();
+                        collected.release();
+                    } catch (InterruptedException e) {
+                        return;
+                    } catch (RuntimeException e) {
+                        logger.error("could not release the bindings of a collected view", e);
+                    }
+                }
+            }
+        };
+        reaper.setDaemon(true);
+        reaper.start();
+    }
+}
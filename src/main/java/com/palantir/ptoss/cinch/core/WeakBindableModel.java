@@ -13,10 +13,10 @@
 //   limitations under the License.
 package com.palantir.ptoss.cinch.core;
 
-import java.util.List;
+import java.util.Set;
 
 import com.google.common.base.Objects;
-import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 /**
  * <p>
@@ -33,10 +33,10 @@ public class WeakBindableModel implements BindableModel {
      */
     private final WeakBindableModelSupport support = new WeakBindableModelSupport();
     /**
-     * List of strong bindings.  This {@link List} holds strong references to all
-     * of the {@link Binding} objects passed to this model.
+     * Strong references to the {@link Binding} objects bound with
+     * {@link #bindStrongly(Binding)}, by identity.
      */
-    private final List<Binding> strongBindings = Lists.newArrayList();
+    private final Set<Binding> strongBindings = Sets.newIdentityHashSet();
 
     /**
      * Binds this model to some component with a {@link Binding} object.  This method is called by
@@ -65,6 +65,21 @@ public class WeakBindableModel implements BindableModel {
         support.modelUpdated(changed);
     }
 
+    /**
+     * Turns coalescing of updates on or off.
+     * @see WeakBindableModelSupport#setCoalescingUpdates(boolean)
+     */
+    public void setCoalescingUpdates(boolean coalesce) {
+        support.setCoalescingUpdates(coalesce);
+    }
+
+    /**
+     * Returns whether updates are being coalesced.
+     */
+    public boolean isCoalescingUpdates() {
+        return support.isCoalescingUpdates();
+    }
+
     /**
      * Fires a model update if the old and new values are different.
      * @param oldValue original value to be compared
@@ -86,6 +101,46 @@ public class WeakBindableModel implements BindableModel {
         support.update();
     }
 
+    /**
+     * Notifies only the bindings of the named property, and those that don't name one.
+     * @see DefaultBindableModel#updateProperty(String)
+     */
+    public void updateProperty(String property) {
+        support.updateProperties(property);
+    }
+
+    /**
+     * Notifies only the bindings of the named properties, and those that don't name one.
+     * @see DefaultBindableModel#updateProperties(String...)
+     */
+    public void updateProperties(String... properties) {
+        support.updateProperties(properties);
+    }
+
+    /**
+     * Turns dependency tracking on or off.
+     * @see DefaultBindableModel#setTrackingDependencies(boolean)
+     */
+    public void setTrackingDependencies(boolean track) {
+        support.setTrackingDependencies(track);
+    }
+
+    /**
+     * Returns whether dependencies are tracked.
+     */
+    public boolean isTrackingDependencies() {
+        return support.isTrackingDependencies();
+    }
+
+    /**
+     * Reports that the property was read, when tracking dependencies.  Call this from the
+     * property's getter.
+     * @see DefaultBindableModel#read(String)
+     */
+    protected final void read(String property) {
+        support.read(property);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -13,12 +13,13 @@
 //   limitations under the License.
 package com.palantir.ptoss.cinch.core;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.List;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentMap;
 
-import com.google.common.collect.Sets;
+import com.google.common.base.Predicate;
+import com.google.common.collect.MapMaker;
 
 /**
  * A stand-alone implementation of {@link BindableModel}.  Uses {@link WeakReference}s to
@@ -27,67 +28,285 @@ import com.google.common.collect.Sets;
 public class WeakBindableModelSupport implements BindableModel {
 
     // It's possible for a binding to kick off a chain of events that culminates in the
-    // addition of new bindings which can throw a CME when iterating in #modelUpdated.
-    // We'll use a CopyOnWriteArrayList instead.  This seems like a good compromise since
-    // the number of reads of this list is likely to far outweigh the number of writes.
-    private final List<WeakReference<Binding>> bindings = new CopyOnWriteArrayList<WeakReference<Binding>>();
+    // addition of new bindings while #modelUpdated is iterating; the registry's iterators
+    // don't see additions, so that's safe.
+    private final BindingRegistry<FilteredReference> bindings = new BindingRegistry<FilteredReference>();
+
+    // finds the reference of a binding for #unbind; weak keys compare by identity.
+    private final ConcurrentMap<Binding, FilteredReference> references = new MapMaker().weakKeys().makeMap();
+
+    // built on the first update, then kept up to date as bindings come and go.
+    private volatile SubscriberIndex<WeakReference<Binding>> index;
+
+    // references whose bindings have been collected, removed from the registry on the next
+    // bind, unbind or update.
+    private final ReferenceQueue<Binding> collected = new ReferenceQueue<Binding>();
+
+    private volatile UpdateCoalescer coalescer;
+
+    private volatile boolean trackingDependencies;
+
+    private final SubscriberIndex.Visitor<WeakReference<Binding>> update =
+            new SubscriberIndex.Visitor<WeakReference<Binding>>() {
+        public void visit(WeakReference<Binding> weakBinding, Object[] changed) {
+            final Binding binding = weakBinding.get();
+            if (binding != null) {
+                UpdateCoalescer.update(binding, changed, trackingDependencies);
+            }
+        }
+    };
+
+    private final SubscriberIndex.Visitor<WeakReference<Binding>> defer =
+            new SubscriberIndex.Visitor<WeakReference<Binding>>() {
+        public void visit(WeakReference<Binding> weakBinding, Object[] changed) {
+            final Binding binding = weakBinding.get();
+            if (binding != null) {
+                ModelTransactions.defer(binding, changed, trackingDependencies);
+            }
+        }
+    };
+
+    /**
+     * A weak reference that remembers the filter of the binding it refers to, since that's
+     * needed to index it after the binding itself may have gone.
+     */
+    private static final class FilteredReference extends WeakReference<Binding> {
+        private final ModelUpdateFilter filter;
+
+        FilteredReference(Binding binding, ReferenceQueue<Binding> queue) {
+            super(binding, queue);
+            this.filter = SubscriberIndex.filterOf(binding);
+        }
+    }
 
     /**
      * {@inheritDoc}
      */
     public void bind(final Binding binding) {
-        bindings.add(new WeakReference<Binding>(binding));
+        expunge();
+        FilteredReference reference = new FilteredReference(binding, collected);
+        if (references.putIfAbsent(binding, reference) == null) {
+            synchronized (this) {
+                SubscriberIndex<WeakReference<Binding>> current = index;
+                if (bindings.add(reference) && current != null) {
+                    current.add(reference, reference.filter);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the references whose bindings have been collected.  Doesn't allocate, costs
+     * nothing when there are none, and amortized O(1) for each one reclaimed, since neither the
+     * registry nor the index rewrites itself on every removal.
+     */
+    private void expunge() {
+        Reference<? extends Binding> reference;
+        while ((reference = collected.poll()) != null) {
+            remove((FilteredReference) reference);
+        }
+    }
+
+    private synchronized void remove(FilteredReference reference) {
+        SubscriberIndex<WeakReference<Binding>> current = index;
+        if (bindings.remove(reference) && current != null) {
+            current.remove(reference);
+        }
+    }
+
+    /**
+     * Returns the number of bindings held, including any collected but not yet removed.
+     */
+    int size() {
+        return bindings.size();
+    }
+
+    /**
+     * Returns the elements the subscriber index has copied keeping up with the bindings, or 0 if
+     * it hasn't been built.
+     */
+    long indexCopies() {
+        SubscriberIndex<WeakReference<Binding>> current = index;
+        return current == null ? 0 : current.copied();
+    }
+
+    private SubscriberIndex<WeakReference<Binding>> index() {
+        SubscriberIndex<WeakReference<Binding>> current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    @SuppressWarnings("unchecked")
+                    FilteredReference[] snapshot = bindings.toArray(new FilteredReference[0]);
+                    ModelUpdateFilter[] filters = new ModelUpdateFilter[snapshot.length];
+                    for (int i = 0; i < snapshot.length; i++) {
+                        filters[i] = snapshot[i].filter;
+                    }
+                    current = new SubscriberIndex<WeakReference<Binding>>(snapshot, filters);
+                    index = current;
+                }
+            }
+        }
+        return current;
     }
 
     /**
      * Shortcut call for a generic model update.
      */
     public void update() {
-        this.modelUpdated(ModelUpdates.UNSPECIFIED);
+        this.modelUpdated(ModelUpdates.UNSPECIFIED_ONLY);
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * When {@link #setCoalescingUpdates(boolean) coalescing} is on the update is delivered
+     * later, merged with any others raised before the next turn of the event loop.  Inside a
+     * {@link ModelTransactions transaction} it is delivered when the transaction closes.
      */
     public <T extends Enum<T> & ModelUpdate> void modelUpdated(final T... changed) {
-        final Set<WeakReference<Binding>> toRemove = Sets.newHashSet();
-        for (final WeakReference<Binding> weakBinding : bindings) {
-            final Binding binding = weakBinding.get();
-            if (binding != null) {
-                binding.update(changed);
-            } else {
-                toRemove.add(weakBinding);
+        UpdateCoalescer pending = coalescer;
+        if (pending != null && !ModelTransactions.isActive()) {
+            pending.add(changed);
+            return;
+        }
+        fire(changed);
+    }
+
+    /**
+     * Performs an unspecified update that only reaches the bindings of the named properties
+     * and those that don't name one.
+     * @see DefaultBindableModel#updateProperty(String)
+     */
+    public void updateProperties(String... properties) {
+        UpdateCoalescer pending = coalescer;
+        if (pending != null && !ModelTransactions.isActive()) {
+            pending.addProperties(properties);
+            return;
+        }
+        fireProperties(properties);
+    }
+
+    private Predicate<WeakReference<Binding>> dependents(final String[] properties) {
+        if (!trackingDependencies) {
+            return null;
+        }
+        return new Predicate<WeakReference<Binding>>() {
+            public boolean apply(WeakReference<Binding> weakBinding) {
+                Binding binding = weakBinding.get();
+                return binding != null
+                        && DependencyTracker.dependsOn(binding, WeakBindableModelSupport.this, properties);
             }
+        };
+    }
+
+    private void fireProperties(final String[] properties) {
+        expunge();
+        index().dispatchProperties(properties, dependents(properties), visitor());
+    }
+
+    /**
+     * Turns dependency tracking on or off.
+     * @see DefaultBindableModel#setTrackingDependencies(boolean)
+     */
+    public void setTrackingDependencies(boolean track) {
+        trackingDependencies = track;
+    }
+
+    /**
+     * Returns whether dependencies are tracked.
+     */
+    public boolean isTrackingDependencies() {
+        return trackingDependencies;
+    }
+
+    /**
+     * Reports that the property was read, when tracking dependencies.
+     * @see DefaultBindableModel#read(String)
+     */
+    public void read(String property) {
+        if (trackingDependencies) {
+            DependencyTracker.read(this, property);
         }
-        if (!toRemove.isEmpty()) {
-            bindings.removeAll(toRemove);
+    }
+
+    private void fire(final Object[] changed) {
+        expunge();
+        index().dispatch(changed, visitor());
+    }
+
+    /**
+     * Returns the visitor that delivers updates now, or defers them to the open transaction.
+     */
+    private SubscriberIndex.Visitor<WeakReference<Binding>> visitor() {
+        return ModelTransactions.isActive() ? defer : update;
+    }
+
+    /**
+     * Updates the bindings of the types and of the properties, each once; either may be null.
+     */
+    private void fire(Object[] changed, String[] properties) {
+        if (properties == null) {
+            fire(changed);
+            return;
         }
+        if (changed == null) {
+            fireProperties(properties);
+            return;
+        }
+        expunge();
+        index().dispatch(changed, properties, dependents(properties), visitor());
     }
 
     /**
-     * {@inheritDoc}
+     * Turns coalescing of updates on or off.  While on, bindings are updated once per turn of
+     * the Swing event loop with the union of the types raised since the last one.  Turning
+     * coalescing off delivers any pending updates immediately.
      */
-    public void unbind(Binding toUnbind) {
-        final Set<WeakReference<Binding>> toRemove = Sets.newHashSet();
-        for (final WeakReference<Binding> weakBinding : bindings) {
-            final Binding binding = weakBinding.get();
-            if (binding != null) {
-                if (toUnbind.equals(binding)) {
-                    toRemove.add(weakBinding);
-                }
-            } else {
-                toRemove.add(weakBinding);
+    public void setCoalescingUpdates(boolean coalesce) {
+        UpdateCoalescer previous;
+        synchronized (this) {
+            previous = coalescer;
+            if (coalesce == (previous != null)) {
+                return;
             }
+            coalescer = coalesce ? new UpdateCoalescer() {
+                @Override
+                protected void dispatch(Object[] changed, String[] properties) {
+                    fire(changed, properties);
+                }
+            } : null;
+        }
+        if (previous != null) {
+            previous.flush();
         }
-        if (!toRemove.isEmpty()) {
-            bindings.removeAll(toRemove);
+    }
+
+    /**
+     * Returns whether updates are being coalesced.
+     * @see #setCoalescingUpdates(boolean)
+     */
+    public boolean isCoalescingUpdates() {
+        return coalescer != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void unbind(Binding toUnbind) {
+        expunge();
+        FilteredReference reference = references.remove(toUnbind);
+        if (reference != null) {
+            remove(reference);
         }
     }
 
     /**
      * Removes all bindings from this model.
      */
-    public void unbindAll() {
+    public synchronized void unbindAll() {
         bindings.clear();
+        references.clear();
+        index = null;
     }
 }
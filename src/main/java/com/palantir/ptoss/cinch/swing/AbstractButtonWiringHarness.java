@@ -28,7 +28,9 @@ import com.google.common.collect.ImmutableList;
 import com.palantir.ptoss.cinch.core.BindableModel;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
 import com.palantir.ptoss.cinch.core.WiringHarness;
 import com.palantir.ptoss.cinch.swing.Bound.Wiring;
 import com.palantir.ptoss.util.Mutator;
@@ -44,12 +46,19 @@ public class AbstractButtonWiringHarness implements WiringHarness<Bound, Field>
             throws IllegalAccessException, IntrospectionException {
         Mutator mutator = Mutator.create(context, bound.to());
         AbstractButton abstractButton = context.getFieldObject(field, AbstractButton.class);
-        return ImmutableList.of(bindAbstractButton(mutator, abstractButton));
+        ModelUpdateFilter filter = ModelUpdateFilter.of(BindingContext.getOnObjects(bound.on(), mutator.getModel()))
+                .withProperty(BindingContext.getPropertyName(bound.to()));
+        return ImmutableList.of(bindAbstractButton(mutator, abstractButton, filter));
     }
 
     public static Binding bindAbstractButton(
             final Mutator mutator, final AbstractButton abstractButton) {
-    	abstractButton.addActionListener(new ActionListener() {
+        return bindAbstractButton(mutator, abstractButton, ModelUpdateFilter.ANY);
+    }
+
+    public static Binding bindAbstractButton(
+            final Mutator mutator, final AbstractButton abstractButton, final ModelUpdateFilter filter) {
+        final ActionListener listener = new ActionListener() {
             public void actionPerformed(ActionEvent e) {
                 try {
                     mutator.set(abstractButton.isSelected());
@@ -57,15 +66,31 @@ public class AbstractButtonWiringHarness implements WiringHarness<Bound, Field>
                     Wiring.logger.error("exception in AbstractButton binding", ex);
                 }
             }
-        });
-        Binding binding = new Binding() {
+        };
+        abstractButton.addActionListener(listener);
+        Binding binding = new DisposableBinding() {
+            public ModelUpdateFilter getFilter() {
+                return filter;
+            }
+
             public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                if (!filter.matches(changed)) {
+                    return;
+                }
                 try {
-                	abstractButton.setSelected((Boolean)mutator.get());
+                    boolean selected = (Boolean)mutator.get();
+                    if (abstractButton.isSelected() != selected) {
+                        abstractButton.setSelected(selected);
+                    }
                 } catch (Exception ex) {
                     Wiring.logger.error("exception in AbstractButton binding", ex);
                 }
             }
+
+            public void dispose() {
+                mutator.getModel().unbind(this);
+                abstractButton.removeActionListener(listener);
+            }
         };
         mutator.getModel().bind(binding);
         return binding;
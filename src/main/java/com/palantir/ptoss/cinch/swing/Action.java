@@ -31,7 +31,7 @@ import javax.swing.JTextField;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.palantir.ptoss.cinch.core.Bindable;
 import com.palantir.ptoss.cinch.core.BindableModel;
 import com.palantir.ptoss.cinch.core.Binding;
@@ -39,6 +39,7 @@ import com.palantir.ptoss.cinch.core.BindingContext;
 import com.palantir.ptoss.cinch.core.BindingException;
 import com.palantir.ptoss.cinch.core.BindingWiring;
 import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.ListenerRegistration;
 import com.palantir.ptoss.cinch.core.ObjectFieldMethod;
 
 /**
@@ -155,17 +156,18 @@ public @interface Action {
          */
         public Collection<Binding> wire(BindingContext context) {
             List<Field> actions = context.getAnnotatedFields(Action.class);
+            List<Binding> bindings = Lists.newArrayList();
             for (Field field : actions) {
                 Action action = field.getAnnotation(Action.class);
                 String call = action.call();
                 try {
-                    wire(call, field, context);
+                    bindings.add(wire(call, field, context));
                 } catch (Exception e) {
                     throw new BindingException("could not wire up @Action on " +
                             field.getName(), e);
                 }
             }
-            return ImmutableList.of();
+            return bindings;
         }
 
         /**
@@ -175,8 +177,9 @@ public @interface Action {
          * @param call name of an {@link ObjectFieldMethod} in the passed {@link BindingContext}.
          * @param field field to bind the call to.
          * @param context the {@link BindingContext}
+         * @return a registration that removes the listener
          */
-        private static void wire(String call, Field field, BindingContext context)
+        private static Binding wire(String call, Field field, BindingContext context)
                 throws SecurityException, NoSuchMethodException, IllegalArgumentException,
                         IllegalAccessException, InvocationTargetException {
             Method aalMethod = field.getType().getMethod("addActionListener", ActionListener.class);
@@ -185,13 +188,15 @@ public @interface Action {
             if (ofm == null) {
                 throw new BindingException("could not find bindable method: " + call);
             }
+            final ListenerRegistration.Removing registration =
+                    ListenerRegistration.removing(field.getType(), actionObject, ActionListener.class);
             ActionListener actionListener = new ActionListener() {
                 public void actionPerformed(ActionEvent e) {
+                    if (registration.isDisposed()) {
+                        return;
+                    }
                     try {
-                        boolean accessible = ofm.getMethod().isAccessible();
-                        ofm.getMethod().setAccessible(true);
-                        ofm.getMethod().invoke(ofm.getObject());
-                        ofm.getMethod().setAccessible(accessible);
+                        ofm.invoke();
                     } catch (InvocationTargetException itex) {
                         logger.error("exception during action firing", itex.getCause());
                     } catch (Exception ex) {
@@ -199,7 +204,8 @@ public @interface Action {
                     }
                 }
             };
-            aalMethod.invoke(actionObject, actionListener);
+            registration.add(aalMethod, actionListener);
+            return registration;
         }
     }
 }
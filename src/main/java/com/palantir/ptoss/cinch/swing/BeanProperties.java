@@ -0,0 +1,71 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.swing;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Maps;
+import com.palantir.ptoss.cinch.core.BindingException;
+import com.palantir.ptoss.util.Invoker;
+import com.palantir.ptoss.util.Invokers;
+
+/**
+ * Reads properties of the objects shown by a control, such as the rows of a table or the nodes
+ * of a tree, through their getters.  Invokers are resolved once per class and property.
+ */
+final class BeanProperties {
+    private BeanProperties() { /* */ }
+
+    private static final ClassValue<ConcurrentMap<String, Invoker>> GETTERS =
+            new ClassValue<ConcurrentMap<String, Invoker>>() {
+        @Override
+        protected ConcurrentMap<String, Invoker> computeValue(Class<?> type) {
+            return Maps.newConcurrentMap();
+        }
+    };
+
+    /**
+     * Returns an invoker for the getter of the passed property.
+     * @throws BindingException if the class has no such readable property
+     */
+    static Invoker getter(Class<?> type, String property) {
+        ConcurrentMap<String, Invoker> getters = GETTERS.get(type);
+        Invoker invoker = getters.get(property);
+        if (invoker == null) {
+            invoker = Invokers.forMethod(findReadMethod(type, property));
+            getters.putIfAbsent(property, invoker);
+        }
+        return invoker;
+    }
+
+    private static Method findReadMethod(Class<?> type, String property) {
+        BeanInfo beanInfo;
+        try {
+            beanInfo = Introspector.getBeanInfo(type);
+        } catch (IntrospectionException e) {
+            throw new BindingException("could not introspect " + type.getName(), e);
+        }
+        for (PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors()) {
+            if (descriptor.getName().equals(property) && descriptor.getReadMethod() != null) {
+                return descriptor.getReadMethod();
+            }
+        }
+        throw new BindingException("could not find getter for " + property + " on " + type.getName());
+    }
+}
@@ -30,7 +30,9 @@ import javax.swing.JPasswordField;
 import javax.swing.JProgressBar;
 import javax.swing.JRadioButton;
 import javax.swing.JSlider;
+import javax.swing.JTable;
 import javax.swing.JToggleButton;
+import javax.swing.JTree;
 import javax.swing.text.JTextComponent;
 
 import org.slf4j.Logger;
@@ -89,6 +91,103 @@ public @interface Bound {
      */
     String nullValue() default "";
 
+    /**
+     * Used with {@link JTable}s: the properties of the bound list's row objects to show, one
+     * per column, in order.
+     * @see JTableWiringHarness
+     */
+    String[] columns() default {};
+
+    /**
+     * Used with {@link JTable}s: whether rows kept across an update have their cells read
+     * again.  Doing so calls every column's getter on every row, which is what catches rows
+     * changed in place but can dominate the update of a long table.  Set this to false when
+     * the row objects don't change once shown; then only inserted and replaced rows are read.
+     * @see JTableWiringHarness
+     */
+    boolean refreshCells() default true;
+
+    /**
+     * Used with {@link JTree}s: the property of each node that lists its children.
+     * @see JTreeWiringHarness
+     */
+    String children() default "";
+
+    /**
+     * Used with text components: when edits are written back to the model.
+     * @see TextCommit
+     */
+    TextCommit commit() default TextCommit.EACH_CHANGE;
+
+    /**
+     * Used with text components in {@link TextCommit#EACH_CHANGE} mode: how many milliseconds
+     * typing has to pause before the text is written back to the model, so that a burst of
+     * edits causes a single model update.  Zero, the default, writes every change at once.
+     */
+    int commitDelay() default 0;
+
+    /**
+     * Used with text components bound to a {@link com.palantir.ptoss.util.TextLog}: the most
+     * characters to keep in the document, older text being trimmed from the head.  Zero, the
+     * default, keeps everything.
+     */
+    int maxLength() default 0;
+
+    /**
+     * When a text component writes edits back to the model.  Whatever the mode, pending
+     * edits are written when the component loses focus.
+     */
+    public enum TextCommit {
+        /**
+         * On every change, or once typing pauses if {@link Bound#commitDelay()} is set.
+         */
+        EACH_CHANGE,
+
+        /**
+         * When the component loses focus.
+         */
+        FOCUS_LOST,
+
+        /**
+         * When Enter is pressed in a {@link javax.swing.JTextField}, or the component loses
+         * focus.
+         */
+        ENTER;
+    }
+
+    /**
+     * How a {@link JList} or {@link JComboBox} follows changes to a bound {@link List}.
+     * @see ListMode
+     */
+    ListMode listMode() default ListMode.REPLACE;
+
+    /**
+     * Ways for a {@link JList} or {@link JComboBox} to follow changes to a bound {@link List}.
+     */
+    public enum ListMode {
+        /**
+         * Copy the list into a new list model and swap it in whenever the contents change.
+         * Selection is restored by {@link Object#equals(Object)}.
+         */
+        REPLACE,
+
+        /**
+         * Show the bound list through a list model that reads it directly, without copying.
+         * Each update re-reads the list, so it may be replaced or changed in place, but only
+         * on the event thread and followed by a model update.  Suited to large lists that are
+         * held by the model anyway, such as pick lists.
+         */
+        VIEW,
+
+        /**
+         * Diff the list against the current contents and change the list model in place,
+         * firing data events only for the rows that changed.  Scroll position is kept and
+         * selection follows the rows that were kept.  Suited to long lists that change a
+         * little at a time.  {@link JComboBox}es treat this as {@link #REPLACE}.
+         */
+        DIFF;
+    }
+
     /**
      * Inner utility class to simplify figuring out how to display null values in controls.
      */
@@ -149,6 +248,8 @@ public @interface Bound {
                 .put(JProgressBar.class, new JProgressBarWiringHarness())
                 .put(JList.class, new JListWiringHarness())
                 .put(JComboBox.class, new JComboBoxWiringHarness())
+                .put(JTable.class, new JTableWiringHarness())
+                .put(JTree.class, new JTreeWiringHarness())
                 .put(JTextComponent.class, new JTextComponentWiringHarness())
                 .put(JPasswordField.class, new JPasswordFieldWiringHarness())
                 .put(JLabel.class, new JLabelWiringHarness())
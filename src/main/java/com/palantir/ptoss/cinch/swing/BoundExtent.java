@@ -37,7 +37,9 @@ import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
 import com.palantir.ptoss.cinch.core.BindingWiring;
 import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
 import com.palantir.ptoss.cinch.core.ObjectFieldMethod;
 import com.palantir.ptoss.util.Throwables;
 
@@ -105,11 +107,13 @@ public @interface BoundExtent {
 
             String on = bound.on();
             final Object onObject = context.evalOnObject(on, model1);
+            final ModelUpdateFilter filter = onObject == null
+                    ? ModelUpdateFilter.ANY : ModelUpdateFilter.of(Collections.singleton(onObject));
 
             final ChangeListener changeListener = new ChangeListener() {
                 public void stateChanged(ChangeEvent e) {
                     try {
-                        setter.getMethod().invoke(model1, slider.getExtent());
+                        setter.getInvoker().invoke(model1, slider.getExtent());
                     } catch (Exception ex) {
                         logger.error("could not invoke JSlider binding", ex);
                     }
@@ -117,13 +121,25 @@ public @interface BoundExtent {
             };
             slider.addChangeListener(changeListener);
 
-            Binding binding = new Binding() {
+            Binding binding = new DisposableBinding() {
+                public ModelUpdateFilter getFilter() {
+                    return filter;
+                }
+
+                public void dispose() {
+                    model1.unbind(this);
+                    slider.removeChangeListener(changeListener);
+                }
+
                 public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
-                    if (!BindingContext.isOn(onObject, changed)) {
+                    if (!filter.matches(changed)) {
                         return;
                     }
                     try {
-                        int extent = (Integer) getter.getMethod().invoke(model1);
+                        int extent = (Integer) getter.getInvoker().invoke(model1);
+                        if (slider.getExtent() == extent) {
+                            return;
+                        }
                         slider.removeChangeListener(changeListener);
                         slider.setExtent(extent);
                         slider.addChangeListener(changeListener);
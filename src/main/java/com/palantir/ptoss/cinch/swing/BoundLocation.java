@@ -17,6 +17,7 @@ import java.awt.Component;
 import java.awt.Point;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
 import java.beans.IntrospectionException;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -36,7 +37,9 @@ import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
 import com.palantir.ptoss.cinch.core.BindingWiring;
 import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
 import com.palantir.ptoss.cinch.core.ObjectFieldMethod;
 import com.palantir.ptoss.util.Throwables;
 
@@ -106,26 +109,40 @@ public @interface BoundLocation {
 
             String on = bound.on();
             final Object onObject = context.evalOnObject(on, model1);
+            final ModelUpdateFilter filter = onObject == null
+                    ? ModelUpdateFilter.ANY : ModelUpdateFilter.of(Collections.singleton(onObject));
 
-            comp.addComponentListener(new ComponentAdapter() {
+            final ComponentListener listener = new ComponentAdapter() {
                 @Override
                 public void componentMoved(ComponentEvent e) {
                     try {
-                        setter.getMethod().invoke(model1, comp.getLocation());
+                        setter.getInvoker().invoke(model1, comp.getLocation());
                     } catch (Exception ex) {
                         logger.error("could not invoke Component binding", ex);
                     }
                 }
-            });
+            };
+            comp.addComponentListener(listener);
+
+            Binding binding = new DisposableBinding() {
+                public ModelUpdateFilter getFilter() {
+                    return filter;
+                }
+
+                public void dispose() {
+                    model1.unbind(this);
+                    comp.removeComponentListener(listener);
+                }
 
-            Binding binding = new Binding() {
                 public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
-                    if (!BindingContext.isOn(onObject, changed)) {
+                    if (!filter.matches(changed)) {
                         return;
                     }
                     try {
-                        Point point = (Point)getter.getMethod().invoke(model1);
-                        comp.setLocation(point);
+                        Point point = (Point)getter.getInvoker().invoke(model1);
+                        if (point.x != comp.getX() || point.y != comp.getY()) {
+                            comp.setLocation(point);
+                        }
                     } catch (Exception ex) {
                         logger.error("could not invoke Component binding", ex);
                     }
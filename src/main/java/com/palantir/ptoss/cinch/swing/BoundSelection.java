@@ -42,7 +42,9 @@ import com.google.common.collect.Sets;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
 import com.palantir.ptoss.cinch.core.BindingWiring;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
 import com.palantir.ptoss.util.Mutator;
 import com.palantir.ptoss.util.Throwables;
 
@@ -112,9 +114,11 @@ public @interface BoundSelection {
                 final Mutator mutator,
                 final JList list) {
             final boolean multi = bound.multi();
-            final List<Object> ons = BindingContext.getOnObjects(bound.on(), mutator.getModel());
+            final ModelUpdateFilter filter = ModelUpdateFilter.of(
+                    BindingContext.getOnObjects(bound.on(), mutator.getModel()))
+                    .withProperty(BindingContext.getPropertyName(bound.to()));
 
-            list.addListSelectionListener(new ListSelectionListener() {
+            final ListSelectionListener listener = new ListSelectionListener() {
                 public void valueChanged(ListSelectionEvent e) {
                     if (!e.getValueIsAdjusting()) {
                         try {
@@ -128,11 +132,21 @@ public @interface BoundSelection {
                         }
                     }
                 }
-            });
+            };
+            list.addListSelectionListener(listener);
+
+            Binding binding = new DisposableBinding() {
+                public ModelUpdateFilter getFilter() {
+                    return filter;
+                }
+
+                public void dispose() {
+                    mutator.getModel().unbind(this);
+                    list.removeListSelectionListener(listener);
+                }
 
-            Binding binding = new Binding() {
                 public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
-                    if (!BindingContext.isOn(ons, changed)) {
+                    if (!filter.matches(changed)) {
                         return;
                     }
                     try {
@@ -183,7 +197,7 @@ public @interface BoundSelection {
                 final JComboBox combo,
                 final String nullValue) {
 
-            combo.addItemListener(new ItemListener() {
+            final ItemListener listener = new ItemListener() {
                 public void itemStateChanged(ItemEvent e) {
                     try {
                         Object current = mutator.get();
@@ -198,9 +212,19 @@ public @interface BoundSelection {
                         logger.error("could not invoke JComboBox binding", ex);
                     }
                 }
-            });
+            };
+            combo.addItemListener(listener);
+
+            Binding binding = new DisposableBinding() {
+                public ModelUpdateFilter getFilter() {
+                    return ModelUpdateFilter.ANY;
+                }
+
+                public void dispose() {
+                    mutator.getModel().unbind(this);
+                    combo.removeItemListener(listener);
+                }
 
-            Binding binding = new Binding() {
                 public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
                     try {
                         Object current = mutator.get();
@@ -0,0 +1,77 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.swing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+
+import com.palantir.ptoss.util.ListDiff;
+
+/**
+ * A list model that is moved from one set of contents to the next by applying a
+ * {@link ListDiff} in place, firing data events only for the rows that changed.  Views keep
+ * their scroll position, and their selection follows the rows that were kept.
+ */
+final class DiffListModel extends AbstractListModel<Object> {
+    private static final long serialVersionUID = 1L;
+
+    private final ArrayList<Object> contents = new ArrayList<Object>();
+
+    public int getSize() {
+        return contents.size();
+    }
+
+    public Object getElementAt(int index) {
+        return contents.get(index);
+    }
+
+    /**
+     * Changes the contents to the passed list.
+     * @return whether anything changed
+     */
+    boolean setContents(List<?> newContents) {
+        List<ListDiff.Edit> edits = ListDiff.diff(contents, newContents);
+        if (edits.isEmpty()) {
+            return false;
+        }
+        contents.ensureCapacity(newContents.size());
+        for (int i = edits.size() - 1; i >= 0; i--) {
+            apply(edits.get(i), newContents);
+        }
+        return true;
+    }
+
+    private void apply(ListDiff.Edit edit, List<?> newContents) {
+        int position = edit.getPosition();
+        int removeCount = edit.getRemoveCount();
+        int insertCount = edit.getInsertCount();
+        int insertIndex = edit.getInsertIndex();
+        int changed = Math.min(removeCount, insertCount);
+        for (int i = 0; i < changed; i++) {
+            contents.set(position + i, newContents.get(insertIndex + i));
+        }
+        if (changed > 0) {
+            fireContentsChanged(this, position, position + changed - 1);
+        }
+        if (removeCount > changed) {
+            contents.subList(position + changed, position + removeCount).clear();
+            fireIntervalRemoved(this, position + changed, position + removeCount - 1);
+        } else if (insertCount > changed) {
+            contents.addAll(position + changed, newContents.subList(insertIndex + changed, insertIndex + insertCount));
+            fireIntervalAdded(this, position + changed, position + insertCount - 1);
+        }
+    }
+}
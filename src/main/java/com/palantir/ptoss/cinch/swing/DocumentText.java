@@ -0,0 +1,154 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.swing;
+
+import java.nio.CharBuffer;
+
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
+
+/**
+ * Compares and updates the text of a {@link Document} in place.  The document is read through
+ * a {@link Segment} with partial return on, which points straight into the document's own
+ * storage, so comparing allocates nothing and changing the text only touches the range that
+ * differs.  Callers pass a segment to reuse; like the document it belongs to the event thread.
+ */
+final class DocumentText {
+    private DocumentText() { /* */ }
+
+    private static final int CHUNK = 4096;
+
+    /**
+     * Returns whether the document holds exactly the passed text.
+     */
+    static boolean contentEquals(Document document, CharSequence text, Segment segment) {
+        int length = document.getLength();
+        if (length != text.length()) {
+            return false;
+        }
+        return commonPrefix(document, text, length, segment) == length;
+    }
+
+    /**
+     * Returns whether the document holds exactly the passed characters.
+     */
+    static boolean contentEquals(Document document, char[] text, Segment segment) {
+        int length = document.getLength();
+        if (length != text.length) {
+            return false;
+        }
+        segment.setPartialReturn(true);
+        int offset = 0;
+        while (offset < length) {
+            read(document, offset, length - offset, segment);
+            for (int i = 0; i < segment.count; i++) {
+                if (segment.array[segment.offset + i] != text[offset + i]) {
+                    return false;
+                }
+            }
+            offset += segment.count;
+        }
+        return true;
+    }
+
+    /**
+     * Changes the document to hold the passed text, replacing only the range between the
+     * common prefix and suffix.
+     * @return whether the document changed
+     */
+    static boolean update(Document document, CharSequence text, Segment segment) throws BadLocationException {
+        int length = document.getLength();
+        int prefix = commonPrefix(document, text, Math.min(length, text.length()), segment);
+        if (prefix == length && prefix == text.length()) {
+            return false;
+        }
+        int suffix = commonSuffix(document, length, text, prefix, segment);
+        int removed = length - prefix - suffix;
+        String inserted = text.subSequence(prefix, text.length() - suffix).toString();
+        if (document instanceof AbstractDocument) {
+            ((AbstractDocument) document).replace(prefix, removed, inserted, null);
+        } else {
+            if (removed > 0) {
+                document.remove(prefix, removed);
+            }
+            if (!inserted.isEmpty()) {
+                document.insertString(prefix, inserted, null);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Changes the document to hold the passed characters.
+     * @see #update(Document, CharSequence, Segment)
+     */
+    static boolean update(Document document, char[] text, Segment segment) throws BadLocationException {
+        if (contentEquals(document, text, segment)) {
+            return false;
+        }
+        return update(document, CharBuffer.wrap(text), segment);
+    }
+
+    private static int commonPrefix(Document document, CharSequence text, int limit, Segment segment) {
+        segment.setPartialReturn(true);
+        int offset = 0;
+        while (offset < limit) {
+            read(document, offset, Math.min(limit - offset, CHUNK), segment);
+            for (int i = 0; i < segment.count; i++) {
+                if (segment.array[segment.offset + i] != text.charAt(offset + i)) {
+                    return offset + i;
+                }
+            }
+            offset += segment.count;
+        }
+        return limit;
+    }
+
+    /**
+     * Walks back from the ends of the document and the text, not past the common prefix.
+     */
+    private static int commonSuffix(Document document, int length, CharSequence text, int prefix, Segment segment) {
+        segment.setPartialReturn(true);
+        int limit = Math.min(length, text.length()) - prefix;
+        int matched = 0;
+        while (matched < limit) {
+            int end = length - matched;
+            int start = Math.max(end - CHUNK, end - limit + matched);
+            // a partial read stops at the document's gap; the rest is contiguous.
+            read(document, start, end - start, segment);
+            while (start + segment.count < end) {
+                start += segment.count;
+                read(document, start, end - start, segment);
+            }
+            int textEnd = text.length() - matched;
+            for (int i = segment.count - 1; i >= 0; i--) {
+                if (segment.array[segment.offset + i] != text.charAt(textEnd - segment.count + i)) {
+                    return matched + segment.count - 1 - i;
+                }
+            }
+            matched += segment.count;
+        }
+        return limit;
+    }
+
+    private static void read(Document document, int offset, int length, Segment segment) {
+        try {
+            document.getText(offset, length, segment);
+        } catch (BadLocationException e) {
+            throw new IllegalStateException("document changed while being read", e);
+        }
+    }
+}
@@ -34,12 +34,17 @@ import com.palantir.ptoss.cinch.core.BindingContext;
 import com.palantir.ptoss.cinch.core.BindingException;
 import com.palantir.ptoss.cinch.core.BindingWiring;
 import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
 import com.palantir.ptoss.cinch.core.ObjectFieldMethod;
+import com.palantir.ptoss.util.Invoker;
+import com.palantir.ptoss.util.Invokers;
 
 /**
  * A binding that will set the enabled state of the annotated component to the state of a model
- * boolean. The component must have a "setEnabled" method that takes a boolean.
+ * boolean. The component must have a "setEnabled" method that takes a boolean, which is only called
+ * when the value changes.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD})
@@ -58,6 +63,11 @@ public @interface EnabledIf {
      */
     Type type() default Type.NORMAL;
 
+    /**
+     * What model update types to trigger on, or blank (default) for all updates.
+     */
+    String[] on() default "";
+
     /**
      * Inner utility class that performs the runtime wiring of all {@link EnabledIf} bindings.
      *
@@ -74,7 +84,7 @@ public @interface EnabledIf {
                 final String to = action.to();
                 final boolean invert = (action.type() == Type.INVERTED);
                 try {
-                    bindings.addAll(wire(to, field, context, invert));
+                    bindings.addAll(wire(to, field, context, invert, action.on()));
                 } catch (final Exception e) {
                     throw new BindingException("could not wire up @EnabledIf on " + field.getName(), e);
                 }
@@ -82,12 +92,13 @@ public @interface EnabledIf {
             return bindings;
         }
 
-        private static Collection<Binding> wire(final String to, final Field field, final BindingContext context, final boolean invert)
-            throws SecurityException, NoSuchMethodException, IllegalArgumentException, IntrospectionException {
+        private static Collection<Binding> wire(final String to, final Field field, final BindingContext context, final boolean invert,
+                final String[] on) throws SecurityException, NoSuchMethodException, IllegalArgumentException, IntrospectionException {
             final Method setEnabledMethod = field.getType().getMethod("setEnabled", boolean.class);
             if (setEnabledMethod == null) {
                 throw new BindingException("no setEnabled call on EnabledIf field: " + field);
             }
+            final Invoker setEnabled = Invokers.forMethod(setEnabledMethod);
             final Object setEnabledObject = context.getFieldObject(field, Object.class);
             final ObjectFieldMethod getter = context.findGetter(to);
             if (getter == null) {
@@ -96,21 +107,37 @@ public @interface EnabledIf {
             if (getter.getMethod().getReturnType() != boolean.class) {
                 throw new BindingException("EnabledIf binding must return boolean: " + to);
             }
-            getter.getMethod().setAccessible(true);
-            final Binding binding = new Binding() {
+            final BindableModel model = (BindableModel)getter.getObject();
+            final ModelUpdateFilter filter = ModelUpdateFilter.of(BindingContext.getOnObjects(on, model))
+                    .withProperty(BindingContext.getPropertyName(to));
+            final LastValue last = new LastValue();
+            final Binding binding = new DisposableBinding() {
+                public ModelUpdateFilter getFilter() {
+                    return filter;
+                }
+
                 public <T extends Enum<?> & ModelUpdate> void update(final T... changed) {
+                    if (!filter.matches(changed)) {
+                        return;
+                    }
                     try {
-                        boolean enabled = (Boolean)getter.getMethod().invoke(getter.getObject());
+                        boolean enabled = (Boolean)getter.invoke();
                         if (invert) {
                             enabled = !enabled;
                         }
-                        setEnabledMethod.invoke(setEnabledObject, enabled);
+                        if (last.changed(enabled, changed)) {
+                            setEnabled.invoke(setEnabledObject, enabled);
+                        }
                     } catch (final Exception e) {
                         Wiring.logger.error("exception during EnabledIf binding", e);
                     }
                 }
+
+                public void dispose() {
+                    model.unbind(this);
+                }
             };
-            ((BindableModel)getter.getObject()).bind(binding);
+            model.bind(binding);
             return Collections.singleton(binding);
         }
     }
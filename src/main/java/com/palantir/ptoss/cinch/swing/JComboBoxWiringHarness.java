@@ -18,14 +18,19 @@ import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.List;
 
+import javax.swing.ComboBoxModel;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JComboBox;
 
+import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import com.palantir.ptoss.cinch.core.BindableModel;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
+import com.palantir.ptoss.cinch.core.PropertyVersion;
 import com.palantir.ptoss.cinch.core.WiringHarness;
 import com.palantir.ptoss.cinch.swing.Bound.Utilities;
 import com.palantir.ptoss.cinch.swing.Bound.Wiring;
@@ -33,7 +38,9 @@ import com.palantir.ptoss.util.Mutator;
 
 /**
  * A {@link WiringHarness} for binding a {@link JComboBox} to a {@link List} value in a
- * {@link BindableModel}.
+ * {@link BindableModel}.  The combo box's model is only rebuilt when the contents change, or
+ * with {@link Bound#listMode()} set to {@link Bound.ListMode#VIEW} the bound List is shown
+ * directly by a {@link ListViewModel}.
  */
 public class JComboBoxWiringHarness implements WiringHarness<Bound, Field> {
     public Collection<Binding> wire(Bound bound, BindingContext context, Field field) throws IllegalAccessException, IntrospectionException {
@@ -45,24 +52,43 @@ public class JComboBoxWiringHarness implements WiringHarness<Bound, Field> {
     }
 
     private Binding bindJComboBox(final Bound bound, final Mutator mutator, final JComboBox combo, final String nullValue) {
-        final List<Object> ons = BindingContext.getOnObjects(bound.on(), mutator.getModel());
-        Binding binding = new Binding() {
+        final ModelUpdateFilter filter = ModelUpdateFilter.of(
+                BindingContext.getOnObjects(bound.on(), mutator.getModel()))
+                .withProperty(BindingContext.getPropertyName(bound.to()));
+        final PropertyVersion.Tracker version = mutator.newVersionTracker();
+        Binding binding = new DisposableBinding() {
+            public ModelUpdateFilter getFilter() {
+                return filter;
+            }
+
             public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
-                if (!BindingContext.isOn(ons, changed)) {
+                if (!filter.matches(changed) || !version.changed(changed)) {
                     return;
                 }
                 try {
-                    updateComboModel(combo, (List<?>)mutator.get(), nullValue);
+                    if (bound.listMode() == Bound.ListMode.VIEW) {
+                        viewComboModel(combo, (List<?>)mutator.get(), nullValue);
+                    } else {
+                        updateComboModel(combo, (List<?>)mutator.get(), nullValue);
+                    }
+                    version.shown();
                 } catch (Exception ex) {
                     Wiring.logger.error("exception in JList binding", ex);
                 }
             }
+
+            public void dispose() {
+                mutator.getModel().unbind(this);
+            }
         };
         mutator.getModel().bind(binding);
         return binding;
     }
 
-    private void updateComboModel(JComboBox combo, List<?> newContents, String nullValue) {
+    private static void updateComboModel(JComboBox combo, List<?> newContents, String nullValue) {
+        if (hasContents(combo.getModel(), newContents, nullValue)) {
+            return;
+        }
         int selectedIndex = combo.getSelectedIndex();
         Object selected = combo.getSelectedItem();
         DefaultComboBoxModel comboModel = new DefaultComboBoxModel();
@@ -83,4 +109,52 @@ public class JComboBoxWiringHarness implements WiringHarness<Bound, Field> {
         }
         combo.setModel(comboModel);
     }
+
+    private static boolean hasContents(ComboBoxModel comboModel, List<?> contents, String nullValue) {
+        int offset = nullValue == null ? 0 : 1;
+        if (comboModel.getSize() != contents.size() + offset) {
+            return false;
+        }
+        if (nullValue != null && !nullValue.equals(comboModel.getElementAt(0))) {
+            return false;
+        }
+        for (int i = 0; i < contents.size(); i++) {
+            if (!Objects.equal(contents.get(i), comboModel.getElementAt(i + offset))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@link Bound.ListMode#VIEW}: shows the bound list through a {@link ListViewModel}.  If the
+     * selected item is no longer shown the item now at its index is selected, or the last one.
+     */
+    private static void viewComboModel(JComboBox combo, List<?> newContents, String nullValue) {
+        ComboBoxModel current = combo.getModel();
+        ListViewModel comboModel;
+        if (current instanceof ListViewModel) {
+            comboModel = (ListViewModel) current;
+        } else {
+            comboModel = new ListViewModel(nullValue);
+        }
+        int selectedIndex = combo.getSelectedIndex();
+        Object selected = combo.getSelectedItem();
+        comboModel.setList(newContents);
+        if (comboModel.indexOf(selected) == -1) {
+            int size = comboModel.getSize();
+            if (size > selectedIndex && selectedIndex != -1) {
+                comboModel.setSelectedItem(comboModel.getElementAt(selectedIndex));
+            } else if (size > 0) {
+                comboModel.setSelectedItem(comboModel.getElementAt(size - 1));
+            } else {
+                comboModel.setSelectedItem(null);
+            }
+        } else {
+            comboModel.setSelectedItem(selected);
+        }
+        if (comboModel != current) {
+            combo.setModel(comboModel);
+        }
+    }
 }
@@ -23,36 +23,62 @@ import com.google.common.collect.ImmutableList;
 import com.palantir.ptoss.cinch.core.BindableModel;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
+import com.palantir.ptoss.cinch.core.PropertyVersion;
 import com.palantir.ptoss.cinch.core.WiringHarness;
 import com.palantir.ptoss.cinch.swing.Bound.Wiring;
 import com.palantir.ptoss.util.Mutator;
 
 /**
  * A {@link WiringHarness} for binding a {@link JLabel} to a value in a {@link BindableModel}.
+ * The label's text is only set when it changes.
  */
 public class JLabelWiringHarness implements WiringHarness<Bound, Field> {
     public Collection<Binding> wire(Bound bound, BindingContext context, Field field)
             throws IllegalAccessException, IntrospectionException {
         JLabel label = context.getFieldObject(field, JLabel.class);
         Mutator mutator = Mutator.create(context, bound.to());
-        return ImmutableList.of(bindJLabel(mutator, label));
+        ModelUpdateFilter filter = ModelUpdateFilter.of(BindingContext.getOnObjects(bound.on(), mutator.getModel()))
+                .withProperty(BindingContext.getPropertyName(bound.to()));
+        return ImmutableList.of(bindJLabel(mutator, label, filter));
     }
 
     public static Binding bindJLabel(final Mutator mutator, final JLabel label) {
-        Binding binding = new Binding() {
+        return bindJLabel(mutator, label, ModelUpdateFilter.ANY);
+    }
+
+    public static Binding bindJLabel(final Mutator mutator, final JLabel label, final ModelUpdateFilter filter) {
+        final LastValue last = new LastValue();
+        final PropertyVersion.Tracker version = mutator.newVersionTracker();
+        Binding binding = new DisposableBinding() {
+            public ModelUpdateFilter getFilter() {
+                return filter;
+            }
+
             public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                if (!filter.matches(changed) || !version.changed(changed)) {
+                    return;
+                }
                 try {
                     String text = "";
                     Object obj = mutator.get();
                     if (obj != null) {
                         text = obj.toString();
                     }
-                    label.setText(text);
+                    if (last.changed(text, changed)) {
+                        label.setText(text);
+                    }
+                    version.shown();
                 } catch (Exception ex) {
                     Wiring.logger.error("exception in JLabel binding", ex);
                 }
             }
+
+            public void dispose() {
+                mutator.getModel().unbind(this);
+            }
         };
         mutator.getModel().bind(binding);
         return binding;
@@ -22,15 +22,21 @@ import java.util.Set;
 import javax.swing.DefaultListModel;
 import javax.swing.JList;
 import javax.swing.ListModel;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
 import javax.swing.table.DefaultTableModel;
 
+import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.palantir.ptoss.cinch.core.BindableModel;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
+import com.palantir.ptoss.cinch.core.PropertyVersion;
 import com.palantir.ptoss.cinch.core.WiringHarness;
 import com.palantir.ptoss.cinch.swing.Bound.Wiring;
 import com.palantir.ptoss.util.Mutator;
@@ -50,6 +56,9 @@ import com.palantir.ptoss.util.Mutator;
  * <p>
  * Implementation notes: a {@link DefaultTableModel} is used to back the JList. Maintaining
  * selection between model swaps is simply done with {@link Object#equals(Object)} comparisons.
+ * With {@link Bound#listMode()} set to {@link Bound.ListMode#DIFF} the model is instead changed
+ * in place by a {@link DiffListModel}, and with {@link Bound.ListMode#VIEW} the bound List is
+ * shown directly by a {@link ListViewModel}.
  */
 public class JListWiringHarness implements WiringHarness<Bound, Field> {
 
@@ -63,18 +72,41 @@ public class JListWiringHarness implements WiringHarness<Bound, Field> {
     }
 
     private Binding bindJList(final Bound bound, final Mutator mutator, final JList list) {
-        final List<Object> ons = BindingContext.getOnObjects(bound.on(), mutator.getModel());
-        Binding binding = new Binding() {
+        final ModelUpdateFilter filter = ModelUpdateFilter.of(
+                BindingContext.getOnObjects(bound.on(), mutator.getModel()))
+                .withProperty(BindingContext.getPropertyName(bound.to()));
+        final PropertyVersion.Tracker version = mutator.newVersionTracker();
+        final SelectionKeeper keeper = bound.listMode() == Bound.ListMode.VIEW
+                ? new SelectionKeeper(list) : null;
+        Binding binding = new DisposableBinding() {
+            public ModelUpdateFilter getFilter() {
+                return filter;
+            }
+
             public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
-                if (!BindingContext.isOn(ons, changed)) {
+                if (!filter.matches(changed) || !version.changed(changed)) {
                     return;
                 }
                 try {
-                    updateListModel(list, (List<?>)mutator.get());
+                    if (bound.listMode() == Bound.ListMode.DIFF) {
+                        diffListModel(list, (List<?>)mutator.get());
+                    } else if (bound.listMode() == Bound.ListMode.VIEW) {
+                        keeper.show((List<?>)mutator.get());
+                    } else {
+                        updateListModel(list, (List<?>)mutator.get());
+                    }
+                    version.shown();
                 } catch (Exception ex) {
                     Wiring.logger.error("exception in JList binding", ex);
                 }
             }
+
+            public void dispose() {
+                mutator.getModel().unbind(this);
+                if (keeper != null) {
+                    list.removeListSelectionListener(keeper);
+                }
+            }
         };
         mutator.getModel().bind(binding);
         return binding;
@@ -99,16 +131,112 @@ public class JListWiringHarness implements WiringHarness<Bound, Field> {
             listModel.addElement(obj);
         }
         list.setModel(listModel);
+        selectValues(list, selected);
+    }
+
+    private static void selectValues(JList list, Object[] selected) {
+        ListModel listModel = list.getModel();
         List<Integer> newIndices = Lists.newArrayListWithCapacity(selected.length);
         Set<Object> selectedSet = Sets.newHashSet(selected);
-        for (int i = 0; i < listModel.size(); i++) {
-            if (selectedSet.contains(listModel.elementAt(i))) {
+        for (int i = 0; i < listModel.getSize(); i++) {
+            if (selectedSet.contains(listModel.getElementAt(i))) {
                 newIndices.add(i);
             }
         }
         list.setSelectedIndices(toPrimitive(newIndices));
     }
 
+    /**
+     * {@link Bound.ListMode#DIFF}: the first update installs a {@link DiffListModel}, later ones
+     * change it in place.
+     */
+    private static void diffListModel(JList list, List<?> newContents) {
+        if (newContents == null) {
+            newContents = ImmutableList.of();
+        }
+        Object[] selected = list.getSelectedValues();
+        ListModel current = list.getModel();
+        if (!(current instanceof DiffListModel)) {
+            DiffListModel listModel = new DiffListModel();
+            listModel.setContents(newContents);
+            list.setModel(listModel);
+            selectValues(list, selected);
+            return;
+        }
+        DiffListModel listModel = (DiffListModel) current;
+        if (!listModel.setContents(newContents) || selected.length == 0) {
+            return;
+        }
+        // rows that were changed in place keep their selection; drop it if the value differs.
+        Set<Object> selectedSet = Sets.newHashSet(selected);
+        for (int index : list.getSelectedIndices()) {
+            if (!selectedSet.contains(listModel.getElementAt(index))) {
+                list.removeSelectionInterval(index, index);
+            }
+        }
+    }
+
+    /**
+     * {@link Bound.ListMode#VIEW}: the first update installs a {@link ListViewModel}, later ones
+     * point it at the current list.  The bound list may already have been changed in place by
+     * the time of the update, so the selected values are remembered as the user selects them
+     * rather than read back through the model.
+     */
+    private static final class SelectionKeeper implements ListSelectionListener {
+        private final JList list;
+        private Object[] selected;
+        private boolean updating;
+
+        SelectionKeeper(JList list) {
+            this.list = list;
+            this.selected = list.getSelectedValues();
+            list.addListSelectionListener(this);
+        }
+
+        public void valueChanged(ListSelectionEvent e) {
+            if (!updating && !e.getValueIsAdjusting()) {
+                selected = list.getSelectedValues();
+            }
+        }
+
+        void show(List<?> newContents) {
+            updating = true;
+            try {
+                ListModel current = list.getModel();
+                if (current instanceof ListViewModel) {
+                    ((ListViewModel) current).setList(newContents);
+                } else {
+                    ListViewModel listModel = new ListViewModel(null);
+                    listModel.setList(newContents);
+                    list.setModel(listModel);
+                }
+                if (!isSelected(list.getSelectedIndices())) {
+                    selectValues(list, selected);
+                    selected = list.getSelectedValues();
+                }
+            } finally {
+                updating = false;
+            }
+        }
+
+        /**
+         * Whether the passed indices already hold the remembered values, in which case the
+         * selection is kept without scanning the list.
+         */
+        private boolean isSelected(int[] indices) {
+            if (indices.length != selected.length) {
+                return false;
+            }
+            ListModel listModel = list.getModel();
+            for (int i = 0; i < indices.length; i++) {
+                if (!Objects.equal(selected[i], listModel.getElementAt(indices[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     private static int[] toPrimitive(List<Integer> newIndices) {
         int size = newIndices.size();
         if (size == 0) {
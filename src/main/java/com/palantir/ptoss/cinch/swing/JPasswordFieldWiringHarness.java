@@ -17,23 +17,28 @@ import com.google.common.base.Preconditions;
 import java.beans.IntrospectionException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 
 import javax.swing.JPasswordField;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
 
 import com.palantir.ptoss.cinch.core.BindableModel;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
 import com.palantir.ptoss.cinch.core.ObjectFieldMethod;
 import com.palantir.ptoss.cinch.core.WiringHarness;
 import com.palantir.ptoss.cinch.swing.Bound.Wiring;
+import com.palantir.ptoss.util.Invoker;
+import com.palantir.ptoss.util.Invokers;
 
-// The interface uses char[] but has to make a String under the covers in order to set the password.
+// The interface uses char[] but has to make a String of the changed characters in order to set the password.
 // TODO (dcervelli): find a (hacky) way to set the text without throwing it into a String
  /**
  * A {@link WiringHarness} for binding a {@link JPasswordField} to a value in a
@@ -52,12 +57,21 @@ public class JPasswordFieldWiringHarness implements WiringHarness<Bound, Field>
         BindableModel model2 = context.getFieldObject(getter.getField(), BindableModel.class);
         Preconditions.checkArgument(model1 == model2, "setter not bound to same field as getter");
         // verify type parameters
-        return bindJPasswordField(model1, pwdField, getter.getMethod(), setter.getMethod());
+        ModelUpdateFilter filter = ModelUpdateFilter.of(BindingContext.getOnObjects(bound.on(), model1))
+                .withProperty(BindingContext.getPropertyName(bound.to()));
+        return bindJPasswordField(model1, pwdField, getter.getMethod(), setter.getMethod(), filter);
     }
 
     public static Collection<Binding> bindJPasswordField(final BindableModel model, final JPasswordField pwdField,
             final Method getter, final Method setter) {
-        pwdField.getDocument().addDocumentListener(new DocumentListener() {
+        return bindJPasswordField(model, pwdField, getter, setter, ModelUpdateFilter.ANY);
+    }
+
+    public static Collection<Binding> bindJPasswordField(final BindableModel model, final JPasswordField pwdField,
+            final Method getter, final Method setter, final ModelUpdateFilter filter) {
+        final Invoker getterInvoker = Invokers.forMethod(getter);
+        final Invoker setterInvoker = Invokers.forMethod(setter);
+        final DocumentListener listener = new DocumentListener() {
             public void removeUpdate(DocumentEvent e) {
                 updateModel();
             }
@@ -72,26 +86,40 @@ public class JPasswordFieldWiringHarness implements WiringHarness<Bound, Field>
 
             private void updateModel() {
                 try {
-                    setter.invoke(model, pwdField.getPassword());
+                    setterInvoker.invoke(model, pwdField.getPassword());
                 } catch (Exception ex) {
                     Wiring.logger.error("exception in JPasswordField binding", ex);
                 }
             }
-        });
-        Binding binding = new Binding() {
+        };
+        final Document document = pwdField.getDocument();
+        document.addDocumentListener(listener);
+        Binding binding = new DisposableBinding() {
+            private final Segment segment = new Segment();
+
+            public ModelUpdateFilter getFilter() {
+                return filter;
+            }
+
             public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                if (!filter.matches(changed)) {
+                    return;
+                }
                 try {
-                    char[] charArray = (char[])getter.invoke(model);
+                    char[] charArray = (char[])getterInvoker.invoke(model);
                     if (charArray == null) {
                         charArray = new char[0];
                     }
-                    if (!Arrays.equals(charArray, pwdField.getPassword())) {
-                        pwdField.setText(String.valueOf(charArray));
-                    }
+                    DocumentText.update(pwdField.getDocument(), charArray, segment);
                 } catch (Exception ex) {
                     Wiring.logger.error("exception in JPasswordField binding", ex);
                 }
             }
+
+            public void dispose() {
+                model.unbind(this);
+                document.removeDocumentListener(listener);
+            }
         };
         model.bind(binding);
         return Collections.singleton(binding);
@@ -24,10 +24,14 @@ import javax.swing.JProgressBar;
 import com.palantir.ptoss.cinch.core.BindableModel;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
 import com.palantir.ptoss.cinch.core.ObjectFieldMethod;
 import com.palantir.ptoss.cinch.core.WiringHarness;
 import com.palantir.ptoss.cinch.swing.Bound.Wiring;
+import com.palantir.ptoss.util.Invoker;
+import com.palantir.ptoss.util.Invokers;
 
 /**
  * A {@link WiringHarness} for binding a {@link JProgressBar} to an <code>int</code> value in a {@link BindableModel}.
@@ -43,7 +47,9 @@ public class JProgressBarWiringHarness implements WiringHarness<Bound, Field> {
             }
             BindableModel model = context.getFieldObject(getter.getField(), BindableModel.class);
             // verify type parameters
-            return bindJProgressBar(model, bar, getter.getMethod());
+            ModelUpdateFilter filter = ModelUpdateFilter.of(BindingContext.getOnObjects(bound.on(), model))
+                    .withProperty(BindingContext.getPropertyName(bound.to()));
+            return bindJProgressBar(model, bar, getter.getMethod(), filter);
         }
 
         private static int getValueForObject(Object obj) {
@@ -59,16 +65,37 @@ public class JProgressBarWiringHarness implements WiringHarness<Bound, Field> {
 
         public static Collection<Binding> bindJProgressBar(final BindableModel model, final JProgressBar bar,
                 final Method getter) {
-            Binding binding = new Binding() {
+            return bindJProgressBar(model, bar, getter, ModelUpdateFilter.ANY);
+        }
+
+        public static Collection<Binding> bindJProgressBar(final BindableModel model, final JProgressBar bar,
+                final Method getter, final ModelUpdateFilter filter) {
+            final Invoker getterInvoker = Invokers.forMethod(getter);
+            Binding binding = new DisposableBinding() {
+                public ModelUpdateFilter getFilter() {
+                    return filter;
+                }
+
                 public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                    if (!filter.matches(changed)) {
+                        return;
+                    }
                     try {
-                        int val = getValueForObject(getter.invoke(model));
-                        bar.setValue(val);
-                        bar.setIndeterminate(val < 0);
+                        int val = getValueForObject(getterInvoker.invoke(model));
+                        if (bar.getValue() != val) {
+                            bar.setValue(val);
+                        }
+                        if (bar.isIndeterminate() != (val < 0)) {
+                            bar.setIndeterminate(val < 0);
+                        }
                     } catch (Exception ex) {
                         Wiring.logger.error("exception in JTextField binding", ex);
                     }
                 }
+
+                public void dispose() {
+                    model.unbind(this);
+                }
             };
             model.bind(binding);
             return Collections.singleton(binding);
@@ -25,7 +25,9 @@ import com.google.common.collect.ImmutableList;
 import com.palantir.ptoss.cinch.core.BindableModel;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
 import com.palantir.ptoss.cinch.core.WiringHarness;
 import com.palantir.ptoss.cinch.swing.Bound.Wiring;
 import com.palantir.ptoss.util.Mutator;
@@ -39,10 +41,16 @@ public class JSliderWiringHarness implements WiringHarness<Bound, Field> {
         String target = bound.to();
         Mutator mutator = Mutator.create(context, target);
         JSlider slider = context.getFieldObject(field, JSlider.class);
-        return ImmutableList.of(bindJSlider(mutator, slider));
+        ModelUpdateFilter filter = ModelUpdateFilter.of(BindingContext.getOnObjects(bound.on(), mutator.getModel()))
+                .withProperty(BindingContext.getPropertyName(bound.to()));
+        return ImmutableList.of(bindJSlider(mutator, slider, filter));
     }
 
     public static Binding bindJSlider(final Mutator mutator, final JSlider slider) {
+        return bindJSlider(mutator, slider, ModelUpdateFilter.ANY);
+    }
+
+    public static Binding bindJSlider(final Mutator mutator, final JSlider slider, final ModelUpdateFilter filter) {
         final ChangeListener changeListener = new ChangeListener() {
             public void stateChanged(ChangeEvent e) {
                 try {
@@ -55,8 +63,15 @@ public class JSliderWiringHarness implements WiringHarness<Bound, Field> {
             }
         };
         slider.addChangeListener(changeListener);
-        Binding binding = new Binding() {
+        Binding binding = new DisposableBinding() {
+            public ModelUpdateFilter getFilter() {
+                return filter;
+            }
+
             public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                if (!filter.matches(changed)) {
+                    return;
+                }
                 try {
                     Integer val = (Integer)mutator.get();
                     if (val == null) {
@@ -71,6 +86,11 @@ public class JSliderWiringHarness implements WiringHarness<Bound, Field> {
                     Wiring.logger.error("exception in JSlider binding", ex);
                 }
             }
+
+            public void dispose() {
+                mutator.getModel().unbind(this);
+                slider.removeChangeListener(changeListener);
+            }
         };
         mutator.getModel().bind(binding);
         return binding;
@@ -0,0 +1,94 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.swing;
+
+import java.beans.IntrospectionException;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.List;
+
+import javax.swing.JTable;
+import javax.swing.table.TableModel;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.ptoss.cinch.core.BindableModel;
+import com.palantir.ptoss.cinch.core.Binding;
+import com.palantir.ptoss.cinch.core.BindingContext;
+import com.palantir.ptoss.cinch.core.BindingException;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
+import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
+import com.palantir.ptoss.cinch.core.PropertyVersion;
+import com.palantir.ptoss.cinch.core.WiringHarness;
+import com.palantir.ptoss.cinch.swing.Bound.Wiring;
+import com.palantir.ptoss.util.Mutator;
+
+/**
+ * <p>
+ * Wires up a {@link JTable} to a {@link List} of row objects in a {@link BindableModel}.  Each
+ * of {@link Bound#columns()} names a property of the row objects, read through its getter, that
+ * is shown as a column.
+ * <p>
+ * Like {@link JListWiringHarness} this binding is only one way.  The table's model is installed
+ * once and changed in place by a {@link RowTableModel}, which fires row inserted, deleted and
+ * updated events for just the rows that changed, so sorting, selection and scroll position are
+ * kept.
+ */
+public class JTableWiringHarness implements WiringHarness<Bound, Field> {
+    public Collection<Binding> wire(Bound bound, BindingContext context, Field field)
+            throws IllegalAccessException, IntrospectionException {
+        if (bound.columns().length == 0) {
+            throw new BindingException("@Bound JTable needs columns: " + field.getName());
+        }
+        JTable table = context.getFieldObject(field, JTable.class);
+        Mutator mutator = Mutator.create(context, bound.to());
+        return ImmutableList.of(bindJTable(bound, mutator, table));
+    }
+
+    private Binding bindJTable(final Bound bound, final Mutator mutator, final JTable table) {
+        final ModelUpdateFilter filter = ModelUpdateFilter.of(
+                BindingContext.getOnObjects(bound.on(), mutator.getModel()))
+                .withProperty(BindingContext.getPropertyName(bound.to()));
+        final RowTableModel tableModel = new RowTableModel(bound.columns(), bound.refreshCells());
+        final PropertyVersion.Tracker version = mutator.newVersionTracker();
+        Binding binding = new DisposableBinding() {
+            public ModelUpdateFilter getFilter() {
+                return filter;
+            }
+
+            public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                if (!filter.matches(changed) || !version.changed(changed)) {
+                    return;
+                }
+                try {
+                    List<?> rows = (List<?>)mutator.get();
+                    tableModel.setRows(rows == null ? ImmutableList.of() : rows);
+                    TableModel current = table.getModel();
+                    if (current != tableModel) {
+                        table.setModel(tableModel);
+                    }
+                    version.shown();
+                } catch (Exception ex) {
+                    Wiring.logger.error("exception in JTable binding", ex);
+                }
+            }
+
+            public void dispose() {
+                mutator.getModel().unbind(this);
+            }
+        };
+        mutator.getModel().bind(binding);
+        return binding;
+    }
+}
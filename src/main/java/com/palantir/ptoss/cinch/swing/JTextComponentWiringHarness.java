@@ -13,32 +13,62 @@
 //   limitations under the License.
 package com.palantir.ptoss.cinch.swing;
 
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
 import java.beans.IntrospectionException;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.lang.reflect.Field;
 import java.util.Collection;
 
+import javax.swing.JTextField;
+import javax.swing.Timer;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
 import javax.swing.text.JTextComponent;
+import javax.swing.text.Segment;
 
 import com.google.common.collect.ImmutableList;
 import com.palantir.ptoss.cinch.core.BindableModel;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
+import com.palantir.ptoss.cinch.core.ListenerRegistration;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
 import com.palantir.ptoss.cinch.core.WiringHarness;
 import com.palantir.ptoss.cinch.swing.Bound.Wiring;
 import com.palantir.ptoss.util.Mutator;
+import com.palantir.ptoss.util.TextLog;
 
 /**
  * A {@link WiringHarness} for binding a {@link JTextComponent} to a {@link String} value in a
- * {@link BindableModel}.
+ * {@link BindableModel}.  Edits are written back to the model as set by {@link Bound#commit()}
+ * and {@link Bound#commitDelay()}; until an edit has been written the text isn't overwritten
+ * by model updates.  Text set on the component by code is an edit like any other, so in
+ * {@link Bound.TextCommit#FOCUS_LOST} and {@link Bound.TextCommit#ENTER} modes it holds off
+ * model updates until it is written; set such values through the model instead.  The
+ * listeners follow the component to a new document when {@code setDocument} is called.
+ * <p>
+ * A component bound to a {@link TextLog} is only ever appended to: each update inserts the
+ * text logged since the last one, and {@link Bound#maxLength()} caps how much is kept.
+ * <p>
+ * A component bound to a {@link TextBuffer} is given a document that shares the buffer's
+ * storage, so edits on either side cost the size of the edit and reach the model as deltas
+ * through {@link TextBuffer.Listener}s rather than as whole strings.
  */
 public class JTextComponentWiringHarness implements WiringHarness<Bound, Field> {
     public Collection<Binding> wire(Bound bound, BindingContext context, Field field) throws IllegalAccessException, IntrospectionException {
         JTextComponent textComponent = context.getFieldObject(field, JTextComponent.class);
         Mutator mutator = Mutator.create(context, bound.to());
-        Binding binding = bindJTextComponent(mutator, textComponent);
+        ModelUpdateFilter filter = ModelUpdateFilter.of(BindingContext.getOnObjects(bound.on(), mutator.getModel()))
+                .withProperty(BindingContext.getPropertyName(bound.to()));
+        Binding binding = bindJTextComponent(mutator, textComponent, bound.commit(), bound.commitDelay(),
+                bound.maxLength(), filter);
         if (binding == null) {
             return ImmutableList.of();
         }
@@ -46,40 +76,47 @@ public class JTextComponentWiringHarness implements WiringHarness<Bound, Field>
     }
 
     public static Binding bindJTextComponent(final Mutator mutator, final JTextComponent textField) {
-        if (mutator.getSetter() != null) {
-            textField.getDocument().addDocumentListener(new DocumentListener() {
-                public void removeUpdate(DocumentEvent e) {
-                    updateModel();
-                }
-
-                public void insertUpdate(DocumentEvent e) {
-                    updateModel();
-                }
+        return bindJTextComponent(mutator, textField, Bound.TextCommit.EACH_CHANGE, 0, 0, ModelUpdateFilter.ANY);
+    }
 
-                public void changedUpdate(DocumentEvent e) {
-                    updateModel();
+    public static Binding bindJTextComponent(final Mutator mutator, final JTextComponent textField,
+            Bound.TextCommit commit, int commitDelay, int maxLength, final ModelUpdateFilter filter) {
+        final TextCommitter committer = new TextCommitter(mutator, textField, commit, commitDelay, maxLength);
+        final boolean writes = mutator.getSetter() != null;
+        if (writes) {
+            committer.attach();
+        }
+        Binding binding = null;
+        if (mutator.getGetter() != null) {
+            binding = new DisposableBinding() {
+                public ModelUpdateFilter getFilter() {
+                    return filter;
                 }
 
-                private void updateModel() {
-                    try {
-                        mutator.set(textField.getText());
-                    } catch (Exception ex) {
-                        Wiring.logger.error("exception in JTextField binding", ex);
+                public void dispose() {
+                    mutator.getModel().unbind(this);
+                    if (writes) {
+                        committer.detach();
+                    }
+                    // a shared buffer would otherwise keep the document, and the field, reachable.
+                    if (textField.getDocument() instanceof TextBufferDocument) {
+                        ((TextBufferDocument) textField.getDocument()).detach();
                     }
                 }
-            });
-        }
-        Binding binding = null;
-        if (mutator.getGetter() != null) {
-            binding = new Binding() {
+
                 public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                    if (!filter.matches(changed)) {
+                        return;
+                    }
                     try {
-                        String string = (String)mutator.get();
-                        if (string == null) {
-                            string = "";
-                        }
-                        if (!string.equals(textField.getText())) {
-                            textField.setText(string);
+                        Object value = mutator.get();
+                        if (value instanceof TextLog) {
+                            committer.append((TextLog)value);
+                        } else if (value instanceof TextBuffer) {
+                            share(textField, (TextBuffer)value);
+                        } else {
+                            CharSequence text = (CharSequence)value;
+                            committer.show(text == null ? "" : text);
                         }
                     } catch (Exception ex) {
                         Wiring.logger.error("exception in JTextField binding", ex);
@@ -87,7 +124,216 @@ public class JTextComponentWiringHarness implements WiringHarness<Bound, Field>
                 }
             };
             mutator.getModel().bind(binding);
+        } else if (writes) {
+            // nothing to bind, but the listeners still have to come off when disposed.
+            binding = new ListenerRegistration() {
+                @Override
+                protected void removeListeners() {
+                    committer.detach();
+                }
+            };
         }
         return binding;
     }
+
+    /**
+     * Shows the buffer through a document sharing its storage, unless it already is.
+     */
+    private static void share(JTextComponent textField, TextBuffer buffer) {
+        Document current = textField.getDocument();
+        if (current instanceof TextBufferDocument) {
+            TextBufferDocument shared = (TextBufferDocument)current;
+            if (shared.getBuffer() == buffer) {
+                return;
+            }
+            shared.detach();
+        }
+        textField.setDocument(new TextBufferDocument(buffer));
+    }
+
+    /**
+     * Writes edits to the model when the commit mode says so, once per burst of document
+     * events, and keeps text set from the model from being written straight back.
+     */
+    private static final class TextCommitter
+            implements DocumentListener, FocusListener, ActionListener, PropertyChangeListener {
+        private final Mutator mutator;
+        private final JTextComponent textField;
+        private final Bound.TextCommit commit;
+        private final Timer timer;
+        private final int maxLength;
+        private Document document;
+        private boolean dirty;
+        private boolean showing;
+        private CharSequence lastText;
+        private final Segment segment = new Segment();
+        private TextLog shownLog;
+        private long shownTo;
+
+        TextCommitter(Mutator mutator, JTextComponent textField, Bound.TextCommit commit, int commitDelay,
+                int maxLength) {
+            this.mutator = mutator;
+            this.textField = textField;
+            this.commit = commit;
+            this.maxLength = maxLength;
+            this.lastText = textField.getText();
+            if (commitDelay > 0) {
+                timer = new Timer(commitDelay, this);
+                timer.setRepeats(false);
+            } else {
+                timer = null;
+            }
+        }
+
+        /**
+         * Installs the listeners that write edits to the model.
+         */
+        void attach() {
+            document = textField.getDocument();
+            document.addDocumentListener(this);
+            textField.addPropertyChangeListener("document", this);
+            textField.addFocusListener(this);
+            if (commit == Bound.TextCommit.ENTER && textField instanceof JTextField) {
+                ((JTextField) textField).addActionListener(this);
+            }
+        }
+
+        /**
+         * Removes the listeners installed by {@link #attach()} and drops any pending commit.
+         */
+        void detach() {
+            if (timer != null) {
+                timer.stop();
+            }
+            document.removeDocumentListener(this);
+            textField.removePropertyChangeListener("document", this);
+            textField.removeFocusListener(this);
+            if (textField instanceof JTextField) {
+                ((JTextField) textField).removeActionListener(this);
+            }
+        }
+
+        /**
+         * Moves the document listener over when the component is given another document.
+         */
+        public void propertyChange(PropertyChangeEvent evt) {
+            document.removeDocumentListener(this);
+            document = textField.getDocument();
+            document.addDocumentListener(this);
+        }
+
+        public void removeUpdate(DocumentEvent e) {
+            edited();
+        }
+
+        public void insertUpdate(DocumentEvent e) {
+            edited();
+        }
+
+        public void changedUpdate(DocumentEvent e) {
+            edited();
+        }
+
+        private void edited() {
+            // a shared buffer already hands its edits to the model as deltas.
+            if (showing || document instanceof TextBufferDocument) {
+                return;
+            }
+            dirty = true;
+            if (commit == Bound.TextCommit.EACH_CHANGE) {
+                if (timer == null) {
+                    commitEdit();
+                } else {
+                    timer.restart();
+                }
+            }
+        }
+
+        public void focusGained(FocusEvent e) {
+            // nothing to write yet.
+        }
+
+        public void focusLost(FocusEvent e) {
+            commitEdit();
+        }
+
+        /**
+         * Called by the delay timer and, in {@link Bound.TextCommit#ENTER} mode, on Enter.
+         */
+        public void actionPerformed(ActionEvent e) {
+            commitEdit();
+        }
+
+        private void commitEdit() {
+            if (timer != null) {
+                timer.stop();
+            }
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            String text = textField.getText();
+            if (text.contentEquals(lastText)) {
+                return;
+            }
+            lastText = text;
+            try {
+                mutator.set(text);
+            } catch (Exception ex) {
+                Wiring.logger.error("exception in JTextField binding", ex);
+            }
+        }
+
+        /**
+         * Shows the model's value, unless there are edits that haven't been written yet and
+         * differ from it.  The document is compared in place and only the range that differs
+         * is replaced.
+         */
+        void show(CharSequence text) throws BadLocationException {
+            if (dirty) {
+                if (!textField.getText().contentEquals(text)) {
+                    return;
+                }
+                // the model caught up with the edit, so there is nothing left to write.
+                dirty = false;
+            }
+            lastText = text;
+            showing = true;
+            try {
+                DocumentText.update(textField.getDocument(), text, segment);
+            } finally {
+                showing = false;
+            }
+        }
+
+        /**
+         * Inserts what was appended to the log since it was last shown, then trims the head of
+         * the document back under the maximum length.  A different log replaces the text.
+         */
+        void append(TextLog log) throws BadLocationException {
+            Document document = textField.getDocument();
+            StringBuilder tail = new StringBuilder();
+            showing = true;
+            try {
+                if (log != shownLog) {
+                    shownLog = log;
+                    shownTo = log.readFrom(0, tail);
+                    document.remove(0, document.getLength());
+                } else {
+                    shownTo = log.readFrom(shownTo, tail);
+                }
+                if (tail.length() == 0) {
+                    return;
+                }
+                document.insertString(document.getLength(), tail.toString(), null);
+                int length = document.getLength();
+                if (maxLength > 0 && length > maxLength) {
+                    // trim an extra eighth so that the head isn't cut on every append.
+                    document.remove(0, Math.min(length, length - maxLength + maxLength / 8));
+                }
+            } finally {
+                showing = false;
+            }
+        }
+    }
 }
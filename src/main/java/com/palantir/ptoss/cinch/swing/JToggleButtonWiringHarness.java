@@ -28,7 +28,9 @@ import com.palantir.ptoss.cinch.core.BindableModel;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
 import com.palantir.ptoss.cinch.core.BindingException;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
 import com.palantir.ptoss.cinch.core.WiringHarness;
 import com.palantir.ptoss.cinch.swing.Bound.Wiring;
 import com.palantir.ptoss.util.Mutator;
@@ -44,18 +46,20 @@ public class JToggleButtonWiringHarness implements WiringHarness<Bound, Field> {
         String target = bound.to();
         Mutator mutator = Mutator.create(context, target);
         JToggleButton toggle = context.getFieldObject(field, JToggleButton.class);
+        ModelUpdateFilter filter = ModelUpdateFilter.of(BindingContext.getOnObjects(bound.on(), mutator.getModel()))
+                .withProperty(BindingContext.getPropertyName(bound.to()));
 
         Class<?>[] paramTypes = mutator.getSetter().getMethod().getParameterTypes();
         if (paramTypes.length == 1 && paramTypes[0].isEnum()) {
             Class<?> enumType = paramTypes[0];
             String value = bound.value();
-            return ImmutableList.of(bindJToggleButtonToEnum(value, enumType, mutator, toggle));
+            return ImmutableList.of(bindJToggleButtonToEnum(value, enumType, mutator, toggle, filter));
         } else if (paramTypes.length == 1 && paramTypes[0] == boolean.class) {
             String value = bound.value();
             if (Strings.isNullOrEmpty(value)) {
-                return ImmutableList.of(AbstractButtonWiringHarness.bindAbstractButton(mutator, toggle));
+                return ImmutableList.of(AbstractButtonWiringHarness.bindAbstractButton(mutator, toggle, filter));
             } else {
-                return ImmutableList.of(bindJToggleButtonToBoolean(bound.value(), mutator, toggle));
+                return ImmutableList.of(bindJToggleButtonToBoolean(bound.value(), mutator, toggle, filter));
             }
         } else {
             throw new BindingException("can only bind JToggleButtons to enums or booleans"); //$NON-NLS-1$
@@ -64,8 +68,13 @@ public class JToggleButtonWiringHarness implements WiringHarness<Bound, Field> {
 
     public static Binding bindJToggleButtonToBoolean(String value,
             final Mutator mutator, final AbstractButton button) {
+        return bindJToggleButtonToBoolean(value, mutator, button, ModelUpdateFilter.ANY);
+    }
+
+    public static Binding bindJToggleButtonToBoolean(String value,
+            final Mutator mutator, final AbstractButton button, final ModelUpdateFilter filter) {
         final boolean booleanValue = Boolean.valueOf(value);
-        button.addActionListener(new ActionListener() {
+        final ActionListener listener = new ActionListener() {
             public void actionPerformed(ActionEvent e) {
                 try {
                     mutator.set(booleanValue);
@@ -73,16 +82,32 @@ public class JToggleButtonWiringHarness implements WiringHarness<Bound, Field> {
                     Wiring.logger.error("exception in JRadioButton binding", ex); //$NON-NLS-1$
                 }
             }
-        });
+        };
+        button.addActionListener(listener);
+
+        Binding binding = new DisposableBinding() {
+            public ModelUpdateFilter getFilter() {
+                return filter;
+            }
 
-        Binding binding = new Binding() {
             public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                if (!filter.matches(changed)) {
+                    return;
+                }
                 try {
-                    button.setSelected(mutator.get().equals(Boolean.valueOf(booleanValue)));
+                    boolean selected = mutator.get().equals(Boolean.valueOf(booleanValue));
+                    if (button.isSelected() != selected) {
+                        button.setSelected(selected);
+                    }
                 } catch (Exception ex) {
                     Wiring.logger.error("exception in JRadioButton binding", ex); //$NON-NLS-1$
                 }
             }
+
+            public void dispose() {
+                mutator.getModel().unbind(this);
+                button.removeActionListener(listener);
+            }
         };
         mutator.getModel().bind(binding);
         return binding;
@@ -90,8 +115,13 @@ public class JToggleButtonWiringHarness implements WiringHarness<Bound, Field> {
 
     public static Binding bindJToggleButtonToEnum(final String value, final Class<?> enumType,
             final Mutator mutator, final AbstractButton button) {
+        return bindJToggleButtonToEnum(value, enumType, mutator, button, ModelUpdateFilter.ANY);
+    }
+
+    public static Binding bindJToggleButtonToEnum(final String value, final Class<?> enumType,
+            final Mutator mutator, final AbstractButton button, final ModelUpdateFilter filter) {
         final Object enumValue = Reflections.evalEnum(enumType, value);
-        button.addActionListener(new ActionListener() {
+        final ActionListener listener = new ActionListener() {
             public void actionPerformed(ActionEvent e) {
                 try {
                     mutator.set(enumValue);
@@ -99,16 +129,32 @@ public class JToggleButtonWiringHarness implements WiringHarness<Bound, Field> {
                     Wiring.logger.error("exception in JToggleButton binding", ex); //$NON-NLS-1$
                 }
             }
-        });
+        };
+        button.addActionListener(listener);
+
+        Binding binding = new DisposableBinding() {
+            public ModelUpdateFilter getFilter() {
+                return filter;
+            }
 
-        Binding binding = new Binding() {
             public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                if (!filter.matches(changed)) {
+                    return;
+                }
                 try {
-                    button.setSelected(mutator.get() == enumValue);
+                    boolean selected = mutator.get() == enumValue;
+                    if (button.isSelected() != selected) {
+                        button.setSelected(selected);
+                    }
                 } catch (Exception ex) {
                     Wiring.logger.error("exception in JToggleButton binding", ex); //$NON-NLS-1$
                 }
             }
+
+            public void dispose() {
+                mutator.getModel().unbind(this);
+                button.removeActionListener(listener);
+            }
         };
         mutator.getModel().bind(binding);
         return binding;
@@ -0,0 +1,107 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.swing;
+
+import java.beans.IntrospectionException;
+import java.lang.reflect.Field;
+import java.util.Collection;
+
+import javax.swing.JTree;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeExpansionListener;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.ptoss.cinch.core.BindableModel;
+import com.palantir.ptoss.cinch.core.Binding;
+import com.palantir.ptoss.cinch.core.BindingContext;
+import com.palantir.ptoss.cinch.core.BindingException;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
+import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
+import com.palantir.ptoss.cinch.core.PropertyVersion;
+import com.palantir.ptoss.cinch.core.WiringHarness;
+import com.palantir.ptoss.cinch.swing.Bound.Utilities;
+import com.palantir.ptoss.cinch.swing.Bound.Wiring;
+import com.palantir.ptoss.util.Mutator;
+
+/**
+ * <p>
+ * Wires up a {@link JTree} to the root of a hierarchy in a {@link BindableModel}.  The
+ * {@link Bound#children()} property of each node lists its children, and is only read for the
+ * nodes the tree shows.
+ * <p>
+ * Like {@link JListWiringHarness} this binding is only one way.  The tree's model is installed
+ * once; on each update a {@link LazyTreeModel} compares the children of the nodes it has shown
+ * and fires inserted, removed and changed events for what differs, so expansion, selection and
+ * scroll position are kept.  Setting a different root resets the tree, and collapsing a node
+ * forgets the subtree below it.
+ */
+public class JTreeWiringHarness implements WiringHarness<Bound, Field> {
+    public Collection<Binding> wire(Bound bound, BindingContext context, Field field)
+            throws IllegalAccessException, IntrospectionException {
+        if (Utilities.isNullOrBlank(bound.children())) {
+            throw new BindingException("@Bound JTree needs children: " + field.getName());
+        }
+        JTree tree = context.getFieldObject(field, JTree.class);
+        Mutator mutator = Mutator.create(context, bound.to());
+        return ImmutableList.of(bindJTree(bound, mutator, tree));
+    }
+
+    private Binding bindJTree(final Bound bound, final Mutator mutator, final JTree tree) {
+        final ModelUpdateFilter filter = ModelUpdateFilter.of(
+                BindingContext.getOnObjects(bound.on(), mutator.getModel()))
+                .withProperty(BindingContext.getPropertyName(bound.to()));
+        final LazyTreeModel treeModel = new LazyTreeModel(bound.children());
+        final PropertyVersion.Tracker version = mutator.newVersionTracker();
+        final TreeExpansionListener collapses = new TreeExpansionListener() {
+            public void treeExpanded(TreeExpansionEvent event) {
+                // children are read as the tree asks for them.
+            }
+
+            public void treeCollapsed(TreeExpansionEvent event) {
+                if (tree.getModel() == treeModel) {
+                    treeModel.collapsed(event.getPath());
+                }
+            }
+        };
+        tree.addTreeExpansionListener(collapses);
+        Binding binding = new DisposableBinding() {
+            public ModelUpdateFilter getFilter() {
+                return filter;
+            }
+
+            public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                if (!filter.matches(changed) || !version.changed(changed)) {
+                    return;
+                }
+                try {
+                    treeModel.refresh(mutator.get());
+                    if (tree.getModel() != treeModel) {
+                        tree.setModel(treeModel);
+                    }
+                    version.shown();
+                } catch (Exception ex) {
+                    Wiring.logger.error("exception in JTree binding", ex);
+                }
+            }
+
+            public void dispose() {
+                mutator.getModel().unbind(this);
+                tree.removeTreeExpansionListener(collapses);
+            }
+        };
+        mutator.getModel().bind(binding);
+        return binding;
+    }
+}
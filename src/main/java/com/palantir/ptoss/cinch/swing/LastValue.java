@@ -0,0 +1,73 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.swing;
+
+import com.google.common.base.Objects;
+import com.palantir.ptoss.cinch.core.ModelUpdates;
+
+/**
+ * Remembers the last value a one-way binding pushed into a component, so that an update that
+ * leaves the value alone makes no Swing call.  The component is assumed to be changed only
+ * through its binding; a value set behind the binding's back is corrected the next time the
+ * model's value changes, or by a full sync with {@link ModelUpdates#ALL}, which always gets
+ * through.  Like the components it guards it belongs to the event thread.
+ */
+final class LastValue {
+    private static final Object UNSET = new Object();
+
+    private Object last = UNSET;
+    // -1 until the first boolean is pushed.
+    private int lastBoolean = -1;
+
+    /**
+     * Records the value and returns whether it differs from the last one or the updates
+     * include {@link ModelUpdates#ALL}.
+     */
+    boolean changed(boolean value, Object[] updates) {
+        boolean differs = changed(value);
+        return differs || ModelUpdates.containsAll(updates);
+    }
+
+    /**
+     * Records the value and returns whether it differs from the last one or the updates
+     * include {@link ModelUpdates#ALL}.
+     */
+    boolean changed(Object value, Object[] updates) {
+        boolean differs = changed(value);
+        return differs || ModelUpdates.containsAll(updates);
+    }
+
+    /**
+     * Records the value and returns whether it differs from the last one.
+     */
+    boolean changed(boolean value) {
+        int current = value ? 1 : 0;
+        if (current == lastBoolean) {
+            return false;
+        }
+        lastBoolean = current;
+        return true;
+    }
+
+    /**
+     * Records the value and returns whether it differs from the last one.
+     */
+    boolean changed(Object value) {
+        if (last != UNSET && Objects.equal(last, value)) {
+            return false;
+        }
+        last = value;
+        return true;
+    }
+}
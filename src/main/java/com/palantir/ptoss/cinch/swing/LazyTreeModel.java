@@ -0,0 +1,303 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.swing;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.event.EventListenerList;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.palantir.ptoss.cinch.core.BindingException;
+import com.palantir.ptoss.util.ListDiff;
+
+/**
+ * <p>
+ * A read-only tree model over a hierarchy of objects, each of which lists its children through
+ * a getter.  Children are only read when the tree asks for them, which it does for the nodes
+ * it shows, so a collapsed subtree is never visited however large it is.
+ * <p>
+ * The model remembers the children it handed out.  {@link #refresh(Object)} reads them again
+ * for just those nodes and fires inserted, removed and changed events for the differences.
+ * Nodes are told apart with {@link Object#equals(Object)}, so each should appear only once;
+ * a node that was replaced by an equal instance is shown, and read, through the new one.
+ * {@link #collapsed(TreePath)} forgets the subtree below a collapsed node, so that only what
+ * is expanded is read again.
+ */
+final class LazyTreeModel implements TreeModel {
+    private final String childrenProperty;
+    private final EventListenerList listeners = new EventListenerList();
+    private final Map<Object, Children> materialized = Maps.newHashMap();
+    private Object root;
+    private String rootLabel;
+
+    /**
+     * The children of a node as last shown, with the text they were shown with.
+     */
+    private static final class Children {
+        final ArrayList<Object> nodes;
+        final ArrayList<String> labels;
+
+        Children(List<?> nodes) {
+            this.nodes = Lists.newArrayList(nodes);
+            this.labels = Lists.newArrayListWithCapacity(nodes.size());
+            for (Object node : nodes) {
+                labels.add(String.valueOf(node));
+            }
+        }
+    }
+
+    LazyTreeModel(String childrenProperty) {
+        this.childrenProperty = childrenProperty;
+    }
+
+    public Object getRoot() {
+        return root;
+    }
+
+    public Object getChild(Object parent, int index) {
+        return children(parent).nodes.get(index);
+    }
+
+    public int getChildCount(Object parent) {
+        return children(parent).nodes.size();
+    }
+
+    public boolean isLeaf(Object node) {
+        return children(node).nodes.isEmpty();
+    }
+
+    public int getIndexOfChild(Object parent, Object child) {
+        if (parent == null || child == null) {
+            return -1;
+        }
+        return children(parent).nodes.indexOf(child);
+    }
+
+    public void valueForPathChanged(TreePath path, Object newValue) {
+        // the tree is one way; edits go through the bindable model.
+    }
+
+    public void addTreeModelListener(TreeModelListener listener) {
+        listeners.add(TreeModelListener.class, listener);
+    }
+
+    public void removeTreeModelListener(TreeModelListener listener) {
+        listeners.remove(TreeModelListener.class, listener);
+    }
+
+    private Children children(Object node) {
+        Children children = materialized.get(node);
+        if (children == null) {
+            children = new Children(readChildren(node));
+            materialized.put(node, children);
+        }
+        return children;
+    }
+
+    private List<?> readChildren(Object node) {
+        try {
+            Object children = BeanProperties.getter(node.getClass(), childrenProperty).invoke(node);
+            if (children == null) {
+                return Lists.newArrayList();
+            }
+            if (children instanceof List<?>) {
+                return (List<?>) children;
+            }
+            if (children instanceof Iterable<?>) {
+                return Lists.newArrayList((Iterable<?>) children);
+            }
+            throw new BindingException("children of " + node + " are not a list: " + childrenProperty);
+        } catch (IllegalAccessException e) {
+            throw new BindingException("could not read children of " + node, e);
+        } catch (InvocationTargetException e) {
+            throw new BindingException("could not read children of " + node, e);
+        }
+    }
+
+    /**
+     * Moves the model to the passed root.  A different root resets the tree; the same root has
+     * the children of every node handed out so far read again and compared.
+     */
+    void refresh(Object newRoot) {
+        if (!Objects.equal(root, newRoot)) {
+            root = newRoot;
+            rootLabel = String.valueOf(newRoot);
+            materialized.clear();
+            TreePath path = newRoot == null ? null : new TreePath(newRoot);
+            fireTreeStructureChanged(new TreeModelEvent(this, path));
+            return;
+        }
+        if (root == null) {
+            return;
+        }
+        if (root != newRoot) {
+            rekey(root, newRoot);
+            root = newRoot;
+        }
+        TreePath rootPath = new TreePath(root);
+        String label = String.valueOf(root);
+        if (!label.equals(rootLabel)) {
+            rootLabel = label;
+            fireTreeNodesChanged(new TreeModelEvent(this, rootPath, null, null));
+        }
+        refresh(rootPath);
+    }
+
+    private void refresh(TreePath path) {
+        Object node = path.getLastPathComponent();
+        Children children = materialized.get(node);
+        if (children == null) {
+            return;
+        }
+        List<?> current = readChildren(node);
+        List<ListDiff.Edit> edits = ListDiff.diff(children.nodes, current);
+        for (int i = edits.size() - 1; i >= 0; i--) {
+            apply(path, children, edits.get(i), current);
+        }
+        // kept nodes are equal to the current ones, but may be other instances.
+        for (int i = 0; i < current.size(); i++) {
+            Object kept = children.nodes.get(i);
+            Object now = current.get(i);
+            if (kept != now) {
+                children.nodes.set(i, now);
+                rekey(kept, now);
+            }
+        }
+        List<Integer> changed = Lists.newArrayList();
+        for (int i = 0; i < children.nodes.size(); i++) {
+            String label = String.valueOf(children.nodes.get(i));
+            if (!label.equals(children.labels.get(i))) {
+                children.labels.set(i, label);
+                changed.add(i);
+            }
+        }
+        if (!changed.isEmpty()) {
+            int[] indices = new int[changed.size()];
+            Object[] nodes = new Object[changed.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = changed.get(i);
+                nodes[i] = children.nodes.get(indices[i]);
+            }
+            fireTreeNodesChanged(new TreeModelEvent(this, path, indices, nodes));
+        }
+        for (Object child : children.nodes) {
+            if (materialized.containsKey(child)) {
+                refresh(path.pathByAddingChild(child));
+            }
+        }
+    }
+
+    private void apply(TreePath path, Children children, ListDiff.Edit edit, List<?> current) {
+        int position = edit.getPosition();
+        int removeCount = edit.getRemoveCount();
+        if (removeCount > 0) {
+            List<Object> removed = children.nodes.subList(position, position + removeCount);
+            Object[] nodes = removed.toArray();
+            for (Object child : nodes) {
+                forget(child);
+            }
+            removed.clear();
+            children.labels.subList(position, position + removeCount).clear();
+            fireTreeNodesRemoved(new TreeModelEvent(this, path, range(position, removeCount), nodes));
+        }
+        int insertCount = edit.getInsertCount();
+        if (insertCount > 0) {
+            List<?> inserted = current.subList(edit.getInsertIndex(), edit.getInsertIndex() + insertCount);
+            children.nodes.addAll(position, inserted);
+            List<String> labels = Lists.newArrayListWithCapacity(insertCount);
+            for (Object child : inserted) {
+                labels.add(String.valueOf(child));
+            }
+            children.labels.addAll(position, labels);
+            fireTreeNodesInserted(new TreeModelEvent(this, path, range(position, insertCount), inserted.toArray()));
+        }
+    }
+
+    /**
+     * Files what was remembered about a node under the equal instance that replaced it.
+     */
+    private void rekey(Object old, Object replacement) {
+        Children children = materialized.remove(old);
+        if (children != null) {
+            materialized.put(replacement, children);
+        }
+    }
+
+    /**
+     * Forgets the descendants of the node at the end of the passed path, which the tree no
+     * longer shows.  The node's own children are kept, since its expand handle still depends
+     * on them.
+     */
+    void collapsed(TreePath path) {
+        Children children = materialized.get(path.getLastPathComponent());
+        if (children != null) {
+            for (Object child : children.nodes) {
+                forget(child);
+            }
+        }
+    }
+
+    /**
+     * Drops what was remembered about a node that is no longer shown, and its descendants.
+     */
+    private void forget(Object node) {
+        Children children = materialized.remove(node);
+        if (children != null) {
+            for (Object child : children.nodes) {
+                forget(child);
+            }
+        }
+    }
+
+    private static int[] range(int start, int count) {
+        int[] indices = new int[count];
+        for (int i = 0; i < count; i++) {
+            indices[i] = start + i;
+        }
+        return indices;
+    }
+
+    private void fireTreeNodesChanged(TreeModelEvent event) {
+        for (TreeModelListener listener : listeners.getListeners(TreeModelListener.class)) {
+            listener.treeNodesChanged(event);
+        }
+    }
+
+    private void fireTreeNodesInserted(TreeModelEvent event) {
+        for (TreeModelListener listener : listeners.getListeners(TreeModelListener.class)) {
+            listener.treeNodesInserted(event);
+        }
+    }
+
+    private void fireTreeNodesRemoved(TreeModelEvent event) {
+        for (TreeModelListener listener : listeners.getListeners(TreeModelListener.class)) {
+            listener.treeNodesRemoved(event);
+        }
+    }
+
+    private void fireTreeStructureChanged(TreeModelEvent event) {
+        for (TreeModelListener listener : listeners.getListeners(TreeModelListener.class)) {
+            listener.treeStructureChanged(event);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.swing;
+
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+import javax.swing.ComboBoxModel;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A list model that shows a bound {@link List} directly.  Nothing is copied: elements are read
+ * from the list as the view asks for them, so the list must only be changed on the event
+ * thread and followed by a model update.  Nothing is kept per row either, so an update is
+ * O(1) whatever the size of the list.  An optional leading element stands in for the null
+ * value of a {@link javax.swing.JComboBox}.
+ */
+final class ListViewModel extends AbstractListModel<Object> implements ComboBoxModel<Object> {
+    private static final long serialVersionUID = 1L;
+
+    private final Object leading;
+    private List<?> list = ImmutableList.of();
+    private int size;
+    private Object selected;
+
+    ListViewModel(Object leading) {
+        this.leading = leading;
+    }
+
+    private int offset() {
+        return leading == null ? 0 : 1;
+    }
+
+    public int getSize() {
+        return size + offset();
+    }
+
+    public Object getElementAt(int index) {
+        if (leading != null) {
+            if (index == 0) {
+                return leading;
+            }
+            index--;
+        }
+        return index < list.size() ? list.get(index) : null;
+    }
+
+    List<?> getList() {
+        return list;
+    }
+
+    /**
+     * Shows the passed list, which may be the one already shown after it was changed in place.
+     * Rows beyond the old or new end are reported as removed or added and the rest as changed,
+     * in one event; the view repaints the visible ones, reading them from the list.
+     */
+    void setList(List<?> newList) {
+        list = newList == null ? ImmutableList.of() : newList;
+        int oldSize = size;
+        int newSize = list.size();
+        int offset = offset();
+        if (newSize < oldSize) {
+            size = newSize;
+            fireIntervalRemoved(this, offset + newSize, offset + oldSize - 1);
+        } else if (newSize > oldSize) {
+            size = newSize;
+            fireIntervalAdded(this, offset + oldSize, offset + newSize - 1);
+        }
+        int common = Math.min(oldSize, newSize);
+        if (common > 0) {
+            fireContentsChanged(this, offset, offset + common - 1);
+        }
+    }
+
+    /**
+     * Returns the index of the passed element, or -1 if it isn't shown.
+     */
+    int indexOf(Object element) {
+        if (leading != null && leading.equals(element)) {
+            return 0;
+        }
+        int index = list.indexOf(element);
+        return index == -1 ? -1 : index + offset();
+    }
+
+    public Object getSelectedItem() {
+        return selected;
+    }
+
+    public void setSelectedItem(Object item) {
+        if (selected == null ? item == null : selected.equals(item)) {
+            return;
+        }
+        selected = item;
+        fireContentsChanged(this, -1, -1);
+    }
+}
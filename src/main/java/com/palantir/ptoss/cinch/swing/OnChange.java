@@ -31,12 +31,15 @@ import javax.swing.event.ChangeListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
 import com.palantir.ptoss.cinch.core.BindingException;
 import com.palantir.ptoss.cinch.core.BindingWiring;
+import com.palantir.ptoss.cinch.core.ListenerRegistration;
 import com.palantir.ptoss.cinch.core.ObjectFieldMethod;
+import com.palantir.ptoss.util.Invoker;
+import com.palantir.ptoss.util.Invokers;
 
 /**
  * A component binding that will call a method when an action occurs.  This can be applied to
@@ -66,18 +69,19 @@ public @interface OnChange {
 
         public Collection<Binding> wire(BindingContext context) {
             List<Field> actions = context.getAnnotatedFields(OnChange.class);
+            List<Binding> bindings = Lists.newArrayList();
             for (Field field : actions) {
                 OnChange change = field.getAnnotation(OnChange.class);
                 try {
-                    wire(change, field, context);
+                    bindings.add(wire(change, field, context));
                 } catch (Exception e) {
                     throw new BindingException("could not wire up @OnChange on " + field.getName(), e);
                 }
             }
-            return ImmutableList.of();
+            return bindings;
         }
 
-        private static void wire(final OnChange change, Field field, BindingContext context)
+        private static Binding wire(final OnChange change, Field field, BindingContext context)
             throws SecurityException, NoSuchMethodException, IllegalArgumentException, IllegalAccessException, InvocationTargetException {
 
             String call = change.call();
@@ -91,7 +95,7 @@ public @interface OnChange {
                 // not a problem, leave value as null;
             }
 
-            final Method adjustMethod = _adjustMethod;
+            final Invoker adjustMethod = _adjustMethod == null ? null : Invokers.forMethod(_adjustMethod);
             final Method addChangeMethod = field.getType().getMethod("addChangeListener", ChangeListener.class);
             if (addChangeMethod != null) {
                 final Object changeObject = context.getFieldObject(field, Object.class);
@@ -99,13 +103,18 @@ public @interface OnChange {
                 if (ofm == null) {
                     throw new BindingException("could not find bindable method: " + call);
                 }
+                final ListenerRegistration.Removing registration =
+                        ListenerRegistration.removing(field.getType(), changeObject, ChangeListener.class);
                 final ChangeListener changeListener = new ChangeListener() {
                     public void stateChanged(ChangeEvent e) {
+                        if (registration.isDisposed()) {
+                            return;
+                        }
                         try {
                             if (adjustMethod != null && !change.onAdjust()) {
                                 if ((Boolean) adjustMethod.invoke(changeObject)) return;
                             }
-                            ofm.getMethod().invoke(ofm.getObject());
+                            ofm.invoke();
                         } catch (InvocationTargetException itex) {
                             logger.error("exception during action firing", itex.getCause());
                         } catch (Exception ex) {
@@ -113,8 +122,10 @@ public @interface OnChange {
                         }
                     }
                 };
-                addChangeMethod.invoke(changeObject, changeListener);
+                registration.add(addChangeMethod, changeListener);
+                return registration;
             }
+            throw new BindingException("no addChangeListener on @OnChange field " + field.getName());
         }
     }
 }
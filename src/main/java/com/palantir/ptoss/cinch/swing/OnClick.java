@@ -29,11 +29,12 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
 import com.palantir.ptoss.cinch.core.BindingException;
 import com.palantir.ptoss.cinch.core.BindingWiring;
+import com.palantir.ptoss.cinch.core.ListenerRegistration;
 import com.palantir.ptoss.cinch.core.ObjectFieldMethod;
 
 /**
@@ -70,18 +71,22 @@ public @interface OnClick {
 
         public Collection<Binding> wire(BindingContext context) {
             List<Field> actions = context.getAnnotatedFields(OnClick.class);
+            List<Binding> bindings = Lists.newArrayList();
             for (Field field : actions) {
                 OnClick onClick = field.getAnnotation(OnClick.class);
                 try {
-                    wire(onClick, field, context);
+                    Binding binding = wire(onClick, field, context);
+                    if (binding != null) {
+                        bindings.add(binding);
+                    }
                 } catch (Exception e) {
                     throw new BindingException("could not wire up @OnClick on " + field.getName(), e);
                 }
             }
-            return ImmutableList.of();
+            return bindings;
         }
 
-        private static void wire(final OnClick onClick, Field field, BindingContext context)
+        private static Binding wire(final OnClick onClick, Field field, BindingContext context)
             throws SecurityException, NoSuchMethodException, IllegalArgumentException, IllegalAccessException, InvocationTargetException {
             String call = onClick.call();
             if (call == null) {
@@ -94,22 +99,28 @@ public @interface OnClick {
                 if (ofm == null) {
                     throw new BindingException("could not find bindable method: " + call);
                 }
+                final ListenerRegistration.Removing registration =
+                        ListenerRegistration.removing(field.getType(), actionObject, MouseListener.class);
                 MouseListener mouseListener = new MouseAdapter() {
                     @Override
                     public void mouseClicked(MouseEvent e) {
+                        if (registration.isDisposed()) {
+                            return;
+                        }
                         if (e.getButton() != onClick.button().getConstant() || e.getClickCount() != onClick.count()) {
                             return;
                         }
                         try {
-                            ofm.getMethod().setAccessible(true);
-                            ofm.getMethod().invoke(ofm.getObject());
+                            ofm.invoke();
                         } catch (Exception ex) {
                             logger.error("exception during action firing", ex);
                         }
                     }
                 };
-                amlMethod.invoke(actionObject, mouseListener);
+                registration.add(amlMethod, mouseListener);
+                return registration;
             }
+            return null;
         }
     }
 }
@@ -28,11 +28,12 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
 import com.palantir.ptoss.cinch.core.BindingException;
 import com.palantir.ptoss.cinch.core.BindingWiring;
+import com.palantir.ptoss.cinch.core.ListenerRegistration;
 import com.palantir.ptoss.cinch.core.ObjectFieldMethod;
 
 /**
@@ -60,6 +61,7 @@ public @interface OnFocusChange {
 
         public Collection<Binding> wire(BindingContext context) {
             List<Field> actions = context.getAnnotatedFields(OnFocusChange.class);
+            List<Binding> bindings = Lists.newArrayList();
             for (Field field : actions) {
                 OnFocusChange focusChange = field.getAnnotation(OnFocusChange.class);
                 String lost = normalizeString(focusChange.lost());
@@ -68,15 +70,15 @@ public @interface OnFocusChange {
                     throw new BindingException("either lost or gained must be specified on @OnFocusChange on " + field.getName());
                 }
                 try {
-                    wire(lost, gained, field, context);
+                    bindings.add(wire(lost, gained, field, context));
                 } catch (Exception e) {
                     throw new BindingException("could not wire up @OnFocusChange " + field.getName(), e);
                 }
             }
-            return ImmutableList.of();
+            return bindings;
         }
 
-        private static void wire(String lost, String gained, Field field, BindingContext context)
+        private static Binding wire(String lost, String gained, Field field, BindingContext context)
             throws SecurityException, NoSuchMethodException, IllegalArgumentException, IllegalAccessException, InvocationTargetException {
             Method aflMethod = field.getType().getMethod("addFocusListener", FocusListener.class);
             if (aflMethod != null) {
@@ -99,14 +101,16 @@ public @interface OnFocusChange {
                         throw new BindingException("could not find bindable method: " + gained);
                     }
                 }
+                final ListenerRegistration.Removing registration =
+                        ListenerRegistration.removing(field.getType(), actionObject, FocusListener.class);
                 FocusListener focusListener = new FocusListener() {
                     public void focusGained(FocusEvent e) {
+                        if (registration.isDisposed()) {
+                            return;
+                        }
                         try {
                             if (gainedOFM != null) {
-                                boolean accessible = gainedOFM.getMethod().isAccessible();
-                                gainedOFM.getMethod().setAccessible(true);
-                                gainedOFM.getMethod().invoke(gainedOFM.getObject());
-                                gainedOFM.getMethod().setAccessible(accessible);
+                                gainedOFM.invoke();
                             }
                         } catch (Exception ex) {
                             logger.error("exception during focusGained firing", ex);
@@ -114,20 +118,22 @@ public @interface OnFocusChange {
                     }
 
                     public void focusLost(FocusEvent e) {
+                        if (registration.isDisposed()) {
+                            return;
+                        }
                         try {
                             if (lostOFM != null) {
-                                boolean accessible = lostOFM.getMethod().isAccessible();
-                                lostOFM.getMethod().setAccessible(true);
-                                lostOFM.getMethod().invoke(lostOFM.getObject());
-                                lostOFM.getMethod().setAccessible(accessible);
+                                lostOFM.invoke();
                             }
                         } catch (Exception ex) {
                             logger.error("exception during focusLost firing", ex);
                         }
                     }
                 };
-                aflMethod.invoke(actionObject, focusListener);
+                registration.add(aflMethod, focusListener);
+                return registration;
             }
+            throw new BindingException("no addFocusListener on @OnFocusChange field " + field.getName());
         }
     }
 }
@@ -0,0 +1,173 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.swing;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.table.AbstractTableModel;
+
+import com.google.common.collect.Maps;
+import com.palantir.ptoss.util.Invoker;
+import com.palantir.ptoss.util.ListDiff;
+
+/**
+ * A read-only table model with one row per object in a bound {@link List} and one column per
+ * property of those objects.  The model keeps the rows and cell values it last showed, so
+ * moving to new contents fires row inserted, deleted and updated events only for the rows
+ * that changed.  Rows kept across an update are read again only if the model was made to
+ * refresh cells; that costs a getter call per cell but no allocation unless a row changed.
+ */
+final class RowTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    private final String[] columns;
+    private final boolean refreshCells;
+    private final ArrayList<Object> rows = new ArrayList<Object>();
+    private final ArrayList<Object[]> cells = new ArrayList<Object[]>();
+    private final Map<Class<?>, Invoker[]> getters = Maps.newHashMap();
+    // cells are read into this and swapped in only when they differ from those shown.
+    private Object[] scratch;
+
+    RowTableModel(String[] columns, boolean refreshCells) {
+        this.columns = columns.clone();
+        this.refreshCells = refreshCells;
+        this.scratch = new Object[columns.length];
+    }
+
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    public Object getValueAt(int row, int column) {
+        return cells.get(row)[column];
+    }
+
+    /**
+     * Returns the row object shown in the passed model row.
+     */
+    Object getRow(int row) {
+        return rows.get(row);
+    }
+
+    /**
+     * Changes the rows to the passed list.  Rows are matched by {@link Object#equals(Object)};
+     * if cells are refreshed, matched rows have their cells read again and are reported as
+     * updated if any differ.
+     */
+    void setRows(List<?> newRows) throws IllegalAccessException, InvocationTargetException {
+        List<ListDiff.Edit> edits = ListDiff.diff(rows, newRows);
+        boolean[] fresh = new boolean[newRows.size()];
+        rows.ensureCapacity(newRows.size());
+        cells.ensureCapacity(newRows.size());
+        for (int i = edits.size() - 1; i >= 0; i--) {
+            ListDiff.Edit edit = edits.get(i);
+            apply(edit, newRows);
+            Arrays.fill(fresh, edit.getInsertIndex(), edit.getInsertIndex() + edit.getInsertCount(), true);
+        }
+        if (!refreshCells) {
+            return;
+        }
+        int changedFrom = -1;
+        for (int row = 0; row < fresh.length; row++) {
+            boolean changed = false;
+            if (!fresh[row]) {
+                Object[] newCells = read(rows.get(row), scratch);
+                if (!Arrays.equals(newCells, cells.get(row))) {
+                    scratch = cells.set(row, newCells);
+                    changed = true;
+                }
+            }
+            if (changed && changedFrom == -1) {
+                changedFrom = row;
+            } else if (!changed && changedFrom != -1) {
+                fireTableRowsUpdated(changedFrom, row - 1);
+                changedFrom = -1;
+            }
+        }
+        if (changedFrom != -1) {
+            fireTableRowsUpdated(changedFrom, fresh.length - 1);
+        }
+    }
+
+    private void apply(ListDiff.Edit edit, List<?> newRows) throws IllegalAccessException, InvocationTargetException {
+        int position = edit.getPosition();
+        int removeCount = edit.getRemoveCount();
+        int insertCount = edit.getInsertCount();
+        int insertIndex = edit.getInsertIndex();
+        int changed = Math.min(removeCount, insertCount);
+        for (int i = 0; i < changed; i++) {
+            Object row = newRows.get(insertIndex + i);
+            rows.set(position + i, row);
+            cells.set(position + i, read(row));
+        }
+        if (changed > 0) {
+            fireTableRowsUpdated(position, position + changed - 1);
+        }
+        if (removeCount > changed) {
+            rows.subList(position + changed, position + removeCount).clear();
+            cells.subList(position + changed, position + removeCount).clear();
+            fireTableRowsDeleted(position + changed, position + removeCount - 1);
+        } else if (insertCount > changed) {
+            List<Object[]> added = new ArrayList<Object[]>(insertCount - changed);
+            for (int i = changed; i < insertCount; i++) {
+                added.add(read(newRows.get(insertIndex + i)));
+            }
+            rows.addAll(position + changed, newRows.subList(insertIndex + changed, insertIndex + insertCount));
+            cells.addAll(position + changed, added);
+            fireTableRowsInserted(position + changed, position + insertCount - 1);
+        }
+    }
+
+    private Object[] read(Object row) throws IllegalAccessException, InvocationTargetException {
+        return read(row, new Object[columns.length]);
+    }
+
+    private Object[] read(Object row, Object[] values)
+            throws IllegalAccessException, InvocationTargetException {
+        if (row == null) {
+            Arrays.fill(values, null);
+            return values;
+        }
+        Invoker[] invokers = gettersFor(row.getClass());
+        for (int i = 0; i < invokers.length; i++) {
+            values[i] = invokers[i].invoke(row);
+        }
+        return values;
+    }
+
+    private Invoker[] gettersFor(Class<?> rowClass) {
+        Invoker[] invokers = getters.get(rowClass);
+        if (invokers == null) {
+            invokers = new Invoker[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                invokers[i] = BeanProperties.getter(rowClass, columns[i]);
+            }
+            getters.put(rowClass, invokers);
+        }
+        return invokers;
+    }
+}
@@ -0,0 +1,231 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.swing;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Segment;
+
+/**
+ * <p>
+ * Editable text for models whose text properties are too large to copy on every edit.  A text
+ * component bound to a <code>TextBuffer</code> property shows it through a document that shares
+ * the buffer's storage, so neither typing nor model-side edits ever copy the whole text; each
+ * costs about the size of the edit.
+ * <p>
+ * The text is kept in a gap buffer, which makes runs of edits at one place, like typing, cheap.
+ * Every change, wherever it comes from, is reported to {@link Listener}s as a delta.  While the
+ * buffer is bound its edits go through the documents of the components showing it, so they have
+ * to be made on the event thread.  Any number of components may show the same buffer; an edit
+ * made in one document is replayed on the others.
+ */
+public final class TextBuffer implements CharSequence {
+
+    /**
+     * Told about each change to a {@link TextBuffer}.
+     */
+    public interface Listener {
+        /**
+         * Called after <code>removedLength</code> characters at <code>offset</code> were
+         * replaced by <code>inserted</code>.
+         */
+        void textEdited(TextBuffer text, int offset, int removedLength, CharSequence inserted);
+    }
+
+    /**
+     * A document showing a bound buffer.  Edits made on the buffer are routed through the first
+     * editor, and every edit is mirrored to the editors that didn't make it.
+     */
+    interface Editor {
+        void edit(int offset, int length, String text) throws BadLocationException;
+
+        /**
+         * Brings the editor up to date with an edit already applied to the buffer; either
+         * <code>length</code> is zero or <code>text</code> is empty.
+         */
+        void mirror(int offset, int length, CharSequence text);
+    }
+
+    private static final int MIN_GAP = 64;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<Listener>();
+    private char[] chars;
+    private int gapStart;
+    private int gapEnd;
+    private final List<Editor> editors = new CopyOnWriteArrayList<Editor>();
+
+    public TextBuffer() {
+        this("");
+    }
+
+    public TextBuffer(CharSequence text) {
+        int length = text.length();
+        chars = new char[length + MIN_GAP];
+        for (int i = 0; i < length; i++) {
+            chars[i] = text.charAt(i);
+        }
+        gapStart = length;
+        gapEnd = chars.length;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public int length() {
+        return chars.length - (gapEnd - gapStart);
+    }
+
+    public char charAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length());
+        }
+        return index < gapStart ? chars[index] : chars[index + gapEnd - gapStart];
+    }
+
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length() || start > end) {
+            throw new IndexOutOfBoundsException("range " + start + "-" + end + ", length " + length());
+        }
+        Segment segment = new Segment();
+        getChars(start, end - start, segment);
+        return segment.toString();
+    }
+
+    @Override
+    public String toString() {
+        return subSequence(0, length()).toString();
+    }
+
+    public void insert(int offset, CharSequence text) {
+        replace(offset, 0, text);
+    }
+
+    public void remove(int offset, int length) {
+        replace(offset, length, "");
+    }
+
+    /**
+     * Replaces <code>length</code> characters at <code>offset</code> with <code>text</code>.
+     */
+    public void replace(int offset, int length, CharSequence text) {
+        if (offset < 0 || length < 0 || offset + length > length()) {
+            throw new IndexOutOfBoundsException("range " + offset + "+" + length + ", length " + length());
+        }
+        if (editors.isEmpty()) {
+            apply(null, offset, length, text);
+            return;
+        }
+        try {
+            editors.get(0).edit(offset, length, text.toString());
+        } catch (BadLocationException e) {
+            throw new IndexOutOfBoundsException(e.getMessage());
+        }
+    }
+
+    void addEditor(Editor editor) {
+        editors.add(editor);
+    }
+
+    void removeEditor(Editor editor) {
+        editors.remove(editor);
+    }
+
+    /**
+     * Changes the storage, brings the editors other than <code>source</code> up to date and
+     * tells the listeners; called directly when unbound, and by a document's content when bound.
+     */
+    void apply(Editor source, int offset, int length, CharSequence text) {
+        moveGap(offset);
+        gapEnd += length;
+        int inserted = text.length();
+        ensureGap(inserted);
+        for (int i = 0; i < inserted; i++) {
+            chars[gapStart + i] = text.charAt(i);
+        }
+        gapStart += inserted;
+        for (Editor editor : editors) {
+            if (editor != source) {
+                editor.mirror(offset, length, text);
+            }
+        }
+        for (Listener listener : listeners) {
+            listener.textEdited(this, offset, length, text);
+        }
+    }
+
+    /**
+     * Points the segment at the requested characters.  With partial return on, a range that
+     * spans the gap is returned only up to the gap; otherwise it is copied.
+     */
+    void getChars(int where, int length, Segment segment) {
+        int end = where + length;
+        if (end <= gapStart) {
+            segment.array = chars;
+            segment.offset = where;
+            segment.count = length;
+        } else if (where >= gapStart) {
+            segment.array = chars;
+            segment.offset = where + gapEnd - gapStart;
+            segment.count = length;
+        } else if (segment.isPartialReturn()) {
+            segment.array = chars;
+            segment.offset = where;
+            segment.count = gapStart - where;
+        } else {
+            char[] copy = new char[length];
+            int before = gapStart - where;
+            System.arraycopy(chars, where, copy, 0, before);
+            System.arraycopy(chars, gapEnd, copy, before, length - before);
+            segment.array = copy;
+            segment.offset = 0;
+            segment.count = length;
+        }
+    }
+
+    private void moveGap(int offset) {
+        if (offset < gapStart) {
+            int count = gapStart - offset;
+            System.arraycopy(chars, offset, chars, gapEnd - count, count);
+            gapStart -= count;
+            gapEnd -= count;
+        } else if (offset > gapStart) {
+            int count = offset - gapStart;
+            System.arraycopy(chars, gapEnd, chars, gapStart, count);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    private void ensureGap(int needed) {
+        int gap = gapEnd - gapStart;
+        if (gap >= needed) {
+            return;
+        }
+        int length = length();
+        int capacity = Math.max(length + needed + MIN_GAP, (length + needed) * 3 / 2);
+        char[] grown = new char[capacity];
+        int after = chars.length - gapEnd;
+        System.arraycopy(chars, 0, grown, 0, gapStart);
+        System.arraycopy(chars, gapEnd, grown, capacity - after, after);
+        chars = grown;
+        gapEnd = capacity - after;
+    }
+}
@@ -0,0 +1,325 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.swing;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DocumentFilter;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Position;
+import javax.swing.text.Segment;
+import javax.swing.undo.UndoableEdit;
+
+/**
+ * A plain document whose content is a model's {@link TextBuffer}.  Edits made in the view
+ * change the buffer directly, and edits made to the buffer are routed through the document so
+ * that views hear about them; either way only the edited range is touched.  Several documents
+ * may share a buffer, each replaying the edits made through the others.  Content edits aren't
+ * undoable.
+ */
+final class TextBufferDocument extends PlainDocument implements TextBuffer.Editor {
+    private static final long serialVersionUID = 1L;
+
+    private final TextBuffer buffer;
+    private final BufferContent content;
+
+    TextBufferDocument(TextBuffer buffer) {
+        this(buffer, new BufferContent(buffer));
+    }
+
+    private TextBufferDocument(TextBuffer buffer, BufferContent content) {
+        super(content);
+        this.buffer = buffer;
+        this.content = content;
+        content.owner = this;
+        // the content starts out hiding the buffer's text so the line structure can be built
+        // for it as if it had just been inserted.
+        int length = buffer.length();
+        if (length > 0) {
+            writeLock();
+            try {
+                content.reveal();
+                DefaultDocumentEvent event = new DefaultDocumentEvent(0, length, DocumentEvent.EventType.INSERT);
+                insertUpdate(event, null);
+                event.end();
+            } finally {
+                writeUnlock();
+            }
+        } else {
+            content.reveal();
+        }
+        buffer.addEditor(this);
+    }
+
+    public void edit(int offset, int length, String text) throws BadLocationException {
+        replace(offset, length, text, null);
+    }
+
+    /**
+     * Replays an edit made through another document as if it were made here, except that the
+     * buffer, already changed, is left alone and no filter gets to alter it.
+     */
+    public void mirror(int offset, int length, CharSequence text) {
+        DocumentFilter filter = getDocumentFilter();
+        setDocumentFilter(null);
+        content.mirroring = true;
+        try {
+            if (length > 0) {
+                remove(offset, length);
+            } else {
+                insertString(offset, text.toString(), null);
+            }
+        } catch (BadLocationException e) {
+            throw new IllegalStateException("document out of step with its buffer", e);
+        } finally {
+            content.mirroring = false;
+            setDocumentFilter(filter);
+        }
+    }
+
+    /**
+     * Stops routing the buffer's edits through this document.
+     */
+    void detach() {
+        buffer.removeEditor(this);
+    }
+
+    TextBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Content over a {@link TextBuffer}, with the trailing newline documents expect.  The
+     * content keeps its own length, since when another document edits the buffer it is told
+     * only afterwards.
+     * <p>
+     * Positions are kept as in the JDK's gap content: sorted, and relative to a gap that sits
+     * at the last edit, so an edit only shifts the marks between it and the one before.  The
+     * gap holds no text; it is just wide enough never to fill up.
+     */
+    private static final class BufferContent implements AbstractDocument.Content {
+        private static final char[] NEWLINE = { '\n' };
+        private static final long GAP = 1L << 48;
+
+        private final TextBuffer buffer;
+        private final ReferenceQueue<Mark> collected = new ReferenceQueue<Mark>();
+        private MarkRef[] marks = new MarkRef[8];
+        private int markCount;
+        private long gapStart;
+        private long gapLength = GAP;
+        private int textLength;
+        TextBuffer.Editor owner;
+        boolean mirroring;
+
+        BufferContent(TextBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void reveal() {
+            int length = buffer.length();
+            marksInserted(0, length);
+            textLength = length;
+        }
+
+        public int length() {
+            return textLength + 1;
+        }
+
+        public Position createPosition(int offset) throws BadLocationException {
+            if (offset < 0 || offset > length()) {
+                throw new BadLocationException("invalid position", offset);
+            }
+            purge();
+            long index = offset < gapStart ? offset : offset + gapLength;
+            Mark mark = new Mark();
+            MarkRef ref = new MarkRef(mark, index, collected);
+            mark.ref = ref;
+            int at = firstAtLeast(index);
+            if (markCount == marks.length) {
+                marks = Arrays.copyOf(marks, markCount * 2);
+            }
+            System.arraycopy(marks, at, marks, at + 1, markCount - at);
+            marks[at] = ref;
+            markCount++;
+            return mark;
+        }
+
+        public UndoableEdit insertString(int where, String str) throws BadLocationException {
+            if (where < 0 || where >= length()) {
+                throw new BadLocationException("invalid insert", where);
+            }
+            if (!mirroring) {
+                buffer.apply(owner, where, 0, str);
+            }
+            marksInserted(where, str.length());
+            textLength += str.length();
+            return null;
+        }
+
+        public UndoableEdit remove(int where, int nitems) throws BadLocationException {
+            if (where < 0 || where + nitems >= length()) {
+                throw new BadLocationException("invalid remove", where + nitems);
+            }
+            if (!mirroring) {
+                buffer.apply(owner, where, nitems, "");
+            }
+            marksRemoved(where, nitems);
+            textLength -= nitems;
+            return null;
+        }
+
+        public String getString(int where, int len) throws BadLocationException {
+            Segment segment = new Segment();
+            getChars(where, len, segment);
+            return new String(segment.array, segment.offset, segment.count);
+        }
+
+        public void getChars(int where, int len, Segment txt) throws BadLocationException {
+            int textLength = length() - 1;
+            if (where < 0 || len < 0 || where + len > textLength + 1) {
+                throw new BadLocationException("invalid range", where + len);
+            }
+            if (where + len <= textLength) {
+                buffer.getChars(where, len, txt);
+            } else if (where == textLength) {
+                txt.array = NEWLINE;
+                txt.offset = 0;
+                txt.count = len;
+            } else if (txt.isPartialReturn()) {
+                buffer.getChars(where, textLength - where, txt);
+            } else {
+                char[] copy = new char[len];
+                Segment text = new Segment();
+                buffer.getChars(where, textLength - where, text);
+                System.arraycopy(text.array, text.offset, copy, 0, text.count);
+                copy[len - 1] = '\n';
+                txt.array = copy;
+                txt.offset = 0;
+                txt.count = len;
+            }
+        }
+
+        private int offsetOf(long index) {
+            return (int) (index < gapStart ? index : index - gapLength);
+        }
+
+        // marks at zero stay put on an insert there, as in the JDK's contents.
+        private void marksInserted(int offset, int length) {
+            if (length == 0) {
+                return;
+            }
+            moveGap(offset);
+            if (offset == 0) {
+                for (int i = firstAtLeast(gapLength); i < markCount && marks[i].index == gapLength; i++) {
+                    marks[i].index = 0;
+                }
+            }
+            gapStart += length;
+            gapLength -= length;
+        }
+
+        private void marksRemoved(int offset, int length) {
+            if (length == 0) {
+                return;
+            }
+            moveGap(offset);
+            long from = gapStart + gapLength;
+            long to = from + length;
+            for (int i = firstAtLeast(from); i < markCount && marks[i].index < to; i++) {
+                marks[i].index = to;
+            }
+            gapLength += length;
+        }
+
+        /**
+         * Moves the gap to the passed offset; the marks at or after it end up after the gap.
+         */
+        private void moveGap(int offset) {
+            if (offset < gapStart) {
+                for (int i = firstAtLeast(offset); i < markCount && marks[i].index < gapStart; i++) {
+                    marks[i].index += gapLength;
+                }
+            } else if (offset > gapStart) {
+                long end = offset + gapLength;
+                for (int i = firstAtLeast(gapStart + gapLength); i < markCount && marks[i].index < end; i++) {
+                    marks[i].index -= gapLength;
+                }
+            }
+            gapStart = offset;
+        }
+
+        private int firstAtLeast(long index) {
+            int low = 0;
+            int high = markCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (marks[mid].index < index) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Drops the marks nobody holds any more, once some have been collected.
+         */
+        private void purge() {
+            if (collected.poll() == null) {
+                return;
+            }
+            while (collected.poll() != null) {
+                // drain; the array is compacted below.
+            }
+            int kept = 0;
+            for (int i = 0; i < markCount; i++) {
+                if (marks[i].get() != null) {
+                    marks[kept++] = marks[i];
+                }
+            }
+            Arrays.fill(marks, kept, markCount, null);
+            markCount = kept;
+        }
+
+        /**
+         * A position held by the view, which reads its offset through its entry in the content.
+         */
+        private final class Mark implements Position {
+            MarkRef ref;
+
+            public int getOffset() {
+                return offsetOf(ref.index);
+            }
+        }
+
+        /**
+         * The content's entry for a mark: where it is relative to the gap.  Entries outlive
+         * their marks until the content purges them.
+         */
+        private static final class MarkRef extends WeakReference<Mark> {
+            long index;
+
+            MarkRef(Mark mark, long index, ReferenceQueue<Mark> queue) {
+                super(mark, queue);
+                this.index = index;
+            }
+        }
+    }
+}
@@ -33,12 +33,17 @@ import com.palantir.ptoss.cinch.core.Binding;
 import com.palantir.ptoss.cinch.core.BindingContext;
 import com.palantir.ptoss.cinch.core.BindingException;
 import com.palantir.ptoss.cinch.core.BindingWiring;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
 import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
 import com.palantir.ptoss.cinch.core.ObjectFieldMethod;
+import com.palantir.ptoss.util.Invoker;
+import com.palantir.ptoss.util.Invokers;
 
 /**
  * A binding that will set the Visible state of the annotated component to the state of a model
- * boolean. The component must have a "setVisible" method that takes a boolean.
+ * boolean. The component must have a "setVisible" method that takes a boolean, which is only called
+ * when the value changes.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.FIELD})
@@ -57,6 +62,11 @@ public @interface VisibleIf {
      */
     Type type() default Type.NORMAL;
 
+    /**
+     * What model update types to trigger on, or blank (default) for all updates.
+     */
+    String[] on() default "";
+
     /**
      * Inner utility class that performs the runtime wiring of all {@link VisibleIf} bindings.
      */
@@ -71,7 +81,7 @@ public @interface VisibleIf {
                 final String to = action.to();
                 final boolean invert = (action.type() == Type.INVERTED);
                 try {
-                    bindings.addAll(wire(to, field, context, invert));
+                    bindings.addAll(wire(to, field, context, invert, action.on()));
                 } catch (final Exception e) {
                     throw new BindingException("could not wire up @VisibleIf on " + field.getName(), e);
                 }
@@ -79,12 +89,13 @@ public @interface VisibleIf {
             return bindings;
         }
 
-        private static Collection<Binding> wire(final String to, final Field field, final BindingContext context, final boolean invert)
-            throws SecurityException, NoSuchMethodException, IllegalArgumentException, IntrospectionException {
+        private static Collection<Binding> wire(final String to, final Field field, final BindingContext context, final boolean invert,
+                final String[] on) throws SecurityException, NoSuchMethodException, IllegalArgumentException, IntrospectionException {
             final Method setVisibleMethod = field.getType().getMethod("setVisible", boolean.class);
             if (setVisibleMethod == null) {
                 throw new BindingException("no setVisible call on VisibleIf field: " + field);
             }
+            final Invoker setVisible = Invokers.forMethod(setVisibleMethod);
             final Object setVisibleObject = context.getFieldObject(field, Object.class);
             final ObjectFieldMethod getter = context.findGetter(to);
             if (getter == null) {
@@ -93,21 +104,37 @@ public @interface VisibleIf {
             if (getter.getMethod().getReturnType() != boolean.class) {
                 throw new BindingException("VisibleIf binding must return boolean: " + to);
             }
-            final Binding binding = new Binding() {
+            final BindableModel model = (BindableModel)getter.getObject();
+            final ModelUpdateFilter filter = ModelUpdateFilter.of(BindingContext.getOnObjects(on, model))
+                    .withProperty(BindingContext.getPropertyName(to));
+            final LastValue last = new LastValue();
+            final Binding binding = new DisposableBinding() {
+                public ModelUpdateFilter getFilter() {
+                    return filter;
+                }
+
                 public <T extends Enum<?> & ModelUpdate> void update(final T... changed) {
+                    if (!filter.matches(changed)) {
+                        return;
+                    }
                     try {
-                        getter.getMethod().setAccessible(true);
-                        boolean visible = (Boolean)getter.getMethod().invoke(getter.getObject());
+                        boolean visible = (Boolean)getter.invoke();
                         if (invert) {
                             visible = !visible;
                         }
-                        setVisibleMethod.invoke(setVisibleObject, visible);
+                        if (last.changed(visible, changed)) {
+                            setVisible.invoke(setVisibleObject, visible);
+                        }
                     } catch (final Exception e) {
                         Wiring.logger.error("exception during VisibleIf binding", e);
                     }
                 }
+
+                public void dispose() {
+                    model.unbind(this);
+                }
             };
-            ((BindableModel)getter.getObject()).bind(binding);
+            model.bind(binding);
             return Collections.singleton(binding);
         }
     }
@@ -0,0 +1,109 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * <p>Implemented by the classes that the <code>cinch-processor</code> annotation processor
+ * generates for bindable models.  A generated class calls the model's getters, setters and
+ * action methods directly, so bindings on those methods don't go through reflection at all.
+ *
+ * <p>The generated class is named after the binary name of the model, so for a class
+ * <code>com.example.View.Model</code> it is <code>com.example.View$Model{@value #SUFFIX}</code>.
+ * {@link Invokers#forMethod(Method)} looks it up by the method's declaring class and prefers it
+ * when present.
+ */
+public interface GeneratedInvokers {
+    /**
+     * Suffix appended to the binary name of the model to name the generated class.
+     */
+    String SUFFIX = "_CinchInvokers";
+
+    /**
+     * Returns a direct invoker for the method, or null if none was generated for it.
+     * @param signature the method signature as computed by {@link Invokers#signature(Method)}
+     * @param method the method to invoke
+     */
+    Invoker invoker(String signature, Method method);
+
+    /**
+     * Base class for generated invokers of parameterless methods.
+     */
+    abstract class Getter implements Invoker {
+        private final Method method;
+
+        protected Getter(Method method) {
+            this.method = method;
+        }
+
+        protected abstract Object get(Object target) throws Throwable;
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public Object invoke(Object target) throws InvocationTargetException {
+            try {
+                return get(target);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        public Object invoke(Object target, Object arg) {
+            throw new IllegalArgumentException("wrong number of arguments for " + method);
+        }
+    }
+
+    /**
+     * Base class for generated invokers of single parameter methods.
+     */
+    abstract class Setter implements Invoker {
+        private final Method method;
+        private final boolean primitive;
+
+        protected Setter(Method method) {
+            this.method = method;
+            this.primitive = method.getParameterTypes()[0].isPrimitive();
+        }
+
+        protected abstract Object set(Object target, Object value) throws Throwable;
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public Object invoke(Object target) {
+            throw new IllegalArgumentException("wrong number of arguments for " + method);
+        }
+
+        /**
+         * {@inheritDoc}
+         * @throws IllegalArgumentException if the argument is null and the parameter is primitive,
+         * as {@link Method#invoke(Object, Object...)} does
+         */
+        public Object invoke(Object target, Object arg) throws InvocationTargetException {
+            if (arg == null && primitive) {
+                throw new IllegalArgumentException("null passed for the primitive parameter of " + method);
+            }
+            try {
+                return set(target, arg);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * A pre-resolved, directly callable form of a {@link Method}.  Created once when a binding is
+ * wired, then called on every update.  Exceptions thrown by the underlying method are wrapped
+ * in an {@link InvocationTargetException}, as with {@link Method#invoke(Object, Object...)}.
+ *
+ * @see Invokers
+ */
+public interface Invoker {
+    /**
+     * The method this invoker calls.
+     */
+    Method getMethod();
+
+    /**
+     * Calls a parameterless method on the target.  The target is ignored for static methods.
+     * @return the return value, or null for void methods
+     */
+    Object invoke(Object target) throws IllegalAccessException, InvocationTargetException;
+
+    /**
+     * Calls a single parameter method, such as a setter, on the target.  The target is
+     * ignored for static methods.
+     * @return the return value, or null for void methods
+     */
+    Object invoke(Object target, Object arg) throws IllegalAccessException, InvocationTargetException;
+}
@@ -0,0 +1,409 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.util;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+/**
+ * <p>Creates the {@link Invoker}s that bindings use to call getters, setters and action methods.
+ *
+ * <p>The default {@link Factory} turns each method into a {@link MethodHandle} once, so that
+ * updates don't pay for access checks and argument array allocation on every call.  If a handle
+ * can't be created for a method then plain reflection is used for it instead.  The engine can be
+ * chosen with {@link #setFactory(Factory)} or the <code>cinch.invokers</code> system property
+ * (<code>reflection</code>, <code>methodHandles</code> or <code>lambdas</code>).
+ *
+ * <p>Methods declared by classes that were compiled with the <code>cinch-processor</code>
+ * annotation processor are called through the generated {@link GeneratedInvokers} instead,
+ * whichever factory is selected.
+ */
+public final class Invokers {
+    private static final Logger logger = LoggerFactory.getLogger(Invokers.class);
+
+    private Invokers() { /* Static utility methods only. */ }
+
+    /**
+     * Strategy for turning a {@link Method} into an {@link Invoker}.
+     */
+    public interface Factory {
+        /**
+         * Creates an invoker for the passed method. May throw an unchecked exception if this
+         * factory can't handle the method, in which case {@link Invokers#forMethod(Method)}
+         * falls back to reflection.
+         */
+        Invoker create(Method method);
+    }
+
+    /**
+     * Calls methods through {@link Method#invoke(Object, Object...)}.
+     */
+    public static final Factory REFLECTION = new Factory() {
+        public Invoker create(Method method) {
+            return new ReflectiveInvoker(method);
+        }
+
+        @Override
+        public String toString() {
+            return "reflection";
+        }
+    };
+
+    /**
+     * Calls methods through a {@link MethodHandle} resolved once at creation time.
+     */
+    public static final Factory METHOD_HANDLES = new Factory() {
+        public Invoker create(Method method) {
+            return new MethodHandleInvoker(method);
+        }
+
+        @Override
+        public String toString() {
+            return "methodHandles";
+        }
+    };
+
+    /**
+     * <p>Spins a small class per method at runtime with {@link LambdaMetafactory}, so getters
+     * and setters are called through an ordinary interface call rather than a method handle or
+     * reflection.  The spun class calls the method directly, so the target is a constant the JIT
+     * can inline into it; only the call into the spun class is shared by every method.  This is
+     * meant for views that can't be run through the <code>cinch-processor</code>.
+     *
+     * <p>The class is spun with Cinch's own lookup, so only public methods of public classes
+     * whose types Cinch's class loader resolves can be spun.  Other methods, such as those of
+     * classes from plugin loaders, static methods and methods taking more than one argument, get
+     * a {@link #METHOD_HANDLES} invoker, which is logged at debug level.
+     */
+    public static final Factory LAMBDAS = new Factory() {
+        public Invoker create(Method method) {
+            MethodHandles.Lookup lookup = LambdaInvoker.lookupFor(method);
+            if (lookup != null) {
+                try {
+                    return new LambdaInvoker(method, lookup);
+                } catch (IllegalArgumentException e) {
+                    logger.debug("could not spin an invoker for {}", method, e);
+                }
+            } else {
+                logger.debug("cannot spin an invoker for {}, using a method handle", method);
+            }
+            return METHOD_HANDLES.create(method);
+        }
+
+        @Override
+        public String toString() {
+            return "lambdas";
+        }
+    };
+
+    private static volatile Factory factory = defaultFactory();
+
+    private static final ClassValue<Optional<GeneratedInvokers>> GENERATED = new ClassValue<Optional<GeneratedInvokers>>() {
+        @Override
+        protected Optional<GeneratedInvokers> computeValue(Class<?> type) {
+            return Optional.fromNullable(loadGenerated(type));
+        }
+    };
+
+    private static Factory defaultFactory() {
+        String property = System.getProperty("cinch.invokers");
+        for (Factory candidate : new Factory[] { REFLECTION, LAMBDAS }) {
+            if (candidate.toString().equalsIgnoreCase(property)) {
+                return candidate;
+            }
+        }
+        return METHOD_HANDLES;
+    }
+
+    /**
+     * Returns the factory used by {@link #forMethod(Method)}.
+     */
+    public static Factory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Sets the factory used by {@link #forMethod(Method)} for bindings wired from now on.
+     */
+    public static void setFactory(Factory newFactory) {
+        factory = Preconditions.checkNotNull(newFactory, "factory");
+    }
+
+    /**
+     * Creates an {@link Invoker} for the passed method with the current {@link Factory},
+     * falling back to reflection if that factory can't handle the method.
+     */
+    public static Invoker forMethod(Method method) {
+        Preconditions.checkNotNull(method, "method");
+        Optional<GeneratedInvokers> generated = GENERATED.get(method.getDeclaringClass());
+        if (generated.isPresent()) {
+            Invoker invoker = generated.get().invoker(signature(method), method);
+            if (invoker != null) {
+                return invoker;
+            }
+        }
+        Factory current = factory;
+        if (current != REFLECTION) {
+            try {
+                return current.create(method);
+            } catch (RuntimeException e) {
+                logger.debug("falling back to reflection for {}", method, e);
+            }
+        }
+        return REFLECTION.create(method);
+    }
+
+    /**
+     * Returns the signature used to look up generated invokers: the method name followed by
+     * the canonical names of its parameter types, e.g. <code>setItems(java.util.List)</code>.
+     */
+    public static String signature(Method method) {
+        StringBuilder signature = new StringBuilder(method.getName()).append('(');
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                signature.append(',');
+            }
+            signature.append(parameterTypes[i].getCanonicalName());
+        }
+        return signature.append(')').toString();
+    }
+
+    private static GeneratedInvokers loadGenerated(Class<?> type) {
+        String generatedName = type.getName() + GeneratedInvokers.SUFFIX;
+        try {
+            Class<?> generated = Class.forName(generatedName, true, type.getClassLoader());
+            return (GeneratedInvokers) generated.newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (Exception e) {
+            logger.warn("could not load generated invokers {}", generatedName, e);
+            return null;
+        } catch (LinkageError e) {
+            logger.warn("could not load generated invokers {}", generatedName, e);
+            return null;
+        }
+    }
+
+    private static void makeAccessible(Method method) {
+        if (!method.isAccessible()) {
+            try {
+                method.setAccessible(true);
+            } catch (RuntimeException e) {
+                // public methods on public classes don't need it.
+            }
+        }
+    }
+
+    private static final class ReflectiveInvoker implements Invoker {
+        private final Method method;
+
+        ReflectiveInvoker(Method method) {
+            makeAccessible(method);
+            this.method = method;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public Object invoke(Object target) throws IllegalAccessException, InvocationTargetException {
+            return method.invoke(target);
+        }
+
+        public Object invoke(Object target, Object arg) throws IllegalAccessException, InvocationTargetException {
+            return method.invoke(target, arg);
+        }
+    }
+
+    private static final class MethodHandleInvoker implements Invoker {
+        private final Method method;
+        private final MethodHandle handle;
+        private final int arity;
+
+        MethodHandleInvoker(Method method) {
+            makeAccessible(method);
+            this.method = method;
+            MethodHandle unreflected;
+            try {
+                unreflected = MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("cannot access " + method, e);
+            }
+            if (Modifier.isStatic(method.getModifiers())) {
+                unreflected = MethodHandles.dropArguments(unreflected, 0, Object.class);
+            }
+            this.arity = unreflected.type().parameterCount();
+            this.handle = unreflected.asType(MethodType.genericMethodType(arity));
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public Object invoke(Object target) throws IllegalAccessException, InvocationTargetException {
+            checkArity(1);
+            try {
+                return (Object) handle.invokeExact(target);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        public Object invoke(Object target, Object arg) throws IllegalAccessException, InvocationTargetException {
+            checkArity(2);
+            try {
+                return (Object) handle.invokeExact(target, arg);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        private void checkArity(int expected) {
+            if (arity != expected) {
+                throw new IllegalArgumentException("wrong number of arguments for " + method);
+            }
+        }
+    }
+
+    private static final class LambdaInvoker implements Invoker {
+        private final Method method;
+        private final Function<Object, Object> getter;
+        private final BiFunction<Object, Object, Object> setter;
+        private final Consumer<Object> action;
+        private final BiConsumer<Object, Object> consumer;
+
+        /**
+         * Returns the lookup to spin the method's invoker with, or null if it can't be spun.
+         */
+        static MethodHandles.Lookup lookupFor(Method method) {
+            int modifiers = method.getModifiers();
+            if (Modifier.isStatic(modifiers) || method.getParameterTypes().length > 1) {
+                return null;
+            }
+            if (!Modifier.isPublic(modifiers)) {
+                return null;
+            }
+            // the spun class is defined with Cinch's own lookup, so it resolves every type it
+            // mentions through Cinch's class loader.
+            for (Class<?> type = method.getDeclaringClass(); type != null; type = type.getEnclosingClass()) {
+                if (!Modifier.isPublic(type.getModifiers()) || !isVisible(type)) {
+                    return null;
+                }
+            }
+            for (Class<?> type : method.getParameterTypes()) {
+                if (!isVisible(type)) {
+                    return null;
+                }
+            }
+            return isVisible(method.getReturnType()) ? MethodHandles.lookup() : null;
+        }
+
+        private static boolean isVisible(Class<?> type) {
+            while (type.isArray()) {
+                type = type.getComponentType();
+            }
+            if (type.isPrimitive()) {
+                return true;
+            }
+            try {
+                return Class.forName(type.getName(), false, Invokers.class.getClassLoader()) == type;
+            } catch (ClassNotFoundException e) {
+                return false;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        LambdaInvoker(Method method, MethodHandles.Lookup lookup) {
+            this.method = method;
+            boolean returnsVoid = method.getReturnType() == void.class;
+            boolean takesArgument = method.getParameterTypes().length == 1;
+            Class<?> samType;
+            if (takesArgument) {
+                samType = returnsVoid ? BiConsumer.class : BiFunction.class;
+            } else {
+                samType = returnsVoid ? Consumer.class : Function.class;
+            }
+            String samName = returnsVoid ? "accept" : "apply";
+            MethodType erased = MethodType.genericMethodType(takesArgument ? 2 : 1);
+            MethodType instantiated = MethodType.methodType(method.getReturnType(),
+                    method.getDeclaringClass(), method.getParameterTypes()).wrap();
+            if (returnsVoid) {
+                erased = erased.changeReturnType(void.class);
+                instantiated = instantiated.changeReturnType(void.class);
+            }
+            Object spun;
+            try {
+                MethodHandle target = lookup.unreflect(method);
+                spun = LambdaMetafactory.metafactory(lookup, samName, MethodType.methodType(samType),
+                        erased, target, instantiated).getTarget().invoke();
+            } catch (Throwable t) {
+                throw new IllegalArgumentException("cannot spin invoker for " + method, t);
+            }
+            this.getter = samType == Function.class ? (Function<Object, Object>) spun : null;
+            this.setter = samType == BiFunction.class ? (BiFunction<Object, Object, Object>) spun : null;
+            this.action = samType == Consumer.class ? (Consumer<Object>) spun : null;
+            this.consumer = samType == BiConsumer.class ? (BiConsumer<Object, Object>) spun : null;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public Object invoke(Object target) throws InvocationTargetException {
+            if (getter == null && action == null) {
+                throw new IllegalArgumentException("wrong number of arguments for " + method);
+            }
+            try {
+                if (getter != null) {
+                    return getter.apply(target);
+                }
+                action.accept(target);
+                return null;
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
+        public Object invoke(Object target, Object arg) throws InvocationTargetException {
+            if (setter == null && consumer == null) {
+                throw new IllegalArgumentException("wrong number of arguments for " + method);
+            }
+            try {
+                if (setter != null) {
+                    return setter.apply(target, arg);
+                }
+                consumer.accept(target, arg);
+                return null;
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.util;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Computes a short edit script between two lists, so that a view showing the first can be
+ * changed into the second by touching only the rows that differ.
+ * <p>
+ * The common prefix and suffix are trimmed first; what remains is diffed with Myers' O(ND)
+ * algorithm.  If more than <code>maxEdits</code> insertions and deletions would be needed the
+ * remaining middle is reported as a single replacement instead, which bounds time and memory
+ * for lists that changed wholesale.
+ */
+public final class ListDiff {
+
+    private ListDiff() { /* Static utility methods only. */ }
+
+    /**
+     * Default cap on the number of single-element insertions and deletions to search for.
+     */
+    public static final int DEFAULT_MAX_EDITS = 512;
+
+    /**
+     * One run of the edit script: replace <code>removeCount</code> elements of the old list at
+     * {@link #getPosition()} with <code>insertCount</code> elements of the new list starting at
+     * {@link #getInsertIndex()}.
+     */
+    public static final class Edit {
+        private final int position;
+        private final int insertIndex;
+        // grown while the script is assembled.
+        private int removeCount;
+        private int insertCount;
+
+        Edit(int position, int removeCount, int insertIndex, int insertCount) {
+            this.position = position;
+            this.removeCount = removeCount;
+            this.insertIndex = insertIndex;
+            this.insertCount = insertCount;
+        }
+
+        /**
+         * Index in the old list where this edit applies.
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        public int getRemoveCount() {
+            return removeCount;
+        }
+
+        /**
+         * Index in the new list of the first inserted element.
+         */
+        public int getInsertIndex() {
+            return insertIndex;
+        }
+
+        public int getInsertCount() {
+            return insertCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Edit[at " + position + " remove " + removeCount + ", insert " + insertCount + " from " + insertIndex + "]";
+        }
+    }
+
+    /**
+     * Diffs with {@link #DEFAULT_MAX_EDITS}.
+     */
+    public static List<Edit> diff(List<?> from, List<?> to) {
+        return diff(from, to, DEFAULT_MAX_EDITS);
+    }
+
+    /**
+     * Returns the edits that turn <code>from</code> into <code>to</code>, in ascending order of
+     * position and not overlapping.  Apply them last to first so that positions stay valid.
+     */
+    public static List<Edit> diff(List<?> from, List<?> to, int maxEdits) {
+        int start = 0;
+        int fromEnd = from.size();
+        int toEnd = to.size();
+        while (start < fromEnd && start < toEnd && Objects.equal(from.get(start), to.get(start))) {
+            start++;
+        }
+        while (fromEnd > start && toEnd > start && Objects.equal(from.get(fromEnd - 1), to.get(toEnd - 1))) {
+            fromEnd--;
+            toEnd--;
+        }
+        int n = fromEnd - start;
+        int m = toEnd - start;
+        if (n == 0 && m == 0) {
+            return ImmutableList.of();
+        }
+        if (n == 0 || m == 0) {
+            return ImmutableList.of(new Edit(start, n, start, m));
+        }
+        List<Edit> edits = myers(from.subList(start, fromEnd), to.subList(start, toEnd), start, maxEdits);
+        if (edits == null) {
+            return ImmutableList.of(new Edit(start, n, start, m));
+        }
+        return edits;
+    }
+
+    /**
+     * Myers' greedy forward search, keeping the frontier of each round so that the path can
+     * be walked back.  Returns null if more than <code>maxEdits</code> edits are needed.
+     */
+    private static List<Edit> myers(List<?> a, List<?> b, int offset, int maxEdits) {
+        int n = a.size();
+        int m = b.size();
+        int max = Math.min(n + m, maxEdits);
+        int[] v = new int[2 * max + 3];
+        List<int[]> trace = Lists.newArrayList();
+        for (int d = 0; d <= max; d++) {
+            trace.add(v.clone());
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+                if (k == -d || (k != d && v[max + 1 + k - 1] < v[max + 1 + k + 1])) {
+                    x = v[max + 1 + k + 1];
+                } else {
+                    x = v[max + 1 + k - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && Objects.equal(a.get(x), b.get(y))) {
+                    x++;
+                    y++;
+                }
+                v[max + 1 + k] = x;
+                if (x >= n && y >= m) {
+                    return backtrack(trace, max, n, m, d, offset);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<Edit> backtrack(List<int[]> trace, int max, int n, int m, int depth, int offset) {
+        // single element steps, collected last to first: {x, y, 1 for insert / 0 for delete}
+        List<int[]> steps = Lists.newArrayList();
+        int x = n;
+        int y = m;
+        for (int d = depth; d > 0; d--) {
+            int[] v = trace.get(d);
+            int k = x - y;
+            int previousK;
+            if (k == -d || (k != d && v[max + 1 + k - 1] < v[max + 1 + k + 1])) {
+                previousK = k + 1;
+            } else {
+                previousK = k - 1;
+            }
+            int previousX = v[max + 1 + previousK];
+            int previousY = previousX - previousK;
+            while (x > previousX && y > previousY) {
+                x--;
+                y--;
+            }
+            if (x == previousX) {
+                steps.add(new int[] { x, previousY, 1 });
+            } else {
+                steps.add(new int[] { previousX, y, 0 });
+            }
+            x = previousX;
+            y = previousY;
+        }
+        Collections.reverse(steps);
+
+        List<Edit> edits = Lists.newArrayList();
+        Edit current = null;
+        for (int[] step : steps) {
+            int position = step[0] + offset;
+            int insertIndex = step[1] + offset;
+            if (current == null || position != current.position + current.removeCount
+                    || insertIndex != current.insertIndex + current.insertCount) {
+                current = new Edit(position, 0, insertIndex, 0);
+                edits.add(current);
+            }
+            if (step[2] == 1) {
+                current.insertCount++;
+            } else {
+                current.removeCount++;
+            }
+        }
+        return edits;
+    }
+}
@@ -19,6 +19,8 @@ import java.lang.reflect.InvocationTargetException;
 import com.palantir.ptoss.cinch.core.BindableModel;
 import com.palantir.ptoss.cinch.core.BindingContext;
 import com.palantir.ptoss.cinch.core.ObjectFieldMethod;
+import com.palantir.ptoss.cinch.core.PropertyVersion;
+import com.palantir.ptoss.cinch.core.VersionedModel;
 
 /**
  * A class that performs the work of reading and setting values on a bound field.
@@ -52,49 +54,65 @@ public class Mutator {
         if (getterModel != null && setterModel != null && getterModel != setterModel) {
             throw new IllegalStateException("setter and getter must be on same BindableModel.");
         }
-        return new Mutator(getter, setter, model);
+        PropertyVersion version = null;
+        if (getterModel instanceof VersionedModel) {
+            version = ((VersionedModel)getterModel).getPropertyVersion(BindingContext.getPropertyName(target));
+        }
+        return new Mutator(getter, setter, model, version);
     }
 
     private final ObjectFieldMethod getter;
     private final ObjectFieldMethod setter;
     private final BindableModel model;
+    private final PropertyVersion version;
 
     /**
      * @param getter method to use as the getter for this field
      * @param setter method to use as the setter for this field
      * @param model model object that this {@link Mutator} applies to.
+     * @param version the property's version if the model keeps one, or null
      */
-    private Mutator(ObjectFieldMethod getter, ObjectFieldMethod setter, BindableModel model) {
+    private Mutator(ObjectFieldMethod getter, ObjectFieldMethod setter, BindableModel model, PropertyVersion version) {
         this.getter = getter;
         this.setter = setter;
         this.model = model;
+        this.version = version;
     }
 
     public Object get() throws IllegalArgumentException, IllegalAccessException, InvocationTargetException {
         if (getter == null) {
             throw new IllegalStateException("can not call get() with no getter.");
         }
-        boolean accessible = getter.getMethod().isAccessible();
-        getter.getMethod().setAccessible(true);
-        Object value = getter.getMethod().invoke(model);
-        getter.getMethod().setAccessible(accessible);
-        return value;
+        return getter.getInvoker().invoke(model);
     }
 
     public void set(Object value) throws IllegalArgumentException, IllegalAccessException, InvocationTargetException {
         if (setter == null) {
             throw new IllegalStateException("can not call set() with no setter.");
         }
-        boolean accessible = setter.getMethod().isAccessible();
-        setter.getMethod().setAccessible(true);
-        setter.getMethod().invoke(model, value);
-        setter.getMethod().setAccessible(accessible);
+        setter.getInvoker().invoke(model, value);
     }
 
     public BindableModel getModel() {
         return model;
     }
 
+    /**
+     * Returns the property's version if its model is a {@link VersionedModel} that versions it,
+     * or null.
+     */
+    public PropertyVersion getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns a new tracker for a binding that shows this property; see
+     * {@link PropertyVersion.Tracker#changed(Object[])}.
+     */
+    public PropertyVersion.Tracker newVersionTracker() {
+        return new PropertyVersion.Tracker(version);
+    }
+
     public ObjectFieldMethod getSetter() {
         return setter;
     }
@@ -0,0 +1,93 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.util;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * An append-only text buffer for binding streaming output, such as a log, to a text component.
+ * Every character appended gets the next offset, so a view that remembers how far it has read
+ * can fetch just the new tail with {@link #readFrom(long, StringBuilder)} instead of the whole
+ * text.
+ * <p>
+ * A log created with a capacity keeps at least the last <code>capacity</code> characters and
+ * drops older ones; offsets keep counting up regardless.  All methods are thread-safe, so
+ * producers can append from any thread and call the model's update afterwards.
+ */
+public final class TextLog {
+    private final int capacity;
+    private final StringBuilder buffer = new StringBuilder();
+    // offset of the first retained character.
+    private long start;
+
+    /**
+     * Creates a log that keeps everything appended to it.
+     */
+    public TextLog() {
+        this(0);
+    }
+
+    /**
+     * Creates a log that keeps at least the last <code>capacity</code> characters, or
+     * everything if <code>capacity</code> is zero.
+     */
+    public TextLog(int capacity) {
+        Preconditions.checkArgument(capacity >= 0, "capacity must not be negative");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Appends text to the log.
+     */
+    public synchronized void append(CharSequence text) {
+        buffer.append(text);
+        // trim in slices of one capacity so that the copy is paid once per capacity appended.
+        if (capacity > 0 && buffer.length() >= 2 * capacity) {
+            int dropped = buffer.length() - capacity;
+            buffer.delete(0, dropped);
+            start += dropped;
+        }
+    }
+
+    /**
+     * Returns the offset just past the last character appended, which is the number of
+     * characters ever appended.
+     */
+    public synchronized long length() {
+        return start + buffer.length();
+    }
+
+    /**
+     * Returns the offset of the oldest character still kept.
+     */
+    public synchronized long getStart() {
+        return start;
+    }
+
+    /**
+     * Appends the text from <code>offset</code> on to <code>into</code>, starting at the oldest
+     * character kept if <code>offset</code> has already been dropped.
+     * @return the offset just past the text copied, to pass to the next call
+     */
+    public synchronized long readFrom(long offset, StringBuilder into) {
+        int from = (int) Math.max(0, Math.min(offset - start, buffer.length()));
+        into.append(buffer, from, buffer.length());
+        return start + buffer.length();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return buffer.toString();
+    }
+}
@@ -84,4 +84,12 @@ public class ActionTest extends TestCase {
         privateActionable.doAction();
         assertEquals(2, privateCheckAction);
     }
+
+    public void testListenerWithoutRemoveStopsActingWhenDisposed() {
+        bindings.dispose();
+        actionable.doAction();
+        privateActionable.doAction();
+        assertEquals(0, checkAction);
+        assertEquals(0, privateCheckAction);
+    }
 }
@@ -18,7 +18,12 @@ import com.palantir.ptoss.cinch.negative.InaccessibleControllerMethodTest;
 import com.palantir.ptoss.cinch.negative.NegativeActionTest;
 import com.palantir.ptoss.cinch.negative.WrongTypeTest;
 
+import com.palantir.ptoss.cinch.core.BindingRegistryTest;
+import com.palantir.ptoss.cinch.core.SubscriberIndexTest;
+import com.palantir.ptoss.cinch.core.UnreachableViewReleaseTest;
+import com.palantir.ptoss.cinch.core.WeakBindingChurnTest;
 import com.palantir.ptoss.cinch.swing.BoundTest;
+import com.palantir.ptoss.cinch.swing.DocumentTextTest;
 import junit.framework.Test;
 import junit.framework.TestSuite;
 
@@ -35,12 +40,27 @@ public class AllCinchTests {
         suite.addTestSuite(BindingContextIndexTest.class);
         suite.addTestSuite(BindingContextTest.class);
         suite.addTestSuite(EnabledIfTest.class);
+        suite.addTestSuite(BindingGatingTest.class);
+        suite.addTestSuite(VersionedBindableModelTest.class);
+        suite.addTestSuite(PropertyUpdateTest.class);
+        suite.addTestSuite(DependencyTrackingTest.class);
+        suite.addTestSuite(BindingScopeTest.class);
+        suite.addTestSuite(BindingDisposeTest.class);
+        suite.addTestSuite(BindingRegistryTest.class);
+        suite.addTestSuite(SubscriberIndexTest.class);
+        suite.addTestSuite(WeakBindingChurnTest.class);
+        suite.addTestSuite(UnreachableViewReleaseTest.class);
         suite.addTestSuite(ActionTest.class);
         suite.addTestSuite(ViewSubclassModelNameCollisionTest.class);
         suite.addTestSuite(NotBindableTest.class);
         suite.addTestSuite(SubclassEdgeCasesTest.class);
         suite.addTestSuite(NegativeActionTest.class);
         suite.addTestSuite(CallOnUpdateTest.class);
+        suite.addTestSuite(InvokersTest.class);
+        suite.addTestSuite(UpdateCoalescingTest.class);
+        suite.addTestSuite(ModelTransactionsTest.class);
+        suite.addTestSuite(ModelUpdateFilterTest.class);
+        suite.addTestSuite(IndexedDispatchTest.class);
 
         suite.addTestSuite(BoundJLabelTest.class);
         suite.addTestSuite(BoundJComboBoxTest.class);
@@ -50,7 +70,15 @@ public class AllCinchTests {
         suite.addTestSuite(BoundJToggleButtonTest.class);
         suite.addTestSuite(BoundJSliderTest.class);
         suite.addTestSuite(BoundJTextComponentTest.class);
+        suite.addTestSuite(BoundTextCommitTest.class);
+        suite.addTestSuite(BoundTextLogTest.class);
+        suite.addTestSuite(BoundTextBufferTest.class);
+        suite.addTestSuite(DocumentTextTest.class);
         suite.addTestSuite(BoundJListTest.class);
+        suite.addTestSuite(BoundJListDiffTest.class);
+        suite.addTestSuite(BoundListViewTest.class);
+        suite.addTestSuite(BoundJTableTest.class);
+        suite.addTestSuite(BoundJTreeTest.class);
         suite.addTestSuite(BoundTest.class);
         //$JUnit-END$
         return suite;
@@ -126,4 +126,26 @@ public class BindingContextTest extends TestCase {
         assertEquals(model, context.getBindableModel("model"));
     }
 
+    public static class SharedShapeView {
+        final SimpleModel model = new SimpleModel();
+        @Bindable
+        final SimpleController controller = new SimpleController();
+    }
+
+    public void testContextsOfSameClassResolveOwnInstances() throws Exception {
+        SharedShapeView view1 = new SharedShapeView();
+        SharedShapeView view2 = new SharedShapeView();
+        BindingContext context1 = new BindingContext(view1);
+        BindingContext context2 = new BindingContext(view2);
+        assertSame(view1.model, context1.getBindableModel("model"));
+        assertSame(view2.model, context2.getBindableModel("model"));
+        assertSame(view1.model, context1.findGetter("simpleBoolean").getObject());
+        assertSame(view2.model, context2.findSetter("simpleBoolean").getObject());
+        assertSame(view1.controller, context1.getBindableMethod("doSomething").getObject());
+        assertSame(view2.controller, context2.getBindableMethod("doSomething").getObject());
+
+        context2.findSetter("simpleBoolean").getMethod().invoke(view2.model, true);
+        assertFalse(view1.model.isSimpleBoolean());
+        assertTrue(view2.model.isSimpleBoolean());
+    }
 }
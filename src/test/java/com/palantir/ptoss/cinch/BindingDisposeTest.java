@@ -0,0 +1,221 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JList;
+import javax.swing.JSlider;
+import javax.swing.JTextField;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.ptoss.cinch.core.BindableModel;
+import com.palantir.ptoss.cinch.core.Binding;
+import com.palantir.ptoss.cinch.core.BindingContext;
+import com.palantir.ptoss.cinch.core.BindingScope;
+import com.palantir.ptoss.cinch.core.BindingWiring;
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.DefaultBindableModel;
+import com.palantir.ptoss.cinch.core.DisposableBinding;
+import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.swing.Action;
+import com.palantir.ptoss.cinch.swing.Bound;
+import com.palantir.ptoss.cinch.swing.BoundSelection;
+import com.palantir.ptoss.cinch.swing.OnClick;
+
+import junit.framework.TestCase;
+
+public class BindingDisposeTest extends TestCase {
+
+    public static class Model extends DefaultBindableModel {
+        private String text;
+        private boolean flag;
+        private int value;
+        private List<String> items = ImmutableList.of("a", "b");
+        private String selected;
+        private int actions;
+        private int clicks;
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+            update();
+        }
+
+        public boolean isFlag() {
+            return flag;
+        }
+
+        public void setFlag(boolean flag) {
+            this.flag = flag;
+            update();
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public void setValue(int value) {
+            this.value = value;
+            update();
+        }
+
+        public List<String> getItems() {
+            return items;
+        }
+
+        public String getSelected() {
+            return selected;
+        }
+
+        public void setSelected(String selected) {
+            this.selected = selected;
+            update();
+        }
+
+        public void act() {
+            actions++;
+        }
+
+        public void click() {
+            clicks++;
+        }
+    }
+
+    public static class View {
+        final Model model = new Model();
+
+        @Bound(to = "text")
+        final JTextField text = new JTextField();
+
+        @Bound(to = "flag")
+        final JCheckBox flag = new JCheckBox();
+
+        @Bound(to = "value")
+        final JSlider slider = new JSlider(0, 100, 0);
+
+        @Bound(to = "items")
+        @BoundSelection(to = "selected")
+        final JList list = new JList();
+
+        @Action(call = "act")
+        final JButton action = new JButton();
+
+        @OnClick(call = "click")
+        final JButton click = new JButton();
+    }
+
+    private final View view = new View();
+
+    private final int textListeners = view.text.getFocusListeners().length;
+    private final int flagListeners = view.flag.getActionListeners().length;
+    private final int sliderListeners = view.slider.getChangeListeners().length;
+    private final int listListeners = view.list.getListSelectionListeners().length;
+    private final int actionListeners = view.action.getActionListeners().length;
+    private final int clickListeners = view.click.getMouseListeners().length;
+
+    private final Bindings bindings = Bindings.standard();
+
+    public void testEveryWiringIsDisposable() {
+        BindingScope scope = bindings.bindScoped(view);
+        for (Binding binding : scope.getBindings()) {
+            assertTrue(binding.getClass().getName(), binding instanceof DisposableBinding);
+        }
+    }
+
+    public void testDisposeRemovesListeners() {
+        bindings.bind(view);
+        assertEquals(textListeners + 1, view.text.getFocusListeners().length);
+        assertEquals(flagListeners + 1, view.flag.getActionListeners().length);
+        assertEquals(sliderListeners + 1, view.slider.getChangeListeners().length);
+        assertEquals(listListeners + 1, view.list.getListSelectionListeners().length);
+        assertEquals(actionListeners + 1, view.action.getActionListeners().length);
+        assertEquals(clickListeners + 1, view.click.getMouseListeners().length);
+
+        bindings.dispose();
+        assertEquals(textListeners, view.text.getFocusListeners().length);
+        assertEquals(flagListeners, view.flag.getActionListeners().length);
+        assertEquals(sliderListeners, view.slider.getChangeListeners().length);
+        assertEquals(listListeners, view.list.getListSelectionListeners().length);
+        assertEquals(actionListeners, view.action.getActionListeners().length);
+        assertEquals(clickListeners, view.click.getMouseListeners().length);
+
+        view.action.doClick();
+        assertEquals(0, view.model.actions);
+        view.text.setText("typed");
+        assertNull(view.model.getText());
+        view.flag.doClick();
+        assertFalse(view.model.isFlag());
+    }
+
+    public void testDisposeUnbindsFromModel() {
+        bindings.bind(view);
+        view.model.setText("bound");
+        view.model.setValue(40);
+        assertEquals("bound", view.text.getText());
+        assertEquals(40, view.slider.getValue());
+
+        bindings.dispose();
+        view.model.setText("disposed");
+        view.model.setFlag(true);
+        view.model.setValue(60);
+        assertEquals("bound", view.text.getText());
+        assertFalse(view.flag.isSelected());
+        assertEquals(40, view.slider.getValue());
+    }
+
+    public void testDisposeScope() {
+        View other = new View();
+        BindingScope scope = bindings.bindScoped(view);
+        bindings.bind(other);
+        scope.dispose();
+
+        view.model.setFlag(true);
+        other.model.setFlag(true);
+        assertFalse(view.flag.isSelected());
+        assertTrue(other.flag.isSelected());
+    }
+
+    public void testDisposeUnbindsPlainBindings() {
+        final int[] calls = new int[1];
+        BindingWiring plain = new BindingWiring() {
+            public Collection<Binding> wire(BindingContext context) {
+                Binding binding = new Binding() {
+                    public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                        calls[0]++;
+                    }
+                };
+                for (BindableModel model : context.getBindableModels()) {
+                    model.bind(binding);
+                }
+                return ImmutableList.of(binding);
+            }
+        };
+        Bindings custom = new Bindings(ImmutableList.of(plain));
+        custom.bind(view);
+        assertEquals(1, calls[0]);
+        view.model.update();
+        assertEquals(2, calls[0]);
+
+        custom.dispose();
+        view.model.update();
+        assertEquals(2, calls[0]);
+    }
+}
@@ -0,0 +1,156 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.DefaultBindableModel;
+import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.swing.Bound;
+import com.palantir.ptoss.cinch.swing.EnabledIf;
+import com.palantir.ptoss.cinch.swing.VisibleIf;
+
+import junit.framework.TestCase;
+
+public class BindingGatingTest extends TestCase {
+
+    public static class Model extends DefaultBindableModel {
+        public enum Update implements ModelUpdate {
+            READY, LABEL;
+        }
+
+        private boolean ready;
+        private String label;
+
+        public boolean isReady() {
+            return ready;
+        }
+
+        public void setReady(boolean ready) {
+            this.ready = ready;
+            modelUpdated(Update.READY);
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+            modelUpdated(Update.LABEL);
+        }
+    }
+
+    private static class CountingButton extends JButton {
+        private static final long serialVersionUID = 1L;
+        int enabledCalls;
+        int visibleCalls;
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            enabledCalls++;
+            super.setEnabled(enabled);
+        }
+
+        @Override
+        public void setVisible(boolean visible) {
+            visibleCalls++;
+            super.setVisible(visible);
+        }
+    }
+
+    private static class CountingLabel extends JLabel {
+        private static final long serialVersionUID = 1L;
+        int textCalls;
+
+        @Override
+        public void setText(String text) {
+            textCalls++;
+            super.setText(text);
+        }
+    }
+
+    private final Model model = new Model();
+
+    @EnabledIf(to = "ready")
+    @VisibleIf(to = "ready", type = VisibleIf.Type.INVERTED)
+    private final CountingButton button = new CountingButton();
+
+    @EnabledIf(to = "ready", on = "LABEL")
+    private final CountingButton labelOnly = new CountingButton();
+
+    @Bound(to = "label")
+    private final CountingLabel label = new CountingLabel();
+
+    @Bound(to = "label", on = "READY")
+    private final CountingLabel readyOnly = new CountingLabel();
+
+    private final Bindings bindings = new Bindings();
+
+    @Override
+    protected void setUp() throws Exception {
+        bindings.bind(this);
+    }
+
+    public void testUnchangedValuesMakeNoCalls() {
+        assertFalse(button.isEnabled());
+        assertTrue(button.isVisible());
+        int enabledCalls = button.enabledCalls;
+        int visibleCalls = button.visibleCalls;
+        int textCalls = label.textCalls;
+
+        model.setLabel(null);
+        model.update();
+        assertEquals(enabledCalls, button.enabledCalls);
+        assertEquals(visibleCalls, button.visibleCalls);
+        assertEquals(textCalls, label.textCalls);
+
+        model.setReady(true);
+        assertTrue(button.isEnabled());
+        assertFalse(button.isVisible());
+        assertEquals(enabledCalls + 1, button.enabledCalls);
+        assertEquals(visibleCalls + 1, button.visibleCalls);
+
+        model.setLabel("go");
+        assertEquals("go", label.getText());
+        assertEquals(textCalls + 1, label.textCalls);
+    }
+
+    public void testOnFilters() {
+        model.setReady(true);
+        assertFalse(labelOnly.isEnabled());
+        assertEquals("", readyOnly.getText());
+
+        model.setLabel("go");
+        assertTrue(labelOnly.isEnabled());
+        assertEquals("", readyOnly.getText());
+
+        model.setReady(false);
+        assertTrue(labelOnly.isEnabled());
+        assertEquals("go", readyOnly.getText());
+    }
+
+    public void testFullSyncCorrectsTheComponent() {
+        button.setEnabled(true);
+        button.setVisible(false);
+        model.update();
+        assertTrue(button.isEnabled());
+
+        bindings.updateAll();
+        assertFalse(button.isEnabled());
+        assertTrue(button.isVisible());
+    }
+}
@@ -0,0 +1,116 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import com.palantir.ptoss.cinch.core.BindingScope;
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.CallOnUpdate;
+import com.palantir.ptoss.cinch.core.DefaultBindableModel;
+
+import junit.framework.TestCase;
+
+public class BindingScopeTest extends TestCase {
+
+    public static class View {
+        final DefaultBindableModel model;
+        int calls;
+
+        View(DefaultBindableModel model) {
+            this.model = model;
+        }
+
+        @CallOnUpdate
+        public void modelChanged() {
+            calls++;
+        }
+    }
+
+    private final DefaultBindableModel model = new DefaultBindableModel();
+
+    private final Bindings bindings = Bindings.standard();
+
+    public void testBindSyncsOnlyNewBindings() {
+        View first = new View(model);
+        BindingScope scope = bindings.bindScoped(first);
+        assertEquals(1, scope.getBindings().size());
+        assertEquals(1, first.calls);
+
+        View second = new View(model);
+        bindings.bind(second);
+        assertEquals(1, first.calls);
+        assertEquals(1, second.calls);
+
+        scope.updateAll();
+        assertEquals(2, first.calls);
+        assertEquals(1, second.calls);
+
+        bindings.updateAll();
+        assertEquals(3, first.calls);
+        assertEquals(2, second.calls);
+    }
+
+    public void testBindAllSyncsEachOnce() {
+        List<View> views = Lists.newArrayList();
+        for (int i = 0; i < 50; i++) {
+            views.add(new View(model));
+        }
+        BindingScope scope = bindings.bindAll(views);
+        assertEquals(50, scope.getBindings().size());
+        for (View view : views) {
+            assertEquals(1, view.calls);
+        }
+
+        model.update();
+        for (View view : views) {
+            assertEquals(2, view.calls);
+        }
+    }
+
+    public void testRelease() {
+        View first = new View(model);
+        View second = new View(model);
+        BindingScope scope = bindings.bindScoped(first);
+        bindings.bind(second);
+        scope.release(model);
+        model.update();
+        assertEquals(1, first.calls);
+        assertEquals(2, second.calls);
+    }
+
+    public void testDisposedScopesAreForgotten() {
+        View first = new View(model);
+        View second = new View(model);
+        BindingScope scope = bindings.bindScoped(first);
+        bindings.bind(second);
+        List<View> others = Lists.newArrayList(new View(model), new View(model));
+        BindingScope all = bindings.bindAll(others);
+
+        scope.dispose();
+        all.dispose();
+        bindings.updateAll();
+        assertEquals(1, first.calls);
+        assertEquals(2, second.calls);
+        for (View view : others) {
+            assertEquals(1, view.calls);
+        }
+    }
+
+    public void testBindKeepsItsSignature() throws Exception {
+        assertEquals(void.class, Bindings.class.getMethod("bind", Object.class).getReturnType());
+        assertEquals(void.class, Bindings.class.getMethod("bindWithoutUpdate", Object.class).getReturnType());
+    }
+}
@@ -0,0 +1,140 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import javax.swing.JList;
+import javax.swing.ListModel;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.palantir.ptoss.cinch.BoundJListTest.Model;
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.swing.Bound;
+import com.palantir.ptoss.util.ListDiff;
+
+import junit.framework.TestCase;
+
+public class BoundJListDiffTest extends TestCase {
+
+    private final Model model = new Model();
+
+    @Bound(to = "model.values", listMode = Bound.ListMode.DIFF)
+    private final JList list = new JList();
+
+    private final Bindings bindings = Bindings.standard();
+
+    private final List<String> events = Lists.newArrayList();
+
+    @Override
+    protected void setUp() throws Exception {
+        bindings.bind(this);
+        list.getModel().addListDataListener(new ListDataListener() {
+            public void intervalAdded(ListDataEvent e) {
+                events.add("added " + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            public void intervalRemoved(ListDataEvent e) {
+                events.add("removed " + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            public void contentsChanged(ListDataEvent e) {
+                events.add("changed " + e.getIndex0() + "-" + e.getIndex1());
+            }
+        });
+    }
+
+    private List<Object> contents() {
+        ListModel listModel = list.getModel();
+        List<Object> contents = Lists.newArrayList();
+        for (int i = 0; i < listModel.getSize(); i++) {
+            contents.add(listModel.getElementAt(i));
+        }
+        return contents;
+    }
+
+    public void testChangesInPlace() {
+        ListModel listModel = list.getModel();
+        model.setValues(ImmutableList.of("a", "b", "c", "d", "e"));
+        assertEquals(ImmutableList.of("added 0-4"), events);
+
+        events.clear();
+        model.setValues(ImmutableList.of("a", "b", "x", "d", "e", "f"));
+        assertSame(listModel, list.getModel());
+        assertEquals(ImmutableList.of("added 5-5", "changed 2-2"), events);
+        assertEquals(ImmutableList.of("a", "b", "x", "d", "e", "f"), contents());
+
+        events.clear();
+        model.setValues(Lists.newArrayList("a", "b", "x", "d", "e", "f"));
+        assertTrue(events.isEmpty());
+
+        model.setValues(ImmutableList.of("b", "x", "d"));
+        assertEquals(ImmutableList.of("removed 4-5", "removed 0-0"), events);
+
+        model.setValues(null);
+        assertEquals(0, list.getModel().getSize());
+    }
+
+    public void testMaintainSelection() {
+        model.setValues(ImmutableList.of("one", "two", "three"));
+        list.setSelectedIndex(1);
+        model.setValues(ImmutableList.of("two", "three", "four"));
+        assertEquals(0, list.getSelectedIndex());
+        assertEquals("two", list.getSelectedValue());
+        model.setValues(ImmutableList.of("three", "four", "five"));
+        assertEquals(-1, list.getSelectedIndex());
+
+        list.setSelectedIndices(new int[] {0, 2});
+        model.setValues(ImmutableList.of("one", "two", "three", "four", "five"));
+        assertTrue(Arrays.equals(new int[] {2, 4}, list.getSelectedIndices()));
+        model.setValues(ImmutableList.of("six", "five"));
+        assertTrue(Arrays.equals(new int[] {1}, list.getSelectedIndices()));
+
+        // a selected row that is overwritten in place loses its selection.
+        list.setSelectedIndex(0);
+        model.setValues(ImmutableList.of("seven", "five"));
+        assertEquals(-1, list.getSelectedIndex());
+    }
+
+    public void testRandomDiffs() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<Integer> from = randomList(random);
+            List<Integer> to = randomList(random);
+            List<Integer> patched = Lists.newArrayList(from);
+            List<ListDiff.Edit> edits = ListDiff.diff(from, to, round % 2 == 0 ? 4 : ListDiff.DEFAULT_MAX_EDITS);
+            for (int i = edits.size() - 1; i >= 0; i--) {
+                ListDiff.Edit edit = edits.get(i);
+                List<Integer> range = patched.subList(edit.getPosition(), edit.getPosition() + edit.getRemoveCount());
+                range.clear();
+                range.addAll(to.subList(edit.getInsertIndex(), edit.getInsertIndex() + edit.getInsertCount()));
+            }
+            assertEquals(to, patched);
+        }
+    }
+
+    private static List<Integer> randomList(Random random) {
+        List<Integer> list = Lists.newArrayList();
+        int size = random.nextInt(20);
+        for (int i = 0; i < size; i++) {
+            list.add(random.nextInt(5));
+        }
+        return list;
+    }
+}
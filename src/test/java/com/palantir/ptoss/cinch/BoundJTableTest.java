@@ -0,0 +1,167 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.util.List;
+
+import javax.swing.JTable;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.palantir.ptoss.cinch.core.BindingException;
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.DefaultBindableModel;
+import com.palantir.ptoss.cinch.swing.Bound;
+
+import junit.framework.TestCase;
+
+public class BoundJTableTest extends TestCase {
+
+    public static class Person {
+        private final String name;
+        private int age;
+
+        public Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+
+    public static class Model extends DefaultBindableModel {
+        private List<Person> people = Lists.newArrayList();
+
+        public List<Person> getPeople() {
+            return people;
+        }
+
+        public void setPeople(List<Person> people) {
+            this.people = people;
+            update();
+        }
+    }
+
+    private final Model model = new Model();
+
+    @Bound(to = "model.people", columns = { "name", "age" })
+    private final JTable table = new JTable();
+
+    private final Bindings bindings = Bindings.standard();
+
+    private final List<String> events = Lists.newArrayList();
+
+    private final Person alice = new Person("Alice", 30);
+    private final Person bob = new Person("Bob", 40);
+    private final Person carol = new Person("Carol", 50);
+
+    @Override
+    protected void setUp() throws Exception {
+        bindings.bind(this);
+        table.getModel().addTableModelListener(new TableModelListener() {
+            public void tableChanged(TableModelEvent e) {
+                String type = e.getType() == TableModelEvent.INSERT ? "inserted"
+                        : e.getType() == TableModelEvent.DELETE ? "deleted" : "updated";
+                events.add(type + " " + e.getFirstRow() + "-" + e.getLastRow());
+            }
+        });
+    }
+
+    public void testColumns() {
+        assertEquals(2, table.getColumnCount());
+        assertEquals("name", table.getColumnName(0));
+        assertEquals("age", table.getColumnName(1));
+        assertEquals(0, table.getRowCount());
+    }
+
+    public void testIncrementalEvents() {
+        model.setPeople(Lists.newArrayList(alice, carol));
+        assertEquals(ImmutableList.of("inserted 0-1"), events);
+        assertEquals("Carol", table.getValueAt(1, 0));
+        assertEquals(50, table.getValueAt(1, 1));
+
+        events.clear();
+        model.getPeople().add(1, bob);
+        model.update();
+        assertEquals(ImmutableList.of("inserted 1-1"), events);
+        assertEquals("Bob", table.getValueAt(1, 0));
+
+        events.clear();
+        table.setRowSelectionInterval(2, 2);
+        bob.setAge(41);
+        model.update();
+        assertEquals(ImmutableList.of("updated 1-1"), events);
+        assertEquals(41, table.getValueAt(1, 1));
+        assertEquals(2, table.getSelectedRow());
+
+        events.clear();
+        model.update();
+        assertTrue(events.isEmpty());
+
+        model.setPeople(ImmutableList.of(bob, carol));
+        assertEquals(ImmutableList.of("deleted 0-0"), events);
+        assertEquals(1, table.getSelectedRow());
+
+        events.clear();
+        model.setPeople(null);
+        assertEquals(ImmutableList.of("deleted 0-1"), events);
+    }
+
+    public static class FixedRowsView {
+        private final Model model = new Model();
+
+        @Bound(to = "model.people", columns = { "name", "age" }, refreshCells = false)
+        private final JTable fixed = new JTable();
+    }
+
+    public void testKeptRowsAreNotReadWithoutRefresh() {
+        FixedRowsView view = new FixedRowsView();
+        Bindings.standard().bind(view);
+        view.model.setPeople(Lists.newArrayList(alice, bob));
+        assertEquals(40, view.fixed.getValueAt(1, 1));
+
+        bob.setAge(41);
+        view.model.getPeople().add(carol);
+        view.model.update();
+        assertEquals(3, view.fixed.getRowCount());
+        assertEquals(40, view.fixed.getValueAt(1, 1));
+        assertEquals(50, view.fixed.getValueAt(2, 1));
+    }
+
+    public void testNeedsColumns() {
+        Object view = new Object() {
+            @Bound(to = "model.people")
+            private final JTable noColumns = new JTable();
+            private final Model model = new Model();
+        };
+        try {
+            Bindings.standard().bind(view);
+            fail();
+        } catch (BindingException e) {
+            // expected
+        }
+    }
+}
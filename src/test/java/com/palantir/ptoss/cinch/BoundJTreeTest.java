@@ -0,0 +1,201 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.util.List;
+
+import javax.swing.JTree;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreePath;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.DefaultBindableModel;
+import com.palantir.ptoss.cinch.swing.Bound;
+
+import junit.framework.TestCase;
+
+public class BoundJTreeTest extends TestCase {
+
+    public static class Node {
+        private String name;
+        private final List<Node> children = Lists.newArrayList();
+        private int reads;
+
+        public Node(String name, Node... children) {
+            this.name = name;
+            this.children.addAll(ImmutableList.copyOf(children));
+        }
+
+        public List<Node> getChildren() {
+            reads++;
+            return children;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * A node that is equal to any other with the same key, whatever its children.
+     */
+    public static class KeyedNode extends Node {
+        private final String key;
+
+        public KeyedNode(String key, Node... children) {
+            super(key, children);
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof KeyedNode && ((KeyedNode) obj).key.equals(key);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+    }
+
+    public static class Model extends DefaultBindableModel {
+        private Node root;
+
+        public Node getRoot() {
+            return root;
+        }
+
+        public void setRoot(Node root) {
+            this.root = root;
+            update();
+        }
+    }
+
+    private final Model model = new Model();
+
+    @Bound(to = "model.root", children = "children")
+    private final JTree tree = new JTree();
+
+    private final Bindings bindings = Bindings.standard();
+
+    private final List<String> events = Lists.newArrayList();
+
+    private final Node leaf = new Node("leaf");
+    private final Node hidden = new Node("hidden", leaf);
+    private final Node a = new Node("a", hidden);
+    private final Node b = new Node("b");
+    private final Node root = new Node("root", a, b);
+
+    @Override
+    protected void setUp() throws Exception {
+        bindings.bind(this);
+        tree.getModel().addTreeModelListener(new TreeModelListener() {
+            public void treeNodesChanged(TreeModelEvent e) {
+                events.add("changed " + e.getTreePath().getLastPathComponent() + " " + e.getChildren()[0]);
+            }
+
+            public void treeNodesInserted(TreeModelEvent e) {
+                events.add("inserted " + e.getTreePath().getLastPathComponent() + " " + e.getChildren()[0]);
+            }
+
+            public void treeNodesRemoved(TreeModelEvent e) {
+                events.add("removed " + e.getTreePath().getLastPathComponent() + " " + e.getChildren()[0]);
+            }
+
+            public void treeStructureChanged(TreeModelEvent e) {
+                events.add("structure");
+            }
+        });
+    }
+
+    public void testLazyChildren() {
+        model.setRoot(root);
+        assertSame(root, tree.getModel().getRoot());
+        assertEquals(2, tree.getModel().getChildCount(root));
+        assertEquals(0, leaf.reads);
+
+        tree.expandPath(new TreePath(new Object[] {root, a}));
+        assertTrue(hidden.reads > 0);
+        assertEquals(0, leaf.reads);
+    }
+
+    public void testTargetedEvents() {
+        model.setRoot(root);
+        tree.expandPath(new TreePath(new Object[] {root, a}));
+        assertEquals(ImmutableList.of("structure"), events);
+
+        events.clear();
+        Node c = new Node("c");
+        root.children.add(c);
+        model.update();
+        assertEquals(ImmutableList.of("inserted root c"), events);
+        assertEquals(c, tree.getModel().getChild(root, 2));
+
+        events.clear();
+        a.children.remove(hidden);
+        hidden.children.clear();
+        model.update();
+        assertEquals(ImmutableList.of("removed a hidden"), events);
+        assertTrue(tree.getModel().isLeaf(a));
+
+        events.clear();
+        b.setName("bee");
+        model.update();
+        assertEquals(ImmutableList.of("changed root bee"), events);
+
+        events.clear();
+        model.update();
+        assertTrue(events.isEmpty());
+        assertTrue(tree.isExpanded(new TreePath(root)));
+    }
+
+    public void testEqualNodesAreSwappedIn() {
+        Node x = new Node("x");
+        Node y = new Node("y");
+        KeyedNode first = new KeyedNode("k", x);
+        KeyedNode second = new KeyedNode("k", y);
+        root.children.add(first);
+        model.setRoot(root);
+        tree.expandPath(new TreePath(new Object[] {root, first}));
+        assertSame(x, tree.getModel().getChild(first, 0));
+
+        root.children.set(2, second);
+        model.update();
+        assertSame(second, tree.getModel().getChild(root, 2));
+        assertSame(y, tree.getModel().getChild(second, 0));
+    }
+
+    public void testCollapsedSubtreesAreForgotten() {
+        model.setRoot(root);
+        TreePath toA = new TreePath(new Object[] {root, a});
+        tree.expandPath(toA);
+        tree.expandPath(toA.pathByAddingChild(hidden));
+        assertTrue(leaf.reads > 0);
+
+        tree.collapsePath(toA);
+        a.reads = 0;
+        hidden.reads = 0;
+        model.update();
+        assertTrue(a.reads > 0);
+        assertEquals(0, hidden.reads);
+    }
+}
@@ -0,0 +1,141 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.util.List;
+
+import javax.swing.ComboBoxModel;
+import javax.swing.JComboBox;
+import javax.swing.JList;
+import javax.swing.ListModel;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.palantir.ptoss.cinch.BoundJListTest.Model;
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.swing.Bound;
+
+import junit.framework.TestCase;
+
+public class BoundListViewTest extends TestCase {
+
+    public static final String NULL_VALUE = "<none>";
+
+    private final Model model = new Model();
+
+    @Bound(to = "model.values", listMode = Bound.ListMode.VIEW)
+    private final JList list = new JList();
+
+    @Bound(to = "model.values", listMode = Bound.ListMode.VIEW, nullValue = "NULL_VALUE")
+    private final JComboBox viewBox = new JComboBox();
+
+    @Bound(to = "model.values")
+    private final JComboBox copyBox = new JComboBox();
+
+    private final Bindings bindings = Bindings.standard();
+
+    @Override
+    protected void setUp() throws Exception {
+        bindings.bind(this);
+    }
+
+    private static List<Object> contents(ListModel listModel) {
+        List<Object> contents = Lists.newArrayList();
+        for (int i = 0; i < listModel.getSize(); i++) {
+            contents.add(listModel.getElementAt(i));
+        }
+        return contents;
+    }
+
+    public void testListShowsModelList() {
+        List<String> values = Lists.newArrayList("one", "two", "three");
+        model.setValues(values);
+        ListModel listModel = list.getModel();
+        assertEquals(values, contents(listModel));
+
+        list.setSelectedIndex(1);
+        values.add(0, "zero");
+        model.update();
+        assertSame(listModel, list.getModel());
+        assertEquals(values, contents(listModel));
+        // changed in place, but the selection follows the selected value.
+        assertEquals("two", list.getSelectedValue());
+        assertEquals(2, list.getSelectedIndex());
+
+        model.setValues(ImmutableList.of("one", "two"));
+        assertEquals("two", list.getSelectedValue());
+        assertEquals(1, list.getSelectedIndex());
+
+        model.setValues(null);
+        assertEquals(0, listModel.getSize());
+        assertEquals(-1, list.getSelectedIndex());
+    }
+
+    public void testInPlaceChangesAreReportedInOneEvent() {
+        List<String> values = Lists.newArrayList("a", "b", "c", "d", "e");
+        model.setValues(values);
+        final List<int[]> changed = Lists.newArrayList();
+        list.getModel().addListDataListener(new ListDataListener() {
+            public void intervalAdded(ListDataEvent e) {
+                fail();
+            }
+
+            public void intervalRemoved(ListDataEvent e) {
+                fail();
+            }
+
+            public void contentsChanged(ListDataEvent e) {
+                changed.add(new int[] { e.getIndex0(), e.getIndex1() });
+            }
+        });
+        // the same hash code as the element it replaces.
+        values.set(1, "Aa");
+        model.update();
+        values.set(1, "BB");
+        model.update();
+        assertEquals(2, changed.size());
+        assertEquals(0, changed.get(1)[0]);
+        assertEquals(4, changed.get(1)[1]);
+        assertEquals("BB", list.getModel().getElementAt(1));
+    }
+
+    public void testComboShowsModelList() {
+        List<String> values = Lists.newArrayList("Alpha", "Bravo", "Charlie");
+        model.setValues(values);
+        ComboBoxModel comboModel = viewBox.getModel();
+        assertEquals(ImmutableList.of(NULL_VALUE, "Alpha", "Bravo", "Charlie"), contents(comboModel));
+
+        viewBox.setSelectedItem("Charlie");
+        values.add("Delta");
+        model.update();
+        assertSame(comboModel, viewBox.getModel());
+        assertEquals(5, viewBox.getItemCount());
+        assertEquals("Charlie", viewBox.getSelectedItem());
+
+        model.setValues(ImmutableList.of("Alpha", "Bravo"));
+        assertEquals("Bravo", viewBox.getSelectedItem());
+    }
+
+    public void testCopyIsOnlyRebuiltWhenChanged() {
+        model.setValues(ImmutableList.of("Alpha", "Bravo"));
+        ComboBoxModel comboModel = copyBox.getModel();
+        model.setValues(Lists.newArrayList("Alpha", "Bravo"));
+        assertSame(comboModel, copyBox.getModel());
+        model.setValues(ImmutableList.of("Alpha", "Bravo", "Charlie"));
+        assertNotSame(comboModel, copyBox.getModel());
+        assertEquals(3, copyBox.getItemCount());
+    }
+}
@@ -0,0 +1,168 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.util.List;
+import java.util.Random;
+
+import javax.swing.JTextArea;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Position;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.DefaultBindableModel;
+import com.palantir.ptoss.cinch.swing.Bound;
+import com.palantir.ptoss.cinch.swing.TextBuffer;
+
+import junit.framework.TestCase;
+
+public class BoundTextBufferTest extends TestCase {
+
+    public static class Model extends DefaultBindableModel {
+        private final TextBuffer text = new TextBuffer("line one\nline two");
+        private final List<String> edits = Lists.newArrayList();
+
+        public Model() {
+            text.addListener(new TextBuffer.Listener() {
+                public void textEdited(TextBuffer buffer, int offset, int removedLength, CharSequence inserted) {
+                    edits.add(offset + "-" + removedLength + "+" + inserted);
+                    update();
+                }
+            });
+        }
+
+        public TextBuffer getText() {
+            return text;
+        }
+    }
+
+    private final Model model = new Model();
+
+    @Bound(to = "text")
+    private final JTextArea area = new JTextArea();
+
+    @Bound(to = "text")
+    private final JTextArea other = new JTextArea();
+
+    private final Bindings bindings = new Bindings();
+
+    @Override
+    protected void setUp() throws Exception {
+        bindings.bind(this);
+    }
+
+    public void testSharesTheBuffer() throws BadLocationException {
+        Document document = area.getDocument();
+        assertEquals("line one\nline two", area.getText());
+        assertEquals(2, document.getDefaultRootElement().getElementCount());
+        assertEquals(9, document.getDefaultRootElement().getElement(1).getStartOffset());
+
+        document.insertString(4, "s", null);
+        assertEquals("lines one\nline two", model.getText().toString());
+        assertEquals(ImmutableList.of("4-0+s"), model.edits);
+
+        area.select(0, 5);
+        area.replaceSelection("first");
+        assertEquals("first one\nline two", model.getText().toString());
+        assertEquals(ImmutableList.of("4-0+s", "0-5+", "0-0+first"), model.edits);
+        assertSame(document, area.getDocument());
+    }
+
+    public void testModelEditsReachTheView() throws BadLocationException {
+        Document document = area.getDocument();
+        Position two = document.createPosition(14);
+        model.getText().insert(0, "zero\n");
+        assertEquals("zero\nline one\nline two", area.getText());
+        assertEquals(3, document.getDefaultRootElement().getElementCount());
+        assertEquals(19, two.getOffset());
+
+        model.getText().remove(0, 5);
+        assertEquals("line one\nline two", area.getText());
+        assertEquals(14, two.getOffset());
+        assertEquals(ImmutableList.of("0-0+zero\n", "0-5+"), model.edits);
+    }
+
+    public void testRandomEdits() {
+        Random random = new Random(11);
+        TextBuffer buffer = new TextBuffer();
+        StringBuilder expected = new StringBuilder();
+        for (int round = 0; round < 1000; round++) {
+            int offset = random.nextInt(expected.length() + 1);
+            int length = random.nextInt(Math.min(20, expected.length() - offset) + 1);
+            StringBuilder text = new StringBuilder();
+            for (int i = random.nextInt(100); i > 0; i--) {
+                text.append((char) ('a' + random.nextInt(26)));
+            }
+            buffer.replace(offset, length, text);
+            expected.replace(offset, offset + length, text.toString());
+            assertEquals(expected.length(), buffer.length());
+            if (expected.length() > 0) {
+                int index = random.nextInt(expected.length());
+                assertEquals(expected.charAt(index), buffer.charAt(index));
+            }
+        }
+        assertEquals(expected.toString(), buffer.toString());
+    }
+
+    public void testComponentsShareOneBuffer() throws BadLocationException {
+        assertNotSame(area.getDocument(), other.getDocument());
+        Position two = other.getDocument().createPosition(14);
+        area.getDocument().insertString(0, "zero\n", null);
+        assertEquals("zero\nline one\nline two", other.getText());
+        assertEquals(3, other.getDocument().getDefaultRootElement().getElementCount());
+        assertEquals(19, two.getOffset());
+
+        other.getDocument().remove(0, 5);
+        assertEquals("line one\nline two", area.getText());
+        assertEquals(14, two.getOffset());
+
+        model.getText().insert(8, "!");
+        assertEquals("line one!\nline two", area.getText());
+        assertEquals("line one!\nline two", other.getText());
+        assertEquals(ImmutableList.of("0-0+zero\n", "0-5+", "8-0+!"), model.edits);
+    }
+
+    public void testPositionsMoveAsInPlainDocuments() throws BadLocationException {
+        Random random = new Random(17);
+        Document document = area.getDocument();
+        Document plain = new PlainDocument();
+        plain.insertString(0, area.getText(), null);
+        List<Position> positions = Lists.newArrayList();
+        List<Position> plainPositions = Lists.newArrayList();
+        for (int round = 0; round < 2000; round++) {
+            int length = document.getLength();
+            if (random.nextInt(4) == 0) {
+                int offset = random.nextInt(length + 1);
+                positions.add(document.createPosition(offset));
+                plainPositions.add(plain.createPosition(offset));
+                continue;
+            }
+            int offset = random.nextInt(length + 1);
+            int removed = random.nextInt(Math.min(10, length - offset) + 1);
+            String text = random.nextBoolean() ? "" : "abc".substring(random.nextInt(3));
+            document.remove(offset, removed);
+            plain.remove(offset, removed);
+            document.insertString(offset, text, null);
+            plain.insertString(offset, text, null);
+        }
+        assertEquals(plain.getText(0, plain.getLength()), area.getText());
+        for (int i = 0; i < positions.size(); i++) {
+            assertEquals(plainPositions.get(i).getOffset(), positions.get(i).getOffset());
+        }
+    }
+}
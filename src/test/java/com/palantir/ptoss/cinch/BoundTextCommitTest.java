@@ -0,0 +1,141 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
+
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.text.PlainDocument;
+
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.DefaultBindableModel;
+import com.palantir.ptoss.cinch.swing.Bound;
+
+import junit.framework.TestCase;
+
+public class BoundTextCommitTest extends TestCase {
+
+    public static class Model extends DefaultBindableModel {
+        private String text;
+        private int sets;
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+            sets++;
+            update();
+        }
+    }
+
+    private final Model model = new Model();
+
+    @Bound(to = "text")
+    private final JTextField eachChange = new JTextField();
+
+    @Bound(to = "text", commit = Bound.TextCommit.FOCUS_LOST)
+    private final JTextField focusLost = new JTextField();
+
+    @Bound(to = "text", commit = Bound.TextCommit.ENTER)
+    private final JTextField enter = new JTextField();
+
+    @Bound(to = "text", commitDelay = 50)
+    private final JTextField delayed = new JTextField();
+
+    private final Bindings bindings = new Bindings();
+
+    @Override
+    protected void setUp() throws Exception {
+        bindings.bind(this);
+    }
+
+    private static void loseFocus(JTextField field) {
+        for (FocusListener listener : field.getFocusListeners()) {
+            listener.focusLost(new FocusEvent(field, FocusEvent.FOCUS_LOST));
+        }
+    }
+
+    public void testModelValueIsNotWrittenBack() {
+        model.setText("hello");
+        assertEquals(1, model.sets);
+        assertEquals("hello", eachChange.getText());
+        assertEquals("hello", focusLost.getText());
+
+        eachChange.setText("typed");
+        assertEquals("typed", model.getText());
+        assertEquals("typed", enter.getText());
+    }
+
+    public void testFocusLost() {
+        focusLost.setText("abc");
+        focusLost.setText("abcd");
+        assertEquals(0, model.sets);
+        model.setText("other");
+        // unwritten edits aren't overwritten by the model.
+        assertEquals("abcd", focusLost.getText());
+        loseFocus(focusLost);
+        assertEquals("abcd", model.getText());
+        assertEquals(2, model.sets);
+        assertEquals("abcd", delayed.getText());
+    }
+
+    public void testEnter() {
+        enter.setText("abc");
+        assertNull(model.getText());
+        enter.postActionEvent();
+        assertEquals("abc", model.getText());
+        assertEquals(1, model.sets);
+        enter.postActionEvent();
+        assertEquals(1, model.sets);
+    }
+
+    public void testDelay() throws Exception {
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                delayed.setText("a");
+                delayed.setText("ab");
+                delayed.setText("abc");
+            }
+        });
+        assertEquals(0, model.sets);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (model.sets == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+                // flush the event queue.
+            }
+        });
+        assertEquals(1, model.sets);
+        assertEquals("abc", model.getText());
+    }
+
+    public void testEditsOnANewDocumentAreWritten() {
+        eachChange.setDocument(new PlainDocument());
+        eachChange.setText("fresh");
+        assertEquals("fresh", model.getText());
+    }
+
+    public void testModelCatchingUpClearsTheEdit() {
+        focusLost.setText("abc");
+        model.setText("abc");
+        model.setText("other");
+        assertEquals("other", focusLost.getText());
+    }
+}
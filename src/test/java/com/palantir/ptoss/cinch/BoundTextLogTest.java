@@ -0,0 +1,122 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.util.List;
+
+import javax.swing.JTextArea;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.DefaultBindableModel;
+import com.palantir.ptoss.cinch.swing.Bound;
+import com.palantir.ptoss.util.TextLog;
+
+import junit.framework.TestCase;
+
+public class BoundTextLogTest extends TestCase {
+
+    public static class Model extends DefaultBindableModel {
+        private TextLog log = new TextLog();
+
+        public TextLog getLog() {
+            return log;
+        }
+
+        public void println(String line) {
+            log.append(line + "\n");
+            update();
+        }
+
+        public void clear() {
+            log = new TextLog();
+            update();
+        }
+    }
+
+    private final Model model = new Model();
+
+    @Bound(to = "log")
+    private final JTextArea console = new JTextArea();
+
+    @Bound(to = "log", maxLength = 80)
+    private final JTextArea shortConsole = new JTextArea();
+
+    private final Bindings bindings = new Bindings();
+
+    private final List<String> events = Lists.newArrayList();
+
+    @Override
+    protected void setUp() throws Exception {
+        bindings.bind(this);
+        console.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                events.add("insert " + e.getOffset() + "+" + e.getLength());
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                events.add("remove " + e.getOffset() + "+" + e.getLength());
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+                // attributes only.
+            }
+        });
+    }
+
+    public void testAppendsOnlyTheTail() {
+        model.println("one");
+        model.println("two");
+        assertEquals("one\ntwo\n", console.getText());
+        assertEquals(ImmutableList.of("insert 0+4", "insert 4+4"), events);
+
+        events.clear();
+        model.update();
+        assertTrue(events.isEmpty());
+
+        model.clear();
+        model.println("three");
+        assertEquals("three\n", console.getText());
+    }
+
+    public void testMaxLength() {
+        for (int i = 0; i < 100; i++) {
+            model.println("line " + i);
+        }
+        String text = shortConsole.getText();
+        assertTrue(text.length() <= 80);
+        assertTrue(text.endsWith("line 98\nline 99\n"));
+    }
+
+    public void testLogCapacity() {
+        TextLog log = new TextLog(10);
+        log.append("0123456789");
+        StringBuilder read = new StringBuilder();
+        long offset = log.readFrom(0, read);
+        assertEquals(10, offset);
+        log.append("abcdefghij");
+        assertEquals(20, log.length());
+        assertEquals(10, log.getStart());
+        read.setLength(0);
+        // the first ten characters are gone, so reading from 5 starts at the oldest kept.
+        assertEquals(20, log.readFrom(5, read));
+        assertEquals("abcdefghij", read.toString());
+        read.setLength(0);
+        assertEquals(20, log.readFrom(20, read));
+        assertEquals("", read.toString());
+    }
+}
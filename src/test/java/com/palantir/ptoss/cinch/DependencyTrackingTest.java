@@ -0,0 +1,241 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import javax.swing.JLabel;
+
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.CallOnUpdate;
+import com.palantir.ptoss.cinch.core.DefaultBindableModel;
+import com.palantir.ptoss.cinch.core.ModelTransactions;
+import com.palantir.ptoss.cinch.swing.Bound;
+import com.palantir.ptoss.cinch.swing.EnabledIf;
+
+import junit.framework.TestCase;
+
+public class DependencyTrackingTest extends TestCase {
+
+    public static class Model extends DefaultBindableModel {
+        private String subject = "";
+        private String body = "";
+
+        public Model() {
+            setTrackingDependencies(true);
+        }
+
+        public String getSubject() {
+            read("subject");
+            return subject;
+        }
+
+        public void setSubject(String subject) {
+            this.subject = subject;
+            updateProperty("subject");
+        }
+
+        public String getBody() {
+            read("body");
+            return body;
+        }
+
+        public void setBody(String body) {
+            this.body = body;
+            updateProperty("body");
+        }
+    }
+
+    private final Model model = new Model();
+
+    int subjectCalls;
+    int previewCalls;
+    int otherCalls;
+    String preview;
+
+    @CallOnUpdate(model = "model")
+    public void subjectChanged() {
+        model.getSubject();
+        subjectCalls++;
+    }
+
+    @CallOnUpdate(model = "model")
+    public void updatePreview() {
+        // reads the body only while there's a subject.
+        preview = model.getSubject().isEmpty() ? "" : model.getSubject() + ": " + model.getBody();
+        previewCalls++;
+    }
+
+    @CallOnUpdate(model = "model")
+    public void other() {
+        otherCalls++;
+    }
+
+    private final Bindings bindings = Bindings.standard();
+
+    @Override
+    protected void setUp() throws Exception {
+        bindings.bind(this);
+    }
+
+    public void testOnlyDependentsAreCalled() {
+        assertEquals(1, subjectCalls);
+        assertEquals(1, previewCalls);
+        assertEquals(1, otherCalls);
+
+        model.setBody("text");
+        assertEquals(1, subjectCalls);
+        assertEquals(1, previewCalls);
+        assertEquals(1, otherCalls);
+
+        model.setSubject("hi");
+        assertEquals(2, subjectCalls);
+        assertEquals(2, previewCalls);
+        assertEquals(1, otherCalls);
+        assertEquals("hi: text", preview);
+
+        // the preview now reads the body too.
+        model.setBody("more");
+        assertEquals(2, subjectCalls);
+        assertEquals(3, previewCalls);
+        assertEquals("hi: more", preview);
+
+        // a plain update still reaches everything.
+        model.update();
+        assertEquals(3, subjectCalls);
+        assertEquals(4, previewCalls);
+        assertEquals(2, otherCalls);
+    }
+
+    public void testTransactionDeliveriesAreRecorded() {
+        ModelTransactions.run(new Runnable() {
+            public void run() {
+                model.setSubject("a");
+                model.setBody("b");
+            }
+        });
+        assertEquals(2, subjectCalls);
+        assertEquals(2, previewCalls);
+        assertEquals("a: b", preview);
+
+        model.setBody("c");
+        assertEquals(2, subjectCalls);
+        assertEquals(3, previewCalls);
+    }
+
+    public void testUntrackedModelUpdatesEverything() {
+        model.setTrackingDependencies(false);
+        model.setBody("text");
+        assertEquals(2, subjectCalls);
+        assertEquals(2, previewCalls);
+        assertEquals(2, otherCalls);
+    }
+
+    public static class UnreportedModel extends DefaultBindableModel {
+        private String subject = "";
+
+        public UnreportedModel() {
+            setTrackingDependencies(true);
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public void setSubject(String subject) {
+            this.subject = subject;
+            updateProperty("subject");
+        }
+    }
+
+    public static class UnreportedView {
+        private final UnreportedModel model = new UnreportedModel();
+        int calls;
+
+        @CallOnUpdate(model = "model")
+        public void subjectChanged() {
+            model.getSubject();
+            calls++;
+        }
+    }
+
+    public void testModelWithoutReadsUpdatesEverything() {
+        UnreportedView view = new UnreportedView();
+        Bindings.standard().bind(view);
+        assertEquals(1, view.calls);
+        view.model.setSubject("hi");
+        assertEquals(2, view.calls);
+    }
+
+    public static class NameModel extends DefaultBindableModel {
+        private String first = "";
+        private String last = "";
+
+        public NameModel() {
+            setTrackingDependencies(true);
+        }
+
+        public String getFirst() {
+            read("first");
+            return first;
+        }
+
+        public void setFirst(String first) {
+            this.first = first;
+            updateProperty("first");
+        }
+
+        public String getLast() {
+            read("last");
+            return last;
+        }
+
+        public void setLast(String last) {
+            this.last = last;
+            updateProperty("last");
+        }
+
+        public String getFullName() {
+            return getFirst() + " " + getLast();
+        }
+
+        public boolean isNamed() {
+            return !getFirst().isEmpty();
+        }
+    }
+
+    public static class NameView {
+        final NameModel model = new NameModel();
+
+        @Bound(to = "fullName")
+        @EnabledIf(to = "named")
+        final JLabel label = new JLabel();
+
+        @Bound(to = "last")
+        final JLabel lastLabel = new JLabel();
+    }
+
+    public void testBoundGettersAreTracked() {
+        NameView view = new NameView();
+        Bindings.standard().bind(view);
+        assertFalse(view.label.isEnabled());
+
+        view.model.setFirst("Ada");
+        assertEquals("Ada ", view.label.getText());
+        assertTrue(view.label.isEnabled());
+        assertEquals("", view.lastLabel.getText());
+
+        view.model.setLast("Lovelace");
+        assertEquals("Ada Lovelace", view.label.getText());
+        assertEquals("Lovelace", view.lastLabel.getText());
+    }
+}
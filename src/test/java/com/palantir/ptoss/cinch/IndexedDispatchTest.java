@@ -0,0 +1,110 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.palantir.ptoss.cinch.SimpleModel.UpdateTypes;
+import com.palantir.ptoss.cinch.core.BindableModel;
+import com.palantir.ptoss.cinch.core.Binding;
+import com.palantir.ptoss.cinch.core.FilteredBinding;
+import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
+import com.palantir.ptoss.cinch.core.ModelUpdates;
+import com.palantir.ptoss.cinch.core.WeakBindableModel;
+
+import junit.framework.TestCase;
+
+public class IndexedDispatchTest extends TestCase {
+
+    private final List<String> calls = Lists.newArrayList();
+
+    /**
+     * Records every call, whether or not its filter matches, so we can see which bindings the
+     * model skipped.
+     */
+    private FilteredBinding filtered(final String name, UpdateTypes... on) {
+        final ModelUpdateFilter filter = ModelUpdateFilter.of(on);
+        return new FilteredBinding() {
+            public ModelUpdateFilter getFilter() {
+                return filter;
+            }
+
+            public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                calls.add(name);
+            }
+        };
+    }
+
+    private Binding unfiltered(final String name) {
+        return new Binding() {
+            public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                calls.add(name);
+            }
+        };
+    }
+
+    private List<Binding> bindAll(BindableModel model) {
+        List<Binding> bindings = ImmutableList.of(
+                filtered("specific", UpdateTypes.SPECIFIC),
+                unfiltered("any"),
+                filtered("multi", UpdateTypes.MULTI_1, UpdateTypes.MULTI_2),
+                filtered("alsoSpecific", UpdateTypes.SPECIFIC));
+        for (Binding binding : bindings) {
+            model.bind(binding);
+        }
+        return bindings;
+    }
+
+    private void checkDispatch(BindableModel model) {
+        model.modelUpdated(UpdateTypes.SPECIFIC);
+        assertEquals(ImmutableList.of("specific", "any", "alsoSpecific"), calls);
+
+        calls.clear();
+        model.modelUpdated(UpdateTypes.MULTI_2, UpdateTypes.MULTI_1, UpdateTypes.NO_TRIGGER);
+        assertEquals(ImmutableList.of("any", "multi"), calls);
+
+        calls.clear();
+        model.modelUpdated(ModelUpdates.UNSPECIFIED);
+        assertEquals(ImmutableList.of("any"), calls);
+
+        calls.clear();
+        model.modelUpdated(ModelUpdates.ALL);
+        assertEquals(ImmutableList.of("specific", "any", "multi", "alsoSpecific"), calls);
+    }
+
+    public void testDefaultModel() {
+        SimpleModel model = new SimpleModel();
+        List<Binding> bindings = bindAll(model);
+        checkDispatch(model);
+
+        calls.clear();
+        model.unbind(bindings.get(0));
+        model.modelUpdated(UpdateTypes.SPECIFIC);
+        assertEquals(ImmutableList.of("any", "alsoSpecific"), calls);
+    }
+
+    public void testWeakModel() {
+        WeakBindableModel model = new WeakBindableModel();
+        List<Binding> bindings = bindAll(model);
+        checkDispatch(model);
+
+        calls.clear();
+        model.unbind(bindings.get(1));
+        model.modelUpdated(UpdateTypes.SPECIFIC);
+        assertEquals(ImmutableList.of("specific", "alsoSpecific"), calls);
+    }
+}
@@ -0,0 +1,180 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import com.google.common.io.ByteStreams;
+import com.palantir.ptoss.util.Invoker;
+import com.palantir.ptoss.util.Invokers;
+
+import junit.framework.TestCase;
+
+public class InvokersTest extends TestCase {
+
+    public static class Target {
+        private int count;
+        private boolean flag;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        @SuppressWarnings("unused")
+        private boolean isFlag() {
+            return flag;
+        }
+
+        @SuppressWarnings("unused")
+        private void setFlag(boolean flag) {
+            this.flag = flag;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("expected");
+        }
+
+        public static String constant() {
+            return "constant";
+        }
+    }
+
+    /**
+     * Loaded again by {@link PluginLoader} to stand in for a class from a plugin.
+     */
+    public static class Plugin {
+        private Plugin next;
+
+        public Plugin getNext() {
+            return next;
+        }
+
+        public void setNext(Plugin next) {
+            this.next = next;
+        }
+    }
+
+    /**
+     * Defines {@link Plugin} itself, so that Cinch's loader can't resolve it.
+     */
+    private static final class PluginLoader extends ClassLoader {
+        PluginLoader() {
+            super(InvokersTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(Plugin.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    try {
+                        byte[] bytes = ByteStreams.toByteArray(getParent().getResourceAsStream(
+                                name.replace('.', '/') + ".class"));
+                        loaded = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return loaded;
+            }
+        }
+    }
+
+    private final Target target = new Target();
+
+    public void testMethodHandles() throws Exception {
+        checkFactory(Invokers.METHOD_HANDLES);
+    }
+
+    public void testReflection() throws Exception {
+        checkFactory(Invokers.REFLECTION);
+    }
+
+    public void testLambdas() throws Exception {
+        checkFactory(Invokers.LAMBDAS);
+        Invoker setCount = Invokers.LAMBDAS.create(Target.class.getMethod("setCount", int.class));
+        try {
+            setCount.invoke(target, "five");
+            fail("should have thrown");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof ClassCastException);
+        }
+    }
+
+    public void testLambdasSpinForPublicMethods() throws Exception {
+        Invoker getCount = Invokers.LAMBDAS.create(Target.class.getMethod("getCount"));
+        assertEquals("LambdaInvoker", getCount.getClass().getSimpleName());
+    }
+
+    public void testLambdasFallBackToMethodHandlesForChildLoaders() throws Exception {
+        Class<?> plugin = new PluginLoader().loadClass(Plugin.class.getName());
+        assertNotSame(Plugin.class, plugin);
+        Invoker setNext = Invokers.LAMBDAS.create(plugin.getMethod("setNext", plugin));
+        Invoker getNext = Invokers.LAMBDAS.create(plugin.getMethod("getNext"));
+        assertEquals("MethodHandleInvoker", getNext.getClass().getSimpleName());
+
+        Object first = plugin.newInstance();
+        Object second = plugin.newInstance();
+        setNext.invoke(first, second);
+        assertSame(second, getNext.invoke(first));
+    }
+
+    private void checkFactory(Invokers.Factory factory) throws Exception {
+        Invoker setCount = factory.create(Target.class.getMethod("setCount", int.class));
+        Invoker getCount = factory.create(Target.class.getMethod("getCount"));
+        assertNull(setCount.invoke(target, 5));
+        assertEquals(5, getCount.invoke(target));
+
+        Invoker setFlag = factory.create(Target.class.getDeclaredMethod("setFlag", boolean.class));
+        Invoker isFlag = factory.create(Target.class.getDeclaredMethod("isFlag"));
+        setFlag.invoke(target, true);
+        assertEquals(Boolean.TRUE, isFlag.invoke(target));
+
+        Invoker constant = factory.create(Target.class.getMethod("constant"));
+        assertEquals("constant", constant.invoke(null));
+
+        Invoker fail = factory.create(Target.class.getMethod("fail"));
+        try {
+            fail.invoke(target);
+            fail("should have thrown");
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    public void testFallbackToReflection() throws Exception {
+        Invokers.Factory previous = Invokers.getFactory();
+        Invokers.setFactory(new Invokers.Factory() {
+            public Invoker create(Method method) {
+                throw new UnsupportedOperationException();
+            }
+        });
+        try {
+            Invoker getCount = Invokers.forMethod(Target.class.getMethod("getCount"));
+            target.setCount(3);
+            assertEquals(3, getCount.invoke(target));
+        } finally {
+            Invokers.setFactory(previous);
+        }
+    }
+}
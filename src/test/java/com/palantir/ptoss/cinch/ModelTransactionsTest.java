@@ -0,0 +1,155 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.palantir.ptoss.cinch.SimpleModel.UpdateTypes;
+import com.palantir.ptoss.cinch.core.Binding;
+import com.palantir.ptoss.cinch.core.FilteredBinding;
+import com.palantir.ptoss.cinch.core.ModelTransactions;
+import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
+import com.palantir.ptoss.cinch.core.ModelUpdates;
+import com.palantir.ptoss.cinch.core.WeakBindableModel;
+
+import junit.framework.TestCase;
+
+public class ModelTransactionsTest extends TestCase {
+
+    private final List<List<Object>> updates = Lists.newArrayList();
+
+    private final Binding recorder = new Binding() {
+        public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+            updates.add(ImmutableList.<Object>copyOf(changed));
+        }
+    };
+
+    private final SimpleModel first = new SimpleModel();
+    private final WeakBindableModel second = new WeakBindableModel();
+
+    @Override
+    protected void setUp() throws Exception {
+        first.bind(recorder);
+        second.bind(recorder);
+    }
+
+    public void testBindingFiresOnceAcrossModels() {
+        ModelTransactions.run(new Runnable() {
+            public void run() {
+                first.setSimpleBoolean(true);
+                second.modelUpdated(UpdateTypes.SPECIFIC);
+                first.setSimpleBoolean(false);
+                second.update();
+                assertTrue(updates.isEmpty());
+            }
+        });
+        assertFalse(ModelTransactions.isActive());
+        assertEquals(ImmutableList.of(ImmutableList.<Object>of(ModelUpdates.UNSPECIFIED, UpdateTypes.SPECIFIC)),
+                updates);
+
+        first.update();
+        assertEquals(2, updates.size());
+    }
+
+    public void testDefersOnlyInterestedBindings() {
+        final int[] calls = new int[1];
+        final ModelUpdateFilter filter = ModelUpdateFilter.of(UpdateTypes.SPECIFIC);
+        Binding specific = new FilteredBinding() {
+            public ModelUpdateFilter getFilter() {
+                return filter;
+            }
+
+            public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                calls[0]++;
+            }
+        };
+        first.bind(specific);
+        second.bind(specific);
+        ModelTransactions.run(new Runnable() {
+            public void run() {
+                first.update();
+                second.update();
+                second.updateProperty("simpleBoolean");
+            }
+        });
+        assertEquals(0, calls[0]);
+        assertEquals(1, updates.size());
+
+        ModelTransactions.run(new Runnable() {
+            public void run() {
+                first.modelUpdated(UpdateTypes.SPECIFIC);
+                second.modelUpdated(UpdateTypes.SPECIFIC);
+            }
+        });
+        assertEquals(1, calls[0]);
+    }
+
+    public void testNestedTransactions() throws Exception {
+        try (ModelTransactions.Transaction outer = ModelTransactions.begin()) {
+            try (ModelTransactions.Transaction inner = ModelTransactions.begin()) {
+                first.update();
+            }
+            assertTrue(updates.isEmpty());
+            second.update();
+        }
+        assertEquals(1, updates.size());
+    }
+
+    public void testDeliversWhenBodyThrows() {
+        try {
+            ModelTransactions.run(new Runnable() {
+                public void run() {
+                    first.update();
+                    throw new IllegalStateException("expected");
+                }
+            });
+            fail("should have thrown");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(1, updates.size());
+        assertFalse(ModelTransactions.isActive());
+    }
+
+    public void testCloseTwice() {
+        ModelTransactions.Transaction transaction = ModelTransactions.begin();
+        transaction.close();
+        try {
+            transaction.close();
+            fail("should have thrown");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    public void testUpdatesRaisedByBindingsAreDelivered() {
+        final SimpleModel derived = new SimpleModel();
+        derived.bind(recorder);
+        first.bind(new Binding() {
+            public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                derived.modelUpdated(UpdateTypes.MULTI_1);
+            }
+        });
+        ModelTransactions.run(new Runnable() {
+            public void run() {
+                first.update();
+            }
+        });
+        assertEquals(ImmutableList.of(ImmutableList.<Object>of(ModelUpdates.UNSPECIFIED),
+                ImmutableList.<Object>of(UpdateTypes.MULTI_1)), updates);
+    }
+}
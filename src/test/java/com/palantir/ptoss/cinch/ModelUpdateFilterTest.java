@@ -0,0 +1,126 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.ptoss.cinch.SimpleModel.UpdateTypes;
+import com.palantir.ptoss.cinch.core.BindingContext;
+import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdateFilter;
+import com.palantir.ptoss.cinch.core.ModelUpdates;
+import com.palantir.ptoss.cinch.core.SimpleBinding;
+
+import junit.framework.TestCase;
+
+public class ModelUpdateFilterTest extends TestCase {
+
+    enum OtherTypes implements ModelUpdate {
+        FIRST, SECOND;
+    }
+
+    private static final int ITERATIONS = 100000;
+    // a few hundred bytes of slack for the measurement itself; one HashSet per call would be megabytes.
+    private static final long MAX_ALLOCATED_BYTES = 4096;
+
+    public void testMatches() {
+        ModelUpdateFilter filter = ModelUpdateFilter.of(
+                ImmutableList.<Object>of(UpdateTypes.SPECIFIC, OtherTypes.SECOND));
+        assertTrue(filter.matches(new Object[] { UpdateTypes.SPECIFIC }));
+        assertTrue(filter.matches(new Object[] { UpdateTypes.MULTI_1, OtherTypes.SECOND }));
+        assertTrue(filter.matches(new Object[] { ModelUpdates.ALL }));
+        assertFalse(filter.matches(new Object[] { ModelUpdates.UNSPECIFIED }));
+        assertFalse(filter.matches(new Object[] { UpdateTypes.MULTI_1, OtherTypes.FIRST }));
+        assertFalse(filter.matches(new Object[] {}));
+        assertEquals("ModelUpdateFilter[SPECIFIC, SECOND]", filter.toString());
+    }
+
+    public void testEmptyMatchesEverything() {
+        assertSame(ModelUpdateFilter.ANY, ModelUpdateFilter.of((List<Object>) null));
+        assertSame(ModelUpdateFilter.ANY, ModelUpdateFilter.of(ImmutableList.of()));
+        assertTrue(ModelUpdateFilter.ANY.matches(new Object[] { UpdateTypes.NO_TRIGGER }));
+        assertTrue(ModelUpdateFilter.ANY.matches(new Object[] {}));
+    }
+
+    /**
+     * Returns the bytes allocated by this thread while running the body, or -1 if the JVM
+     * can't tell us.
+     */
+    private static long allocatedBytes(Runnable body) {
+        // warm up so that we measure compiled code.
+        for (int i = 0; i < 5; i++) {
+            body.run();
+        }
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            body.run();
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            body.run();
+            return -1;
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        body.run();
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+
+    private static void assertGarbageFree(Runnable body) {
+        long allocated = allocatedBytes(body);
+        if (allocated >= 0) {
+            assertTrue("allocated " + allocated + " bytes", allocated < MAX_ALLOCATED_BYTES);
+        }
+    }
+
+    public void testFilteringDoesNotAllocate() {
+        final ModelUpdateFilter filter = ModelUpdateFilter.of(UpdateTypes.SPECIFIC);
+        final UpdateTypes[] changed = { UpdateTypes.MULTI_1, UpdateTypes.MULTI_2 };
+        final List<Object> ons = ImmutableList.<Object>of(UpdateTypes.SPECIFIC);
+        assertGarbageFree(new Runnable() {
+            public void run() {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    if (filter.matches(changed) || BindingContext.isOn(ons, changed)
+                            || BindingContext.isOn(UpdateTypes.SPECIFIC, changed)) {
+                        fail();
+                    }
+                }
+            }
+        });
+    }
+
+    public void testSimpleBindingUpdateDoesNotAllocate() {
+        final int[] count = { 0 };
+        final SimpleBinding binding = new SimpleBinding(UpdateTypes.SPECIFIC) {
+            @Override
+            public void onUpdate() {
+                count[0]++;
+            }
+        };
+        final UpdateTypes[] changed = { UpdateTypes.SPECIFIC };
+        assertGarbageFree(new Runnable() {
+            public void run() {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    binding.update(changed);
+                }
+            }
+        });
+        assertEquals(6 * ITERATIONS, count[0]);
+        assertEquals(ImmutableSet.of(UpdateTypes.SPECIFIC), binding.getLastChanged());
+    }
+}
@@ -0,0 +1,181 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.CallOnUpdate;
+import com.palantir.ptoss.cinch.core.DefaultBindableModel;
+import com.palantir.ptoss.cinch.core.ModelTransactions;
+import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.WeakBindableModel;
+import com.palantir.ptoss.cinch.swing.Bound;
+import com.palantir.ptoss.cinch.swing.EnabledIf;
+
+import junit.framework.TestCase;
+
+public class PropertyUpdateTest extends TestCase {
+
+    public static class Model extends DefaultBindableModel {
+        public enum Update implements ModelUpdate {
+            OTHER;
+        }
+
+        private String subject = "";
+        private String body = "";
+        private boolean ready;
+        int subjectReads;
+        int bodyReads;
+
+        public String getSubject() {
+            subjectReads++;
+            return subject;
+        }
+
+        public void setSubject(String subject) {
+            this.subject = subject;
+            updateProperty("subject");
+        }
+
+        public String getBody() {
+            bodyReads++;
+            return body;
+        }
+
+        public void setBody(String body) {
+            this.body = body;
+            updateProperty("body");
+        }
+
+        public boolean isReady() {
+            return ready;
+        }
+
+        public void setReady(boolean ready) {
+            this.ready = ready;
+            updateProperty("ready");
+        }
+    }
+
+    public static class WeakModel extends WeakBindableModel {
+        private String title = "";
+        int titleReads;
+
+        public String getTitle() {
+            titleReads++;
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+            updateProperty("title");
+        }
+
+        public String getOther() {
+            return "";
+        }
+    }
+
+    private final Model model = new Model();
+
+    private final WeakModel weak = new WeakModel();
+
+    @Bound(to = "model.subject")
+    private final JLabel subject = new JLabel();
+
+    @Bound(to = "model.body")
+    private final JLabel body = new JLabel();
+
+    @Bound(to = "model.body", on = "OTHER")
+    private final JLabel otherOnly = new JLabel();
+
+    @EnabledIf(to = "model.ready")
+    private final JButton send = new JButton();
+
+    @Bound(to = "weak.title")
+    private final JLabel title = new JLabel();
+
+    @Bound(to = "weak.other")
+    private final JLabel other = new JLabel();
+
+    int calls;
+
+    @CallOnUpdate(model = "model")
+    public void modelChanged() {
+        calls++;
+    }
+
+    private final Bindings bindings = Bindings.standard();
+
+    @Override
+    protected void setUp() throws Exception {
+        bindings.bind(this);
+    }
+
+    public void testOnlyNamedPropertyIsRead() {
+        int subjectReads = model.subjectReads;
+        int bodyReads = model.bodyReads;
+        int calls = this.calls;
+
+        model.setSubject("hello");
+        assertEquals("hello", subject.getText());
+        assertEquals(subjectReads + 1, model.subjectReads);
+        assertEquals(bodyReads, model.bodyReads);
+        assertEquals(calls + 1, this.calls);
+
+        model.setBody("text");
+        assertEquals("text", body.getText());
+        assertEquals("", otherOnly.getText());
+        assertEquals(subjectReads + 1, model.subjectReads);
+        assertEquals(bodyReads + 1, model.bodyReads);
+
+        model.setReady(true);
+        assertTrue(send.isEnabled());
+        assertEquals(subjectReads + 1, model.subjectReads);
+        assertEquals(bodyReads + 1, model.bodyReads);
+    }
+
+    public void testSeveralProperties() {
+        int subjectReads = model.subjectReads;
+        int bodyReads = model.bodyReads;
+        model.updateProperties("subject", "body", "unknown");
+        assertEquals(subjectReads + 1, model.subjectReads);
+        assertEquals(bodyReads + 1, model.bodyReads);
+    }
+
+    public void testTransactionDefersPropertyUpdates() {
+        final int subjectReads = model.subjectReads;
+        final int bodyReads = model.bodyReads;
+        ModelTransactions.run(new Runnable() {
+            public void run() {
+                model.setSubject("a");
+                model.setSubject("b");
+                assertEquals("", subject.getText());
+            }
+        });
+        assertEquals("b", subject.getText());
+        assertEquals(subjectReads + 1, model.subjectReads);
+        assertEquals(bodyReads, model.bodyReads);
+    }
+
+    public void testWeakModel() {
+        int titleReads = weak.titleReads;
+        weak.setTitle("x");
+        assertEquals("x", title.getText());
+        assertEquals(titleReads + 1, weak.titleReads);
+        assertEquals("", other.getText());
+    }
+}
@@ -0,0 +1,171 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.palantir.ptoss.cinch.SimpleModel.UpdateTypes;
+import com.palantir.ptoss.cinch.core.Binding;
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.CallOnUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdate;
+import com.palantir.ptoss.cinch.core.ModelUpdates;
+import com.palantir.ptoss.cinch.core.WeakBindableModel;
+
+import junit.framework.TestCase;
+
+public class UpdateCoalescingTest extends TestCase {
+
+    private final List<List<Object>> updates = Lists.newArrayList();
+
+    private final Binding recorder = new Binding() {
+        public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+            updates.add(ImmutableList.<Object>copyOf(changed));
+        }
+    };
+
+    /**
+     * Runs the body as one turn of the event loop; anything it schedules runs before the next
+     * call returns.
+     */
+    private static void onEventThread(Runnable body) throws Exception {
+        SwingUtilities.invokeAndWait(body);
+    }
+
+    public void testDefaultModelCoalesces() throws Exception {
+        final SimpleModel model = new SimpleModel();
+        model.bind(recorder);
+        model.setCoalescingUpdates(true);
+
+        onEventThread(new Runnable() {
+            public void run() {
+                model.setSimpleBoolean(true);
+                model.modelUpdated(UpdateTypes.SPECIFIC);
+                model.setSimpleBoolean(false);
+                model.modelUpdated(UpdateTypes.MULTI_1, UpdateTypes.SPECIFIC);
+                assertTrue(updates.isEmpty());
+            }
+        });
+        onEventThread(new Runnable() {
+            public void run() {
+                assertEquals(1, updates.size());
+                assertEquals(ImmutableList.<Object>of(ModelUpdates.UNSPECIFIED, UpdateTypes.SPECIFIC,
+                        UpdateTypes.MULTI_1), updates.get(0));
+                model.update();
+            }
+        });
+        onEventThread(new Runnable() {
+            public void run() {
+                assertEquals(2, updates.size());
+                assertEquals(ImmutableList.<Object>of(ModelUpdates.UNSPECIFIED), updates.get(1));
+            }
+        });
+    }
+
+    public void testTurningOffFlushes() throws Exception {
+        final SimpleModel model = new SimpleModel();
+        model.bind(recorder);
+        model.setCoalescingUpdates(true);
+        onEventThread(new Runnable() {
+            public void run() {
+                model.update();
+                model.setCoalescingUpdates(false);
+                assertEquals(1, updates.size());
+
+                model.update();
+                assertEquals(2, updates.size());
+            }
+        });
+    }
+
+    public void testWeakModelCoalesces() throws Exception {
+        final WeakBindableModel model = new WeakBindableModel();
+        model.bind(recorder);
+        model.setCoalescingUpdates(true);
+        assertTrue(model.isCoalescingUpdates());
+
+        onEventThread(new Runnable() {
+            public void run() {
+                model.update();
+                model.modelUpdated(UpdateTypes.SPECIFIC);
+                model.update();
+                assertTrue(updates.isEmpty());
+            }
+        });
+        onEventThread(new Runnable() {
+            public void run() {
+                assertEquals(ImmutableList.of(ImmutableList.<Object>of(ModelUpdates.UNSPECIFIED,
+                        UpdateTypes.SPECIFIC)), updates);
+            }
+        });
+    }
+
+    public void testTypesAndPropertiesUpdateOncePerTick() throws Exception {
+        final SimpleModel model = new SimpleModel();
+        final WeakBindableModel weakModel = new WeakBindableModel();
+        model.bind(recorder);
+        weakModel.bind(recorder);
+        model.setCoalescingUpdates(true);
+        weakModel.setCoalescingUpdates(true);
+
+        onEventThread(new Runnable() {
+            public void run() {
+                model.modelUpdated(UpdateTypes.SPECIFIC);
+                model.updateProperty("simpleBoolean");
+                weakModel.modelUpdated(UpdateTypes.SPECIFIC);
+                weakModel.updateProperty("simpleBoolean");
+            }
+        });
+        onEventThread(new Runnable() {
+            public void run() {
+                assertEquals(ImmutableList.of(ImmutableList.<Object>of(UpdateTypes.SPECIFIC),
+                        ImmutableList.<Object>of(UpdateTypes.SPECIFIC)), updates);
+            }
+        });
+    }
+
+    public static class CountingView {
+        final SimpleModel model = new SimpleModel();
+        int count;
+
+        @CallOnUpdate
+        public void modelChanged() {
+            count++;
+        }
+    }
+
+    public void testCallOnUpdateRunsOncePerTick() throws Exception {
+        final CountingView view = new CountingView();
+        Bindings.standard().bind(view);
+        assertEquals(1, view.count);
+        view.model.setCoalescingUpdates(true);
+        onEventThread(new Runnable() {
+            public void run() {
+                for (int i = 0; i < 20; i++) {
+                    view.model.setSimpleBoolean(i % 2 == 0);
+                }
+                assertEquals(1, view.count);
+            }
+        });
+        onEventThread(new Runnable() {
+            public void run() {
+                assertEquals(2, view.count);
+            }
+        });
+    }
+}
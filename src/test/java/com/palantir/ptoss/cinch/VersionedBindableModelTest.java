@@ -0,0 +1,129 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch;
+
+import java.util.List;
+
+import javax.swing.JLabel;
+import javax.swing.JList;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.ptoss.cinch.core.Bindings;
+import com.palantir.ptoss.cinch.core.VersionedBindableModel;
+import com.palantir.ptoss.cinch.swing.Bound;
+
+import junit.framework.TestCase;
+
+public class VersionedBindableModelTest extends TestCase {
+
+    public static class Model extends VersionedBindableModel {
+        private List<String> items = ImmutableList.of();
+        private String title = "";
+        int itemReads;
+        int titleReads;
+        boolean failRead;
+
+        public Model() {
+            versioned("items");
+        }
+
+        public List<String> getItems() {
+            itemReads++;
+            if (failRead) {
+                failRead = false;
+                throw new IllegalStateException("not ready");
+            }
+            return items;
+        }
+
+        public void setItems(List<String> items) {
+            this.items = items;
+            changed("items");
+            update();
+        }
+
+        public String getTitle() {
+            titleReads++;
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+            update();
+        }
+
+        public void touchTitle() {
+            changed("title");
+        }
+    }
+
+    private final Model model = new Model();
+
+    @Bound(to = "items")
+    private final JList list = new JList();
+
+    @Bound(to = "title")
+    private final JLabel label = new JLabel();
+
+    private final Bindings bindings = Bindings.standard();
+
+    @Override
+    protected void setUp() throws Exception {
+        bindings.bind(this);
+    }
+
+    public void testUnchangedVersionSkipsRead() {
+        int itemReads = model.itemReads;
+        model.setTitle("a");
+        model.setTitle("b");
+        assertEquals(itemReads, model.itemReads);
+        assertEquals("b", label.getText());
+
+        model.setItems(ImmutableList.of("x", "y"));
+        assertEquals(itemReads + 1, model.itemReads);
+        assertEquals(2, list.getModel().getSize());
+        assertEquals("y", list.getModel().getElementAt(1));
+    }
+
+    public void testFullSyncReadsVersionedProperty() {
+        int itemReads = model.itemReads;
+        bindings.updateAll();
+        assertEquals(itemReads + 1, model.itemReads);
+    }
+
+    public void testFailedUpdateIsRetried() {
+        model.failRead = true;
+        model.setItems(ImmutableList.of("x"));
+        assertEquals(0, list.getModel().getSize());
+
+        model.update();
+        assertEquals(1, list.getModel().getSize());
+    }
+
+    public void testUnversionedPropertyReadEachUpdate() {
+        int titleReads = model.titleReads;
+        model.update();
+        model.update();
+        assertEquals(titleReads + 2, model.titleReads);
+    }
+
+    public void testChangedRequiresDeclaration() {
+        try {
+            model.touchTitle();
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,140 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.util.Iterator;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import junit.framework.TestCase;
+
+public class BindingRegistryTest extends TestCase {
+
+    private static final class Key {
+        private final int id;
+
+        Key(int id) {
+            this.id = id;
+        }
+
+        // equal to every other key, so only identity tells them apart.
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "key" + id;
+        }
+    }
+
+    private final BindingRegistry<Key> registry = new BindingRegistry<Key>();
+
+    public void testIdentityMembership() {
+        Key a = new Key(1);
+        Key b = new Key(2);
+        assertTrue(registry.add(a));
+        assertFalse(registry.add(a));
+        assertTrue(registry.add(b));
+        assertEquals(2, registry.size());
+        assertTrue(registry.remove(b));
+        assertFalse(registry.remove(b));
+        assertTrue(registry.contains(a));
+        assertFalse(registry.contains(b));
+    }
+
+    public void testOrderSurvivesCompaction() {
+        List<Key> keys = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            Key key = new Key(i);
+            keys.add(key);
+            registry.add(key);
+        }
+        List<Key> expected = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            if (i % 3 == 0) {
+                expected.add(keys.get(i));
+            } else {
+                registry.remove(keys.get(i));
+            }
+        }
+        assertEquals(expected, ImmutableList.copyOf(registry));
+        assertEquals(expected, ImmutableList.copyOf(registry.toArray(new Key[0])));
+    }
+
+    public void testIteratorIgnoresLaterChanges() {
+        Key a = new Key(1);
+        Key b = new Key(2);
+        Key c = new Key(3);
+        registry.add(a);
+        registry.add(b);
+        Iterator<Key> iterator = registry.iterator();
+        assertSame(a, iterator.next());
+        registry.add(c);
+        registry.remove(a);
+        assertSame(b, iterator.next());
+        assertFalse(iterator.hasNext());
+        assertEquals(ImmutableList.of(b, c), ImmutableList.copyOf(registry));
+    }
+
+    public void testRebindDuringDispatch() {
+        final DefaultBindableModel model = new DefaultBindableModel();
+        final List<String> calls = Lists.newArrayList();
+        final Binding late = new Binding() {
+            public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                calls.add("late");
+            }
+        };
+        model.bind(new Binding() {
+            public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                calls.add("early");
+                model.bind(late);
+            }
+        });
+        model.update();
+        assertEquals(ImmutableList.of("early"), calls);
+        model.update();
+        assertEquals(ImmutableList.of("early", "early", "late"), calls);
+    }
+
+    public void testManyBindings() {
+        DefaultBindableModel model = new DefaultBindableModel();
+        List<Binding> bindings = Lists.newArrayList();
+        final int[] count = new int[1];
+        for (int i = 0; i < 20000; i++) {
+            Binding binding = new Binding() {
+                public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                    count[0]++;
+                }
+            };
+            bindings.add(binding);
+            model.bind(binding);
+        }
+        model.update();
+        assertEquals(20000, count[0]);
+        for (int i = 0; i < bindings.size(); i += 2) {
+            model.unbind(bindings.get(i));
+        }
+        model.update();
+        assertEquals(30000, count[0]);
+    }
+}
@@ -0,0 +1,122 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import junit.framework.TestCase;
+
+public class SubscriberIndexTest extends TestCase {
+
+    enum Update implements ModelUpdate {
+        RED, GREEN, BLUE;
+    }
+
+    private static final ModelUpdateFilter[] FILTERS = {
+        ModelUpdateFilter.ANY,
+        ModelUpdateFilter.of(Update.RED),
+        ModelUpdateFilter.of(Update.GREEN, Update.BLUE),
+        ModelUpdateFilter.of(ImmutableList.of(ModelUpdates.UNSPECIFIED)),
+        ModelUpdateFilter.of(ImmutableList.of(ModelUpdates.UNSPECIFIED)).withProperty("name"),
+        ModelUpdateFilter.of(ImmutableList.of(ModelUpdates.UNSPECIFIED, Update.RED)).withProperty("size"),
+    };
+
+    private static final Object[][] UPDATES = {
+        { Update.RED }, { Update.GREEN, Update.BLUE }, { ModelUpdates.UNSPECIFIED }, { ModelUpdates.ALL },
+    };
+
+    private static final String[][] PROPERTIES = { { "name" }, { "size", "name" }, { "other" } };
+
+    private static List<Object> visits(SubscriberIndex<Object> index, Object[] changed, String[] properties) {
+        final List<Object> visited = Lists.newArrayList();
+        SubscriberIndex.Visitor<Object> collect = new SubscriberIndex.Visitor<Object>() {
+            public void visit(Object subscriber, Object[] updates) {
+                visited.add(subscriber);
+            }
+        };
+        if (properties == null) {
+            index.dispatch(changed, collect);
+        } else if (changed == null) {
+            index.dispatchProperties(properties, null, collect);
+        } else {
+            index.dispatch(changed, properties, null, collect);
+        }
+        return visited;
+    }
+
+    public void testIncrementalChangesMatchARebuild() {
+        Random random = new Random(5);
+        List<Object> subscribers = Lists.newArrayList();
+        List<ModelUpdateFilter> filters = Lists.newArrayList();
+        SubscriberIndex<Object> index = new SubscriberIndex<Object>(new Object[0], new ModelUpdateFilter[0]);
+        for (int round = 0; round < 500; round++) {
+            int action = random.nextInt(3);
+            if (action == 0 || subscribers.isEmpty()) {
+                Object subscriber = "s" + round;
+                ModelUpdateFilter filter = FILTERS[random.nextInt(FILTERS.length)];
+                subscribers.add(subscriber);
+                filters.add(filter);
+                index.add(subscriber, filter);
+            } else if (action == 1) {
+                int position = random.nextInt(subscribers.size());
+                filters.remove(position);
+                index.remove(subscribers.remove(position));
+            } else {
+                int position = random.nextInt(subscribers.size());
+                Object replacement = "r" + round;
+                index.replace(subscribers.get(position), replacement);
+                subscribers.set(position, replacement);
+            }
+            SubscriberIndex<Object> rebuilt = new SubscriberIndex<Object>(subscribers.toArray(),
+                    filters.toArray(new ModelUpdateFilter[0]));
+            for (Object[] changed : UPDATES) {
+                assertEquals(visits(rebuilt, changed, null), visits(index, changed, null));
+                for (String[] properties : PROPERTIES) {
+                    assertEquals(visits(rebuilt, changed, properties), visits(index, changed, properties));
+                }
+            }
+            for (String[] properties : PROPERTIES) {
+                assertEquals(visits(rebuilt, null, properties), visits(index, null, properties));
+            }
+        }
+    }
+
+    public void testBindingAndUnbindingAreAmortizedConstant() {
+        final int count = 10000;
+        DefaultBindableModel model = new DefaultBindableModel();
+        model.update();
+        List<Binding> bindings = Lists.newArrayList();
+        for (int i = 0; i < count; i++) {
+            Binding binding = new Binding() {
+                public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+                    // nothing
+                }
+            };
+            bindings.add(binding);
+            model.bind(binding);
+        }
+        long bound = model.indexCopies();
+        assertTrue("copied " + bound + " binding", bound < 8L * count);
+        for (Binding binding : bindings) {
+            model.unbind(binding);
+        }
+        assertEquals(0, model.size());
+        long total = model.indexCopies();
+        assertTrue("copied " + total + " binding and unbinding", total < 16L * count);
+    }
+}
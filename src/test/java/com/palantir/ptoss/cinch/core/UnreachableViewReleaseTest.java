@@ -0,0 +1,229 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.util.List;
+
+import javax.swing.JCheckBox;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.palantir.ptoss.cinch.swing.Bound;
+
+import junit.framework.TestCase;
+
+public class UnreachableViewReleaseTest extends TestCase {
+
+    public static class Model extends DefaultBindableModel {
+        private boolean flag;
+
+        public boolean isFlag() {
+            return flag;
+        }
+
+        public void setFlag(boolean flag) {
+            this.flag = flag;
+            update();
+        }
+    }
+
+    public static class View {
+        static int updates;
+
+        final Model model;
+
+        @Bound(to = "flag")
+        final JCheckBox box = new JCheckBox();
+
+        final Bindings bindings = Bindings.standard();
+
+        final BindingScope scope;
+
+        View(Model model, boolean release) {
+            this.model = model;
+            bindings.setReleasingUnreachable(release);
+            scope = bindings.bindScoped(this);
+        }
+
+        @CallOnUpdate
+        public void modelChanged() {
+            updates++;
+        }
+    }
+
+    // so that the report test doesn't count the views of the others.
+    public static class ReportedModel extends Model {
+        // distinct class
+    }
+
+    public static class ReportedView extends View {
+        ReportedView(Model model) {
+            super(model, true);
+        }
+    }
+
+    // binds itself without holding on to its Bindings.
+    public static class OrphanedView {
+        final Model model;
+
+        @Bound(to = "flag")
+        final JCheckBox box = new JCheckBox();
+
+        OrphanedView(Model model) {
+            this.model = model;
+            Bindings bindings = Bindings.standard();
+            bindings.setReleasingUnreachable(true);
+            bindings.bind(this);
+        }
+    }
+
+    private final Model model = new Model();
+
+    @Override
+    protected void setUp() {
+        View.updates = 0;
+    }
+
+    public void testUnreachableViewIsReleased() throws InterruptedException {
+        bindDroppedView();
+        assertEquals(2, model.size());
+        assertEquals(1, View.updates);
+
+        for (int attempt = 0; attempt < 100 && model.size() > 0; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, model.size());
+        model.setFlag(true);
+        assertEquals(1, View.updates);
+    }
+
+    private void bindDroppedView() {
+        new View(model, true);
+    }
+
+    public void testReachableViewKeepsItsBindings() {
+        View view = new View(model, true);
+        System.gc();
+        model.setFlag(true);
+        assertTrue(view.box.isSelected());
+        assertEquals(2, View.updates);
+
+        view.box.doClick();
+        assertFalse(model.isFlag());
+    }
+
+    public void testWithoutReleasingModelHoldsBindings() {
+        new View(model, false);
+        System.gc();
+        model.update();
+        assertEquals(2, View.updates);
+        assertEquals(2, model.size());
+    }
+
+    public void testDisposeUnbindsStandIns() {
+        View view = new View(model, true);
+        assertEquals(2, model.size());
+        view.bindings.dispose();
+        assertEquals(0, model.size());
+        model.setFlag(true);
+        assertFalse(view.box.isSelected());
+    }
+
+    public void testDisposeStopsWatchingTheView() {
+        View view = new View(model, true);
+        List<ViewReaper.ViewReference> watched = view.scope.getWatched();
+        assertEquals(1, watched.size());
+        assertTrue(ViewReaper.live().containsAll(watched));
+
+        view.bindings.dispose();
+        assertTrue(view.scope.getWatched().isEmpty());
+        assertFalse(ViewReaper.live().contains(watched.get(0)));
+    }
+
+    public void testDisposingBindAllScopeStopsWatchingEveryView() {
+        Bindings bindings = Bindings.standard();
+        bindings.setReleasingUnreachable(true);
+        BindingScope scope = bindings.bindAll(ImmutableList.of(new Object(), new Object()));
+        List<ViewReaper.ViewReference> watched = scope.getWatched();
+        assertEquals(2, watched.size());
+        assertTrue(ViewReaper.live().containsAll(watched));
+
+        scope.dispose();
+        for (ViewReaper.ViewReference reference : watched) {
+            assertFalse(ViewReaper.live().contains(reference));
+        }
+    }
+
+    public void testLeakReport() {
+        ReportedModel reported = new ReportedModel();
+        ReportedView first = new ReportedView(reported);
+        ReportedView second = new ReportedView(reported);
+
+        BindingLeakReport report = BindingLeakReport.create(Integer.MAX_VALUE);
+        assertEquals(Integer.valueOf(4), report.getLiveBindings().get(ReportedModel.class));
+        List<BindingLeakReport.View> views = reportedViews(report);
+        assertEquals(2, views.size());
+        assertTrue(views.get(0).getBoundAt() <= views.get(1).getBoundAt());
+        assertEquals(2, views.get(0).getLiveBindings());
+
+        first.bindings.dispose();
+        report = BindingLeakReport.create(Integer.MAX_VALUE);
+        assertEquals(Integer.valueOf(2), report.getLiveBindings().get(ReportedModel.class));
+        assertEquals(1, reportedViews(report).size());
+        assertTrue(report.toString().contains(ReportedModel.class.getName() + ": 2"));
+
+        second.bindings.dispose();
+        assertNull(BindingLeakReport.create(Integer.MAX_VALUE).getLiveBindings().get(ReportedModel.class));
+    }
+
+    public void testViewOutlivingItsBindingsIsReported() throws InterruptedException {
+        OrphanedView view = new OrphanedView(model);
+        assertEquals(1, model.size());
+
+        List<BindingLeakReport.View> orphaned = orphanedViews();
+        for (int attempt = 0; attempt < 100 && orphaned.isEmpty(); attempt++) {
+            System.gc();
+            Thread.sleep(10);
+            orphaned = orphanedViews();
+        }
+        assertEquals(1, orphaned.size());
+        assertEquals(0, orphaned.get(0).getLiveBindings());
+        assertEquals(0, model.size());
+        assertTrue(BindingLeakReport.create(0).toString().contains("orphaned views:"));
+
+        model.setFlag(true);
+        assertFalse(view.box.isSelected());
+    }
+
+    private static List<BindingLeakReport.View> orphanedViews() {
+        List<BindingLeakReport.View> views = Lists.newArrayList();
+        for (BindingLeakReport.View view : BindingLeakReport.create(0).getOrphanedViews()) {
+            if (view.getViewClass().equals(OrphanedView.class.getName())) {
+                views.add(view);
+            }
+        }
+        return views;
+    }
+
+    private static List<BindingLeakReport.View> reportedViews(BindingLeakReport report) {
+        List<BindingLeakReport.View> views = Lists.newArrayList();
+        for (BindingLeakReport.View view : report.getOldestViews()) {
+            if (view.getViewClass().equals(ReportedView.class.getName())) {
+                views.add(view);
+            }
+        }
+        return views;
+    }
+}
@@ -0,0 +1,125 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import junit.framework.TestCase;
+
+/**
+ * Many short-lived views bound weakly to long-lived models, as when views are rebuilt
+ * constantly.
+ */
+public class WeakBindingChurnTest extends TestCase {
+    private static final int MODELS = 4;
+    private static final int ROUNDS = 200;
+    private static final int VIEWS_PER_ROUND = 50;
+    private static final long MAX_ALLOCATED_BYTES = 16 * 1024;
+
+    private static final class CountingBinding implements Binding {
+        int count;
+
+        public <T extends Enum<?> & ModelUpdate> void update(T... changed) {
+            count++;
+        }
+    }
+
+    public void testCollectedBindingsAreReclaimed() {
+        List<WeakBindableModelSupport> models = Lists.newArrayList();
+        for (int i = 0; i < MODELS; i++) {
+            models.add(new WeakBindableModelSupport());
+        }
+        CountingBinding survivor = new CountingBinding();
+        models.get(0).bind(survivor);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int view = 0; view < VIEWS_PER_ROUND; view++) {
+                models.get(view % MODELS).bind(new CountingBinding());
+            }
+            for (WeakBindableModelSupport model : models) {
+                model.update();
+            }
+        }
+
+        int held = Integer.MAX_VALUE;
+        for (int attempt = 0; attempt < 20 && held > 1; attempt++) {
+            System.gc();
+            held = 0;
+            for (WeakBindableModelSupport model : models) {
+                model.update();
+                held += model.size();
+            }
+        }
+        // only the survivor should be left.
+        assertTrue("still holding " + held + " bindings", held <= 1);
+        assertTrue(survivor.count >= ROUNDS);
+
+        // binding and reclaiming each view is amortized O(1), not a rewrite of the index.
+        long copies = 0;
+        for (WeakBindableModelSupport model : models) {
+            copies += model.indexCopies();
+        }
+        int bound = ROUNDS * VIEWS_PER_ROUND + 1;
+        assertTrue("copied " + copies + " elements for " + bound + " bindings", copies < 16L * bound);
+    }
+
+    public void testSteadyStateUpdatesDontAllocate() {
+        final WeakBindableModelSupport model = new WeakBindableModelSupport();
+        List<CountingBinding> views = Lists.newArrayList();
+        for (int i = 0; i < 1000; i++) {
+            CountingBinding binding = new CountingBinding();
+            views.add(binding);
+            model.bind(binding);
+        }
+        long allocated = allocatedBytes(new Runnable() {
+            public void run() {
+                for (int i = 0; i < 100; i++) {
+                    model.update();
+                }
+            }
+        });
+        if (allocated >= 0) {
+            assertTrue("allocated " + allocated + " bytes", allocated < MAX_ALLOCATED_BYTES);
+        }
+        assertEquals(600, views.get(999).count);
+    }
+
+    /**
+     * Returns the bytes allocated by this thread while running the body, or -1 if the JVM
+     * can't tell us.
+     */
+    private static long allocatedBytes(Runnable body) {
+        // warm up so that we measure compiled code.
+        for (int i = 0; i < 5; i++) {
+            body.run();
+        }
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            body.run();
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            body.run();
+            return -1;
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        body.run();
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+}
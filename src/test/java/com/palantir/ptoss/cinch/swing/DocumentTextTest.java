@@ -0,0 +1,144 @@
+//   Copyright 2011 Palantir Technologies
+//
+//   Licensed under the Apache License, Version 2.0 (the "License");
+//   you may not use this file except in compliance with the License.
+//   You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//   Unless required by applicable law or agreed to in writing, software
+//   distributed under the License is distributed on an "AS IS" BASIS,
+//   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//   See the License for the specific language governing permissions and
+//   limitations under the License.
+package com.palantir.ptoss.cinch.swing;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Segment;
+
+import com.google.common.collect.Lists;
+
+import junit.framework.TestCase;
+
+public class DocumentTextTest extends TestCase {
+
+    private static final long MAX_ALLOCATED_BYTES = 4096;
+
+    private final PlainDocument document = new PlainDocument();
+    private final Segment segment = new Segment();
+    private final List<String> events = Lists.newArrayList();
+
+    @Override
+    protected void setUp() throws Exception {
+        document.addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                events.add("insert " + e.getOffset() + "+" + e.getLength());
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                events.add("remove " + e.getOffset() + "+" + e.getLength());
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+                // attributes only.
+            }
+        });
+    }
+
+    public void testSplicesOnlyTheDifference() throws BadLocationException {
+        assertTrue(DocumentText.update(document, "hello world", segment));
+        events.clear();
+        assertFalse(DocumentText.update(document, "hello world", segment));
+        assertTrue(events.isEmpty());
+
+        assertTrue(DocumentText.update(document, "hello there world", segment));
+        assertEquals(Lists.newArrayList("insert 6+6"), events);
+
+        events.clear();
+        assertTrue(DocumentText.update(document, "hello world", segment));
+        assertEquals(Lists.newArrayList("remove 6+6"), events);
+
+        events.clear();
+        assertTrue(DocumentText.update(document, "jello world", segment));
+        assertEquals(Lists.newArrayList("remove 0+1", "insert 0+1"), events);
+        assertEquals("jello world", document.getText(0, document.getLength()));
+    }
+
+    public void testCharArrays() throws BadLocationException {
+        DocumentText.update(document, "secret".toCharArray(), segment);
+        assertTrue(DocumentText.contentEquals(document, "secret".toCharArray(), segment));
+        assertFalse(DocumentText.contentEquals(document, "secreT".toCharArray(), segment));
+        assertFalse(DocumentText.update(document, "secret".toCharArray(), segment));
+    }
+
+    public void testRandomEdits() throws BadLocationException {
+        Random random = new Random(7);
+        StringBuilder text = new StringBuilder();
+        for (int round = 0; round < 500; round++) {
+            int position = text.length() == 0 ? 0 : random.nextInt(text.length());
+            if (random.nextBoolean() && text.length() > 0) {
+                text.delete(position, Math.min(text.length(), position + random.nextInt(50)));
+            } else {
+                for (int i = random.nextInt(50); i > 0; i--) {
+                    text.insert(position, (char) ('a' + random.nextInt(3)));
+                }
+            }
+            DocumentText.update(document, text, segment);
+            assertEquals(text.toString(), document.getText(0, document.getLength()));
+            assertTrue(DocumentText.contentEquals(document, text, segment));
+        }
+    }
+
+    public void testUnchangedComparisonIsGarbageFree() throws BadLocationException {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            text.append((char) ('a' + i % 26));
+        }
+        DocumentText.update(document, text, segment);
+        // move the document's gap into the middle.
+        document.insertString(50000, "x", null);
+        document.remove(50000, 1);
+        long allocated = allocatedBytes(new Runnable() {
+            public void run() {
+                for (int i = 0; i < 100; i++) {
+                    assertTrue(DocumentText.contentEquals(document, text, segment));
+                }
+            }
+        });
+        if (allocated >= 0) {
+            assertTrue("allocated " + allocated + " bytes", allocated < MAX_ALLOCATED_BYTES);
+        }
+    }
+
+    /**
+     * Returns the bytes allocated by this thread while running the body, or -1 if the JVM
+     * can't tell us.
+     */
+    private static long allocatedBytes(Runnable body) {
+        // warm up so that we measure compiled code.
+        for (int i = 0; i < 5; i++) {
+            body.run();
+        }
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            body.run();
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            body.run();
+            return -1;
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        body.run();
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+}